@@ -24,25 +24,19 @@ function showWelcomeMessageIfFirstLogin() {
 
 async function loadDashboardData() {
   try {
-    // Load all data in parallel
-    const [products, categories, suppliers, lowStocks, outOfStocks] = await Promise.all([
-      axios.get(API_ENDPOINTS.products),
-      axios.get(API_ENDPOINTS.categories),
-      axios.get(API_ENDPOINTS.suppliers),
-      axios.get(`${API_ENDPOINTS.stocks}/low-stock`),
-      axios.get(`${API_ENDPOINTS.stocks}/out-of-stock`),
-    ]);
+    // Ringkasan (jumlah data + daftar top-N) dihitung di backend dalam satu request
+    const { data: summary } = await axios.get(`${API_ENDPOINTS.dashboard}/summary`);
 
     // Update statistics
-    document.getElementById("totalProducts").textContent = products.data.length;
-    document.getElementById("totalCategories").textContent = categories.data.length;
-    document.getElementById("totalSuppliers").textContent = suppliers.data.length;
-    document.getElementById("lowStockItems").textContent = lowStocks.data.length;
+    document.getElementById("totalProducts").textContent = summary.totalProducts;
+    document.getElementById("totalCategories").textContent = summary.totalCategories;
+    document.getElementById("totalSuppliers").textContent = summary.totalSuppliers;
+    document.getElementById("lowStockItems").textContent = summary.lowStockCount;
 
     // Load tables
-    loadLowStockTable(lowStocks.data);
-    loadOutOfStockTable(outOfStocks.data);
-    loadRecentProducts(products.data);
+    loadLowStockTable(summary.urgentLowStocks);
+    loadOutOfStockTable(summary.outOfStocks);
+    loadRecentProducts(summary.recentProducts);
   } catch (error) {
     handleError(error);
   }
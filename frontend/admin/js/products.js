@@ -1,8 +1,12 @@
 // Admin Products functionality - Full CRUD access
-let allProducts = [];
+// Filter and pagination are computed by the backend (/api/products/query)
+const PAGE_SIZE = 20;
+let pageProducts = [];
 let categories = [];
 let suppliers = [];
 let deleteProductId = null;
+let currentPage = 0;
+let searchTimer = null;
 
 document.addEventListener("DOMContentLoaded", function () {
   checkAuth(); // Verify user is logged in
@@ -16,8 +20,11 @@ document.addEventListener("DOMContentLoaded", function () {
 });
 
 function setupEventListeners() {
-  // Search input
-  document.getElementById("searchInput").addEventListener("input", filterProducts);
+  // Search input - wait until the user stops typing before querying
+  document.getElementById("searchInput").addEventListener("input", () => {
+    clearTimeout(searchTimer);
+    searchTimer = setTimeout(filterProducts, 300);
+  });
 
   // Category filter
   document.getElementById("categoryFilter").addEventListener("change", filterProducts);
@@ -27,10 +34,20 @@ function setupEventListeners() {
 }
 
 async function loadProducts() {
+  const params = {
+    q: document.getElementById("searchInput").value.trim() || undefined,
+    categoryId: document.getElementById("categoryFilter").value || undefined,
+    supplierId: document.getElementById("supplierFilter").value || undefined,
+    page: currentPage,
+    size: PAGE_SIZE,
+  };
+
   try {
-    const response = await axios.get(API_ENDPOINTS.products);
-    allProducts = response.data;
-    displayProducts(allProducts);
+    const response = await axios.get(`${API_ENDPOINTS.products}/query`, { params });
+    const result = response.data;
+    pageProducts = result.items;
+    displayProducts(pageProducts, result.page * result.size);
+    displayPagination(result);
   } catch (error) {
     handleError(error);
   }
@@ -70,7 +87,7 @@ async function loadSuppliers() {
   }
 }
 
-function displayProducts(products) {
+function displayProducts(products, offset) {
   const tbody = document.getElementById("productsTableBody");
 
   if (products.length === 0) {
@@ -84,7 +101,7 @@ function displayProducts(products) {
 
       return `
             <tr>
-                <td>${index + 1}</td>
+                <td>${offset + index + 1}</td>
                 <td><strong>${product.name}</strong></td>
                 <td><code>${product.sku || "-"}</code></td>
                 <td>${product.description || "-"}</td>
@@ -119,38 +136,28 @@ function getStockBadge(quantity, minimumStock) {
   }
 }
 
-function filterProducts() {
-  const searchTerm = document.getElementById("searchInput").value.toLowerCase();
-  const categoryId = document.getElementById("categoryFilter").value;
-  const supplierId = document.getElementById("supplierFilter").value;
-
-  let filtered = allProducts;
-
-  // Filter by search term
-  if (searchTerm) {
-    filtered = filtered.filter(
-      (product) => product.name.toLowerCase().includes(searchTerm) || (product.sku && product.sku.toLowerCase().includes(searchTerm)) || (product.description && product.description.toLowerCase().includes(searchTerm)),
-    );
-  }
-
-  // Filter by category
-  if (categoryId) {
-    filtered = filtered.filter((product) => product.categoryId == categoryId);
-  }
+function displayPagination(result) {
+  const totalPages = Math.max(result.totalPages, 1);
+  document.getElementById("paginationInfo").textContent = `${result.totalItems} products - page ${result.page + 1} of ${totalPages}`;
+  document.getElementById("prevPageBtn").disabled = result.page <= 0;
+  document.getElementById("nextPageBtn").disabled = result.page + 1 >= totalPages;
+}
 
-  // Filter by supplier
-  if (supplierId) {
-    filtered = filtered.filter((product) => product.supplierId == supplierId);
-  }
+function changePage(delta) {
+  currentPage = Math.max(0, currentPage + delta);
+  loadProducts();
+}
 
-  displayProducts(filtered);
+function filterProducts() {
+  currentPage = 0;
+  loadProducts();
 }
 
 function resetFilters() {
   document.getElementById("searchInput").value = "";
   document.getElementById("categoryFilter").value = "";
   document.getElementById("supplierFilter").value = "";
-  displayProducts(allProducts);
+  filterProducts();
 }
 
 function openAddModal() {
@@ -214,7 +221,7 @@ async function saveProduct() {
 
 function openDeleteModal(id) {
   deleteProductId = id;
-  const product = allProducts.find((p) => p.id === id);
+  const product = pageProducts.find((p) => p.id === id);
   document.getElementById("deleteProductName").textContent = product ? product.name : "";
 
   const modal = new bootstrap.Modal(document.getElementById("deleteModal"));
@@ -96,7 +96,7 @@ async function loadProfileData() {
     // Try the new profile endpoint first, fallback to user endpoint
     let response;
     try {
-      response = await axios.get(`${API_ENDPOINTS.auth}/profile?userId=${userId}`);
+      response = await axios.get(`${API_ENDPOINTS.auth}/profile`);
     } catch (err) {
       // Fallback to existing user endpoint
       console.log("Profile endpoint not available, using user endpoint");
@@ -137,7 +137,7 @@ async function displayUserName() {
     // Try the new profile endpoint first, fallback to user endpoint
     let response;
     try {
-      response = await axios.get(`${API_ENDPOINTS.auth}/profile?userId=${userId}`);
+      response = await axios.get(`${API_ENDPOINTS.auth}/profile`);
     } catch (err) {
       response = await axios.get(`${API_ENDPOINTS.auth}/user/${userId}`);
     }
@@ -227,7 +227,7 @@ async function saveProfile() {
     // Save to backend database
     // Try the new profile endpoint first, fallback to user endpoint
     try {
-      await axios.put(`${API_ENDPOINTS.auth}/profile?userId=${userId}`, updateData);
+      await axios.put(`${API_ENDPOINTS.auth}/profile`, updateData);
     } catch (err) {
       // Fallback to existing user endpoint
       await axios.put(`${API_ENDPOINTS.auth}/user/${userId}`, updateData);
@@ -352,19 +352,13 @@ async function saveUser() {
   }
 
   try {
-    const config = {
-      headers: {
-        "X-Requester-Id": currentUserId,
-      },
-    };
-
     if (id) {
       // Update existing user
-      await axios.put(`${API_ENDPOINTS.users}/${id}`, userData, config);
+      await axios.put(`${API_ENDPOINTS.users}/${id}`, userData);
       showAlert("User berhasil diperbarui!", "success");
     } else {
       // Create new user
-      await axios.post(API_ENDPOINTS.users, userData, config);
+      await axios.post(API_ENDPOINTS.users, userData);
       showAlert("User berhasil ditambahkan!", "success");
     }
 
@@ -434,12 +428,7 @@ async function confirmDelete() {
   if (!deleteUserId) return;
 
   try {
-    const config = {
-      headers: {
-        "X-Requester-Id": currentUserId,
-      },
-    };
-    await axios.delete(`${API_ENDPOINTS.users}/${deleteUserId}`, config);
+    await axios.delete(`${API_ENDPOINTS.users}/${deleteUserId}`);
     showAlert("User berhasil dihapus!", "success");
 
     bootstrap.Modal.getInstance(document.getElementById("deleteModal")).hide();
@@ -102,7 +102,7 @@ async function setUserDisplay() {
     // Try the new profile endpoint first, fallback to user endpoint
     let response;
     try {
-      response = await axios.get(`${API_ENDPOINTS.auth}/profile?userId=${userId}`);
+      response = await axios.get(`${API_ENDPOINTS.auth}/profile`);
     } catch (err) {
       response = await axios.get(`${API_ENDPOINTS.auth}/user/${userId}`);
     }
@@ -127,6 +127,7 @@ function logout() {
   localStorage.removeItem("inventori_user");
   localStorage.removeItem("inventori_user_id");
   localStorage.removeItem("inventori_user_role");
+  localStorage.removeItem("inventori_token");
   localStorage.removeItem("inventori_remember_username");
   sessionStorage.clear();
   showAlert("Anda berhasil keluar dari sistem", "success");
@@ -9,11 +9,38 @@ const API_ENDPOINTS = {
   suppliers: `${API_BASE_URL}/suppliers`,
   stocks: `${API_BASE_URL}/stocks`,
   users: `${API_BASE_URL}/users`,
+  dashboard: `${API_BASE_URL}/dashboard`,
 };
 
 // Axios default configuration
 axios.defaults.headers.common["Content-Type"] = "application/json";
 
+// Kirim token login di setiap request ke API
+axios.interceptors.request.use((config) => {
+  const token = localStorage.getItem("inventori_token");
+  if (token) {
+    config.headers.Authorization = `Bearer ${token}`;
+  }
+  return config;
+});
+
+// Token tidak valid atau kedaluwarsa: hapus sesi dan kembali ke halaman login
+axios.interceptors.response.use(
+  (response) => response,
+  (error) => {
+    const onLoginPage = window.location.pathname.endsWith("login.html");
+    if (error.response && error.response.status === 401 && !onLoginPage) {
+      localStorage.removeItem("inventori_user");
+      localStorage.removeItem("inventori_user_id");
+      localStorage.removeItem("inventori_user_role");
+      localStorage.removeItem("inventori_token");
+      const inSubfolder = /\/(admin|staff)\//.test(window.location.pathname);
+      window.location.href = inSubfolder ? "../login.html" : "login.html";
+    }
+    return Promise.reject(error);
+  }
+);
+
 // Utility functions
 const formatCurrency = (amount) => {
   return new Intl.NumberFormat("id-ID", {
@@ -7,7 +7,7 @@ document.addEventListener("DOMContentLoaded", function () {
   const existingUser = localStorage.getItem("inventori_user");
   const existingRole = localStorage.getItem("inventori_user_role");
 
-  if (existingUser && existingRole) {
+  if (existingUser && existingRole && localStorage.getItem("inventori_token")) {
     // User is already logged in, redirect to appropriate dashboard
     if (existingRole === "ADMIN") {
       window.location.href = "admin/dashboard.html";
@@ -96,6 +96,7 @@ document.addEventListener("DOMContentLoaded", function () {
       localStorage.setItem("inventori_user", JSON.stringify(user));
       localStorage.setItem("inventori_user_id", user.id);
       localStorage.setItem("inventori_user_role", user.role);
+      localStorage.setItem("inventori_token", user.token);
 
       // Mark first login in this session
       sessionStorage.setItem("isFirstLogin", "true");
@@ -34,18 +34,18 @@ function showWelcomeMessageIfFirstLogin() {
 
 async function loadDashboardData() {
   try {
-    // Load all data in parallel
-    const [products, lowStocks, outOfStocks] = await Promise.all([axios.get(API_ENDPOINTS.products), axios.get(`${API_ENDPOINTS.stocks}/low-stock`), axios.get(`${API_ENDPOINTS.stocks}/out-of-stock`)]);
+    // Ringkasan (jumlah data + daftar top-N) dihitung di backend dalam satu request
+    const { data: summary } = await axios.get(`${API_ENDPOINTS.dashboard}/summary`);
 
     // Update statistics
-    document.getElementById("totalProducts").textContent = products.data.length;
-    document.getElementById("lowStockItems").textContent = lowStocks.data.length;
-    document.getElementById("outOfStockItems").textContent = outOfStocks.data.length;
+    document.getElementById("totalProducts").textContent = summary.totalProducts;
+    document.getElementById("lowStockItems").textContent = summary.lowStockCount;
+    document.getElementById("outOfStockItems").textContent = summary.outOfStockCount;
 
     // Load tables
-    loadLowStockTable(lowStocks.data);
-    loadOutOfStockTable(outOfStocks.data);
-    loadRecentProducts(products.data);
+    loadLowStockTable(summary.urgentLowStocks);
+    loadOutOfStockTable(summary.outOfStocks);
+    loadRecentProducts(summary.recentProducts);
   } catch (error) {
     handleError(error);
   }
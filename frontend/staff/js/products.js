@@ -1,35 +1,57 @@
 // Staff Products functionality - View only (no add/edit/delete)
-let allProducts = [];
+// Filter, pagination and counts are computed by the backend (/api/products/query)
+const PAGE_SIZE = 20;
 let categories = [];
 let suppliers = [];
+let currentPage = 0;
+let searchTimer = null;
 
-document.addEventListener("DOMContentLoaded", function () {
+document.addEventListener("DOMContentLoaded", async function () {
   checkAuth(); // Verify user is logged in
   checkStaffRole(); // Verify user is staff
   setUserDisplay(); // Set user display name
   setupLogoutHandler(); // Setup logout functionality
-  loadProducts();
-  loadCategories();
-  loadSuppliers();
+  await Promise.all([loadCategories(), loadSuppliers()]);
   setupEventListeners();
+  loadProducts();
 });
 
 function setupEventListeners() {
-  // Search input
-  document.getElementById("searchInput").addEventListener("input", filterProducts);
+  // Search input - wait until the user stops typing before querying
+  document.getElementById("searchInput").addEventListener("input", () => {
+    clearTimeout(searchTimer);
+    searchTimer = setTimeout(filterProducts, 300);
+  });
 
   // Category filter
   document.getElementById("categoryFilter").addEventListener("change", filterProducts);
 
   // Supplier filter
   document.getElementById("supplierFilter").addEventListener("change", filterProducts);
+
+  // Stock filter
+  document.getElementById("stockFilter").addEventListener("change", filterProducts);
 }
 
 async function loadProducts() {
+  const stockFilter = document.getElementById("stockFilter").value;
+  const params = {
+    q: document.getElementById("searchInput").value.trim() || undefined,
+    categoryId: document.getElementById("categoryFilter").value || undefined,
+    supplierId: document.getElementById("supplierFilter").value || undefined,
+    lowStock: stockFilter === "low" ? true : stockFilter === "ok" ? false : undefined,
+    outOfStock: stockFilter === "out" ? true : undefined,
+    page: currentPage,
+    size: PAGE_SIZE,
+  };
+
   try {
-    const response = await axios.get(API_ENDPOINTS.products);
-    allProducts = response.data;
-    displayProducts(allProducts);
+    const response = await axios.get(`${API_ENDPOINTS.products}/query`, { params });
+    const result = response.data;
+    displayProducts(result.items, result.page * result.size);
+    displayFacets("categoryFilter", "All Categories", categories, result.categoryFacets);
+    displayFacets("supplierFilter", "All Suppliers", suppliers, result.supplierFacets);
+    displayPagination(result);
   } catch (error) {
     handleError(error);
   }
@@ -39,10 +61,6 @@ async function loadCategories() {
   try {
     const response = await axios.get(API_ENDPOINTS.categories);
     categories = response.data;
-
-    // Populate category filter
-    const categoryFilter = document.getElementById("categoryFilter");
-    categoryFilter.innerHTML = '<option value="">All Categories</option>' + categories.map((cat) => `<option value="${cat.id}">${cat.name}</option>`).join("");
   } catch (error) {
     handleError(error);
   }
@@ -52,16 +70,36 @@ async function loadSuppliers() {
   try {
     const response = await axios.get(API_ENDPOINTS.suppliers);
     suppliers = response.data;
-
-    // Populate supplier filter
-    const supplierFilter = document.getElementById("supplierFilter");
-    supplierFilter.innerHTML = '<option value="">All Suppliers</option>' + suppliers.map((sup) => `<option value="${sup.id}">${sup.name}</option>`).join("");
   } catch (error) {
     handleError(error);
   }
 }
 
-function displayProducts(products) {
+// Populate a filter dropdown with the number of matching products per option
+function displayFacets(selectId, allLabel, options, facets) {
+  const select = document.getElementById(selectId);
+  const selected = select.value;
+  const counts = new Map(facets.map((facet) => [String(facet.id), facet.count]));
+
+  select.innerHTML =
+    `<option value="">${allLabel}</option>` +
+    options.map((option) => `<option value="${option.id}">${option.name} (${counts.get(String(option.id)) || 0})</option>`).join("");
+  select.value = selected;
+}
+
+function displayPagination(result) {
+  const totalPages = Math.max(result.totalPages, 1);
+  document.getElementById("paginationInfo").textContent = `${result.totalItems} products - page ${result.page + 1} of ${totalPages}`;
+  document.getElementById("prevPageBtn").disabled = result.page <= 0;
+  document.getElementById("nextPageBtn").disabled = result.page + 1 >= totalPages;
+}
+
+function changePage(delta) {
+  currentPage = Math.max(0, currentPage + delta);
+  loadProducts();
+}
+
+function displayProducts(products, offset) {
   const tbody = document.getElementById("productsTableBody");
 
   if (products.length === 0) {
@@ -76,7 +114,7 @@ function displayProducts(products) {
 
       return `
             <tr>
-                <td>${index + 1}</td>
+                <td>${offset + index + 1}</td>
                 <td><strong>${product.name}</strong></td>
                 <td><code>${product.sku || "-"}</code></td>
                 <td>${product.description || "-"}</td>
@@ -104,35 +142,14 @@ function getStockBadge(quantity, minimumStock) {
 }
 
 function filterProducts() {
-  const searchTerm = document.getElementById("searchInput").value.toLowerCase();
-  const categoryId = document.getElementById("categoryFilter").value;
-  const supplierId = document.getElementById("supplierFilter").value;
-
-  let filtered = allProducts;
-
-  // Filter by search term
-  if (searchTerm) {
-    filtered = filtered.filter(
-      (product) => product.name.toLowerCase().includes(searchTerm) || (product.sku && product.sku.toLowerCase().includes(searchTerm)) || (product.description && product.description.toLowerCase().includes(searchTerm)),
-    );
-  }
-
-  // Filter by category
-  if (categoryId) {
-    filtered = filtered.filter((product) => product.categoryId == categoryId);
-  }
-
-  // Filter by supplier
-  if (supplierId) {
-    filtered = filtered.filter((product) => product.supplierId == supplierId);
-  }
-
-  displayProducts(filtered);
+  currentPage = 0;
+  loadProducts();
 }
 
 function resetFilters() {
   document.getElementById("searchInput").value = "";
   document.getElementById("categoryFilter").value = "";
   document.getElementById("supplierFilter").value = "";
-  displayProducts(allProducts);
+  document.getElementById("stockFilter").value = "";
+  filterProducts();
 }
@@ -33,7 +33,7 @@ async function loadProfileData() {
     try {
       let response;
       try {
-        response = await axios.get(`${API_ENDPOINTS.auth}/profile?userId=${userId}`);
+        response = await axios.get(`${API_ENDPOINTS.auth}/profile`);
       } catch (err) {
         // Fallback to existing user endpoint
         console.log("Profile endpoint not available, using user endpoint");
@@ -21,7 +21,7 @@
 -- ----------------------------
 DROP SEQUENCE IF EXISTS "public"."categories_id_seq";
 CREATE SEQUENCE "public"."categories_id_seq" 
-INCREMENT 1
+INCREMENT 10
 MINVALUE  1
 MAXVALUE 9223372036854775807
 START 1
@@ -32,7 +32,7 @@ CACHE 1;
 -- ----------------------------
 DROP SEQUENCE IF EXISTS "public"."products_id_seq";
 CREATE SEQUENCE "public"."products_id_seq" 
-INCREMENT 1
+INCREMENT 50
 MINVALUE  1
 MAXVALUE 9223372036854775807
 START 1
@@ -43,7 +43,7 @@ CACHE 1;
 -- ----------------------------
 DROP SEQUENCE IF EXISTS "public"."stocks_id_seq";
 CREATE SEQUENCE "public"."stocks_id_seq" 
-INCREMENT 1
+INCREMENT 50
 MINVALUE  1
 MAXVALUE 9223372036854775807
 START 1
@@ -54,7 +54,7 @@ CACHE 1;
 -- ----------------------------
 DROP SEQUENCE IF EXISTS "public"."suppliers_id_seq";
 CREATE SEQUENCE "public"."suppliers_id_seq" 
-INCREMENT 1
+INCREMENT 10
 MINVALUE  1
 MAXVALUE 9223372036854775807
 START 1
@@ -65,7 +65,7 @@ CACHE 1;
 -- ----------------------------
 DROP SEQUENCE IF EXISTS "public"."users_id_seq";
 CREATE SEQUENCE "public"."users_id_seq" 
-INCREMENT 1
+INCREMENT 10
 MINVALUE  1
 MAXVALUE 9223372036854775807
 START 1
@@ -156,6 +156,17 @@ INSERT INTO "public"."products" VALUES (23, '2026-02-01 10:21:25.530203', 'Kabel
 INSERT INTO "public"."products" VALUES (24, '2026-02-01 10:21:25.537724', 'Samsung 980 Pro NVMe SSD 1TB', 'SSD Samsung 1TB', 2100000.00, 'PRD-1769916085537', '2026-02-01 10:21:25.537724', 1, 1);
 INSERT INTO "public"."products" VALUES (25, '2026-02-01 10:21:25.544724', 'Corsair Vengeance 16GB DDR4 3200MHz', 'RAM DDR4 16GB', 950000.00, 'PRD-1769916085544', '2026-02-01 10:21:25.544724', 1, 1);
 
+-- ----------------------------
+-- Table structure for sku_counters
+-- ----------------------------
+DROP TABLE IF EXISTS "public"."sku_counters";
+CREATE TABLE "public"."sku_counters" (
+  "prefix" varchar(20) COLLATE "pg_catalog"."default" NOT NULL,
+  "next_value" int8 NOT NULL,
+  "updated_at" timestamp(6)
+)
+;
+
 -- ----------------------------
 -- Table structure for stocks
 -- ----------------------------
@@ -258,7 +269,8 @@ CACHE 1
   "phone_number" varchar(20) COLLATE "pg_catalog"."default",
   "role" varchar(255) COLLATE "pg_catalog"."default" NOT NULL,
   "updated_at" timestamp(6),
-  "username" varchar(255) COLLATE "pg_catalog"."default" NOT NULL
+  "username" varchar(255) COLLATE "pg_catalog"."default" NOT NULL,
+  "token_version" int4 NOT NULL DEFAULT 0
 )
 ;
 
@@ -337,6 +349,11 @@ ALTER TABLE "public"."products" ADD CONSTRAINT "ukfhmd06dsmj6k0n90swsh8ie9g" UNI
 -- ----------------------------
 ALTER TABLE "public"."products" ADD CONSTRAINT "products_pkey" PRIMARY KEY ("id");
 
+-- ----------------------------
+-- Primary Key structure for table sku_counters
+-- ----------------------------
+ALTER TABLE "public"."sku_counters" ADD CONSTRAINT "sku_counters_pkey" PRIMARY KEY ("prefix");
+
 -- ----------------------------
 -- Auto increment value for stocks
 -- ----------------------------
@@ -0,0 +1,85 @@
+package com.example.inventoryexample.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Membandingkan dua hasil JMH (-rf json) per benchmark dan parameter: waktu rata-rata dan
+ * alokasi per operasi (gc.alloc.rate.norm dari -prof gc), beserta perubahan dalam persen.
+ *
+ * Dijalankan lewat: mvn -Pbenchmark test-compile exec:exec@baseline-diff
+ */
+public final class BaselineDiff {
+    
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    
+    private BaselineDiff() {
+    }
+    
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Pemakaian: BaselineDiff <baseline.json> <hasil.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = load(args[0]);
+        Map<String, JsonNode> current = load(args[1]);
+        
+        System.out.printf("%-70s %14s %14s %8s %14s %14s %8s%n",
+                "Benchmark", "Baseline", "Sekarang", "Waktu", "B/op lama", "B/op baru", "Alokasi");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            double score = now.path("primaryMetric").path("score").asDouble();
+            double allocated = allocation(now);
+            String unit = now.path("primaryMetric").path("scoreUnit").asString();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14s %8s %14s %14.0f %8s%n",
+                        entry.getKey(), "-", format(score, unit), "baru", "-", allocated, "");
+                continue;
+            }
+            double previousScore = before.path("primaryMetric").path("score").asDouble();
+            double previousAllocated = allocation(before);
+            System.out.printf("%-70s %14s %14s %8s %14.0f %14.0f %8s%n",
+                    entry.getKey(), format(previousScore, unit), format(score, unit), change(previousScore, score),
+                    previousAllocated, allocated, change(previousAllocated, allocated));
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-70s (tidak ada di hasil baru)%n", key));
+    }
+    
+    // Kunci: nama benchmark tanpa package + parameter, contoh "JsonSerializationBenchmark.serializeList{dto=STOCK, size=1000}"
+    private static Map<String, JsonNode> load(String path) {
+        JsonNode results = JsonMapper.builder().build().readTree(new File(path));
+        Map<String, JsonNode> byKey = new TreeMap<>();
+        for (JsonNode result : results) {
+            String name = result.path("benchmark").asString();
+            Map<String, String> params = new LinkedHashMap<>();
+            result.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asString()));
+            String key = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1)
+                    + (params.isEmpty() ? "" : new TreeMap<>(params).toString());
+            byKey.put(key, result);
+        }
+        return byKey;
+    }
+    
+    private static double allocation(JsonNode result) {
+        return result.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble(Double.NaN);
+    }
+    
+    private static String format(double score, String unit) {
+        return String.format("%.3f %s", score, unit);
+    }
+    
+    private static String change(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return "";
+        }
+        return String.format("%+.1f%%", (after - before) / before * 100);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.inventoryexample.benchmark;
+
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.entity.Category;
+import com.example.inventoryexample.entity.Product;
+import com.example.inventoryexample.entity.Stock;
+import com.example.inventoryexample.entity.Supplier;
+import com.example.inventoryexample.repository.CategoryRepository;
+import com.example.inventoryexample.repository.ProductRepository;
+import com.example.inventoryexample.repository.SupplierRepository;
+import com.example.inventoryexample.service.ProductAutocompleteIndex;
+import com.example.inventoryexample.service.ProductBitmapIndex;
+import com.example.inventoryexample.service.ProductSearchIndex;
+import com.example.inventoryexample.service.ProductService;
+import com.example.inventoryexample.service.SkuAllocator;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data sintetis untuk benchmark. Kategori, supplier, harga dan waktu dipakai bersama
+ * antar baris agar 1 juta baris tetap muat di heap fork benchmark.
+ */
+final class BenchmarkData {
+    
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+    private static final BigDecimal PRICE = new BigDecimal("2500000.00");
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * ProductService tanpa Spring dan database: findAllWithDetails mengembalikan products,
+     * method repository lain dan event publisher melempar UnsupportedOperationException.
+     */
+    static ProductService productService(List<Product> products) {
+        ProductRepository productRepository = repository(ProductRepository.class,
+                Map.of("findAllWithDetails", products));
+        CategoryRepository categoryRepository = repository(CategoryRepository.class, Map.of());
+        SupplierRepository supplierRepository = repository(SupplierRepository.class, Map.of());
+        ApplicationEventPublisher eventPublisher = event -> {
+            throw new UnsupportedOperationException("publishEvent");
+        };
+        // Komponen berikut tidak dipakai jalur baca yang diukur
+        SkuAllocator skuAllocator = null;
+        ProductSearchIndex productSearchIndex = null;
+        ProductAutocompleteIndex productAutocompleteIndex = null;
+        ProductBitmapIndex productBitmapIndex = null;
+        return new ProductService(productRepository, categoryRepository, supplierRepository, skuAllocator,
+                productSearchIndex, productAutocompleteIndex, productBitmapIndex, eventPublisher);
+    }
+    
+    private static <T> T repository(Class<T> type, Map<String, Object> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    if (results.containsKey(method.getName())) {
+                        return results.get(method.getName());
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+    
+    static List<Product> products(int size) {
+        List<Category> categories = new ArrayList<>();
+        List<Supplier> suppliers = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            Category category = new Category();
+            category.setId(i);
+            category.setName("Kategori " + i);
+            categories.add(category);
+            Supplier supplier = new Supplier();
+            supplier.setId(i);
+            supplier.setName("Supplier " + i);
+            suppliers.add(supplier);
+        }
+        
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setId((long) i + 1);
+            product.setName("Produk " + i);
+            product.setSku(String.format("ELK-%08d", i + 1));
+            product.setDescription("Deskripsi produk");
+            product.setPrice(PRICE);
+            product.setCategory(categories.get(i % 10));
+            product.setSupplier(suppliers.get(i % 10));
+            product.setCreatedAt(CREATED_AT);
+            product.setUpdatedAt(i % 3 == 0 ? null : CREATED_AT);
+            // Sebagian produk belum punya stok, seperti data hasil import
+            if (i % 5 != 0) {
+                Stock stock = new Stock();
+                stock.setId((long) i + 1);
+                stock.setQuantity(i % 50);
+                stock.setMinimumStock(10);
+                stock.setProduct(product);
+                product.setStock(stock);
+            }
+            products.add(product);
+        }
+        return products;
+    }
+    
+    static List<ProductDto> productDtos(int size) {
+        List<ProductDto> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dtos.add(new ProductDto((long) i + 1, "Produk " + i, String.format("ELK-%08d", i + 1),
+                    "Deskripsi produk", PRICE, (long) i % 10 + 1, "Kategori", (long) i % 10 + 1, "Supplier",
+                    i % 50, 10, i % 50 <= 10, CREATED_AT, i % 3 == 0 ? null : CREATED_AT));
+        }
+        return dtos;
+    }
+    
+    static List<StockDto> stockDtos(int size) {
+        List<StockDto> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dtos.add(new StockDto((long) i + 1, (long) i + 1, "Produk " + i, String.format("ELK-%08d", i + 1),
+                    "Kategori", "Supplier", i % 50, 10, i % 2 == 0 ? null : CREATED_AT, i % 50 <= 10));
+        }
+        return dtos;
+    }
+}
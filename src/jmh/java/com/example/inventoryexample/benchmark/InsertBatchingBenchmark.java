@@ -0,0 +1,122 @@
+package com.example.inventoryexample.benchmark;
+
+import com.example.inventoryexample.benchmark.insert.IdentityItem;
+import com.example.inventoryexample.benchmark.insert.InsertItem;
+import com.example.inventoryexample.benchmark.insert.PooledItem;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput insert produk dengan ID IDENTITY (tanpa batch, mapping sebelum user-007)
+ * dibandingkan pooled sequence + JDBC batch 50 (mapping saat ini). Satu operasi = satu
+ * transaksi berisi {@code rows} insert; skor dalam milidetik per operasi.
+ *
+ * Default memakai H2 in-memory, yang tidak punya latensi jaringan sehingga selisihnya kecil;
+ * angka yang relevan untuk produksi diambil dari PostgreSQL:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="InsertBatching -p jdbcUrl=jdbc:postgresql://localhost:5432/inventory_bench -p jdbcUser=postgres -p jdbcPassword=..."
+ * </pre>
+ *
+ * Tabel bench_* dibuat dan dihapus oleh benchmark (hbm2ddl create-drop), jadi gunakan
+ * database terpisah. Jumlah prepared statement per operasi dicetak di akhir setiap trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+    
+    public enum Strategy { IDENTITY, POOLED_BATCH }
+    
+    private static final BigDecimal PRICE = new BigDecimal("2500000.00");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+    
+    @Param({"IDENTITY", "POOLED_BATCH"})
+    private Strategy strategy;
+    
+    @Param({"1000"})
+    private int rows;
+    
+    @Param({"jdbc:h2:mem:insert-bench;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+    
+    @Param({"sa"})
+    private String jdbcUser;
+    
+    @Param({""})
+    private String jdbcPassword;
+    
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private final AtomicLong skuSequence = new AtomicLong();
+    private long operations;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(strategy == Strategy.IDENTITY ? IdentityItem.class : PooledItem.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, jdbcUrl)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, jdbcUser)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, jdbcPassword)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true");
+        if (strategy == Strategy.POOLED_BATCH) {
+            // Sama dengan application-example.properties
+            configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                    .setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        }
+        sessionFactory = configuration.buildSessionFactory();
+        statistics = sessionFactory.getStatistics();
+    }
+    
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations = 0;
+    }
+    
+    @Benchmark
+    public void insertRows() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                InsertItem item = strategy == Strategy.IDENTITY ? new IdentityItem() : new PooledItem();
+                session.persist(item.fill("BNC-" + skuSequence.incrementAndGet(), PRICE, CREATED_AT));
+            }
+        });
+        operations++;
+    }
+    
+    @TearDown(Level.Iteration)
+    public void reportStatements() {
+        System.out.printf("%n%s: %d prepared statements per %d inserts%n", strategy,
+                statistics.getPrepareStatementCount() / Math.max(1, operations), rows);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+}
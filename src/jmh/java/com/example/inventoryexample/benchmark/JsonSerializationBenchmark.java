@@ -0,0 +1,68 @@
+package com.example.inventoryexample.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialisasi JSON list ProductDto dan StockDto seperti respons GET /api/products dan
+ * /api/stocks. Output ditulis ke stream yang hanya menghitung byte, sehingga yang terukur
+ * adalah encoding, bukan penyalinan buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JsonSerializationBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    
+    @Param({"PRODUCT", "STOCK"})
+    private String dto;
+    
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<?> items;
+    
+    @Setup
+    public void setUp() {
+        items = dto.equals("PRODUCT") ? BenchmarkData.productDtos(size) : BenchmarkData.stockDtos(size);
+    }
+    
+    @Benchmark
+    public long serializeList() {
+        CountingOutputStream output = new CountingOutputStream();
+        jsonMapper.writeValue(output, items);
+        return output.count;
+    }
+    
+    private static final class CountingOutputStream extends OutputStream {
+        
+        private long count;
+        
+        @Override
+        public void write(int b) {
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.inventoryexample.benchmark;
+
+import com.example.inventoryexample.InventoryExampleApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test closed-loop untuk membandingkan mode platform thread dan virtual thread
+ * (spring.threads.virtual.enabled). Untuk setiap mode aplikasi dijalankan in-process (H2 embedded,
+ * data awal dari DataInitializer), lalu {@code load.clients} klien bersamaan masing-masing mengirim
+ * {@code load.requests} GET bergiliran ke {@code load.paths}. Hasil per putaran: throughput,
+ * p50, p99 dan jumlah respons non-200 (termasuk 503 dari limiter); putaran pertama adalah warm-up.
+ *
+ * Dijalankan lewat: mvn -Pbenchmark test-compile exec:exec@load-test
+ *
+ * Parameter (system property, contoh -Dload.args="-Dload.clients=800"):
+ * <ul>
+ *     <li>load.modes - default platform,virtual</li>
+ *     <li>load.clients - klien bersamaan, default 400</li>
+ *     <li>load.requests - request per klien per putaran, default 25</li>
+ *     <li>load.rounds - jumlah putaran, default 3</li>
+ *     <li>load.tomcat-threads - server.tomcat.threads.max, default 50</li>
+ *     <li>load.paths - default /api/stocks,/api/products/1,/api/dashboard/summary,/api/categories</li>
+ *     <li>load.url - bila diisi, menguji server yang sudah berjalan (satu mode, sesuai server itu)</li>
+ * </ul>
+ */
+public final class LoadTestDriver {
+    
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "admin123";
+    
+    private LoadTestDriver() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("load.clients", 400);
+        int requests = Integer.getInteger("load.requests", 25);
+        int rounds = Integer.getInteger("load.rounds", 3);
+        int tomcatThreads = Integer.getInteger("load.tomcat-threads", 50);
+        String[] paths = System.getProperty("load.paths",
+                "/api/stocks,/api/products/1,/api/dashboard/summary,/api/categories").split(",");
+        String url = System.getProperty("load.url", "");
+        
+        System.out.printf("Skenario: %d klien x %d request, %d putaran, tomcat max %d thread, paths %s%n",
+                clients, requests, rounds, tomcatThreads, String.join(",", paths));
+        
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (!url.isBlank()) {
+            results.put(url, run(url, clients, requests, rounds, paths));
+        } else {
+            for (String mode : System.getProperty("load.modes", "platform,virtual").split(",")) {
+                try (ConfigurableApplicationContext context = start(mode.equals("virtual"), tomcatThreads)) {
+                    String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                    results.put(mode, run(baseUrl, clients, requests, rounds, paths));
+                }
+            }
+        }
+        
+        System.out.printf("%n%-30s %10s %10s %10s %8s%n", "Mode", "rps", "p50 (ms)", "p99 (ms)", "error");
+        results.forEach((mode, result) -> System.out.printf("%-30s %10.0f %10.1f %10.1f %8d%n",
+                mode, result.throughput(), result.p50Millis(), result.p99Millis(), result.errors()));
+    }
+    
+    private static ConfigurableApplicationContext start(boolean virtual, int tomcatThreads) {
+        return new SpringApplicationBuilder(InventoryExampleApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + tomcatThreads,
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+    
+    /**
+     * Menjalankan semua putaran terhadap satu server; hasil yang dilaporkan adalah putaran terakhir.
+     */
+    private static Result run(String baseUrl, int clients, int requests, int rounds, String[] paths) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(executor).build();
+            String token = login(client, baseUrl);
+            Result result = null;
+            for (int round = 1; round <= rounds; round++) {
+                result = round(client, baseUrl, token, clients, requests, paths);
+                System.out.printf("%s putaran %d%s: %.0f rps, p50 %.1f ms, p99 %.1f ms, error %d%n",
+                        baseUrl, round, round == 1 && rounds > 1 ? " (warm-up)" : "",
+                        result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+            }
+            return result;
+        }
+    }
+    
+    private static Result round(HttpClient client, String baseUrl, String token,
+                                int clients, int requests, String[] paths) throws InterruptedException {
+        long[] latencies = new long[clients * requests];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < clients; w++) {
+                int worker = w;
+                workers.submit(() -> {
+                    for (int k = 0; k < requests; k++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths[(worker + k) % paths.length]))
+                                .header("Authorization", "Bearer " + token)
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[worker * requests + k] = System.nanoTime() - sent;
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        return new Result(latencies.length / seconds,
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int) (latencies.length * 0.99)] / 1e6,
+                errors.get());
+    }
+    
+    private static String login(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login gagal: " + response.statusCode() + " " + response.body());
+        }
+        String body = response.body();
+        int start = body.indexOf("\"token\":\"") + "\"token\":\"".length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+    
+    private record Result(double throughput, double p50Millis, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.inventoryexample.benchmark;
+
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya ProductService.getAllProducts di luar database: konversi entity ke ProductDto
+ * (convertToDto) dan pengumpulan list. Repository diganti proxy yang mengembalikan
+ * entity yang sudah dimuat, sehingga yang terukur hanya mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ProductMappingBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    
+    private ProductService productService;
+    
+    @Setup
+    public void setUp() {
+        productService = BenchmarkData.productService(BenchmarkData.products(size));
+    }
+    
+    @Benchmark
+    public List<ProductDto> getAllProducts() {
+        return productService.getAllProducts();
+    }
+}
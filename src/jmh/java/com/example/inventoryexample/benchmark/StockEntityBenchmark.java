@@ -0,0 +1,58 @@
+package com.example.inventoryexample.benchmark;
+
+import com.example.inventoryexample.entity.Stock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Method domain Stock yang dipanggil di setiap mutasi dan pembacaan status stok.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockEntityBenchmark {
+    
+    private Stock stock;
+    
+    // Jumlah dari variabel agar tidak dilipat menjadi konstanta oleh JIT
+    private Integer amount = 1;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Cukup besar agar reduceStock tidak habis dan addStock tidak overflow dalam satu iterasi
+        stock = new Stock();
+        stock.setQuantity(Integer.MAX_VALUE / 2);
+        stock.setMinimumStock(10);
+    }
+    
+    @Benchmark
+    public Stock addStock() {
+        stock.addStock(amount);
+        return stock;
+    }
+    
+    @Benchmark
+    public Stock reduceStock() {
+        stock.reduceStock(amount);
+        return stock;
+    }
+    
+    @Benchmark
+    public boolean isLowStock() {
+        return stock.isLowStock();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.inventoryexample.benchmark.insert;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Baris mirip products dengan ID IDENTITY, seperti mapping sebelum user-007.
+ */
+@Entity
+@Table(name = "bench_identity_item")
+public class IdentityItem extends InsertItem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+}
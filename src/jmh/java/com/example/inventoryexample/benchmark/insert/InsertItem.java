@@ -0,0 +1,37 @@
+package com.example.inventoryexample.benchmark.insert;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Kolom yang sama dengan products (tanpa relasi) untuk benchmark insert.
+ */
+@MappedSuperclass
+public abstract class InsertItem {
+    
+    @Column(nullable = false)
+    private String name;
+    
+    @Column(nullable = false, unique = true)
+    private String sku;
+    
+    private String description;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    public InsertItem fill(String sku, BigDecimal price, LocalDateTime createdAt) {
+        this.name = "Produk " + sku;
+        this.sku = sku;
+        this.description = "Deskripsi produk";
+        this.price = price;
+        this.createdAt = createdAt;
+        return this;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.inventoryexample.benchmark.insert;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Baris mirip products dengan pooled sequence (alokasi 50), seperti mapping Product saat ini.
+ */
+@Entity
+@Table(name = "bench_pooled_item")
+public class PooledItem extends InsertItem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_pooled_item_seq")
+    @SequenceGenerator(name = "bench_pooled_item_seq", sequenceName = "bench_pooled_item_seq", allocationSize = 50)
+    private Long id;
+}
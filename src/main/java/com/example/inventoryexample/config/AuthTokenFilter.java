@@ -0,0 +1,46 @@
+package com.example.inventoryexample.config;
+
+import com.example.inventoryexample.service.AuthTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Membaca header "Authorization: Bearer &lt;token&gt;" dan memasang user dari token ke
+ * SecurityContext. Token yang tidak valid diabaikan; aturan akses di {@link SecurityConfig}
+ * yang menolak request tanpa autentikasi.
+ */
+@RequiredArgsConstructor
+public class AuthTokenFilter extends OncePerRequestFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final AuthTokenService authTokenService;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            ServerTiming.Phase previous = ServerTiming.enter(ServerTiming.Phase.AUTH);
+            try {
+                authTokenService.verify(header.substring(BEARER_PREFIX.length()).trim()).ifPresent(user ->
+                        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                                user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))));
+            } finally {
+                ServerTiming.exit(previous);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi token login bertanda tangan HMAC (prefix inventory.auth).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.auth")
+public class AuthTokenProperties {
+    
+    // Kunci HMAC minimal 32 karakter; bila kosong dibuat acak saat start (token hilang saat restart)
+    private String tokenSecret;
+    
+    // Masa berlaku token sejak login
+    private Duration tokenTtl = Duration.ofHours(8);
+    
+    // Batas umur status token per user di memori sebelum dibaca ulang dari database; menutup
+    // perubahan user yang dilakukan instance lain
+    private Duration tokenStateTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,51 @@
+package com.example.inventoryexample.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache di memori untuk data referensi yang sering dibaca tetapi jarang diubah.
+ *
+ * Eviction akibat create/update/delete ditunda sampai transaksi commit, sehingga pembaca
+ * lain tidak mengisi ulang cache dengan data lama sebelum perubahan terlihat di database.
+ * Pembaca yang sudah memuat data sebelum commit tidak bisa menyimpannya setelah eviction
+ * tersebut ({@link EvictionGuardedCache}).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_LIST = "categoryList";
+    public static final String SUPPLIERS = "suppliers";
+    public static final String SUPPLIER_LIST = "supplierList";
+    
+    // Kunci tunggal untuk cache daftar lengkap
+    public static final String ALL = "'all'";
+    
+    @Bean
+    public CacheManager cacheManager(InventoryCacheProperties properties) {
+        if (!properties.isEnabled()) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CATEGORIES, CATEGORY_LIST, SUPPLIERS, SUPPLIER_LIST) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new EvictionGuardedCache(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.inventoryexample.config;
 
 import com.example.inventoryexample.entity.*;
 import com.example.inventoryexample.repository.*;
+import com.example.inventoryexample.service.SkuAllocator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
@@ -21,6 +22,7 @@ public class DataInitializationConfig {
     private final SupplierRepository supplierRepository;
     private final ProductRepository productRepository;
     private final StockRepository stockRepository;
+    private final SkuAllocator skuAllocator;
     
     @Bean
     public CommandLineRunner initializeData() {
@@ -329,7 +331,7 @@ public class DataInitializationConfig {
             if (category != null) {
                 Product product = new Product();
                 product.setName(name);
-                // SKU will be auto-generated by @PrePersist in Product entity
+                product.setSku(skuAllocator.allocate(category));
                 product.setDescription(description);
                 product.setPrice(price);
                 product.setCategory(category);
@@ -0,0 +1,120 @@
+package com.example.inventoryexample.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache yang menolak put berisi nilai yang mulai dimuat sebelum eviction terakhir.
+ *
+ * {@code @Cacheable} memanggil get (miss), menjalankan method, lalu put di thread yang sama.
+ * Bila penulis commit dan eviction setelah commit terjadi di antara keduanya, nilai yang dimuat
+ * pembaca bisa berasal dari sebelum commit; tanpa pemeriksaan ini nilai basi tersebut tersimpan
+ * sampai TTL habis. Setiap evict/clear menaikkan penghitung, dan put dilewati bila penghitung
+ * berubah sejak miss untuk key yang sama. Berlaku per instance aplikasi; perubahan dari instance
+ * lain tetap dibatasi oleh TTL.
+ */
+final class EvictionGuardedCache implements Cache {
+
+    private final Cache delegate;
+    private final AtomicLong evictions = new AtomicLong();
+    // Miss terakhir di thread ini, dicatat oleh get dan dipakai oleh put berikutnya
+    private final ThreadLocal<Miss> misses = new ThreadLocal<>();
+
+    EvictionGuardedCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    private record Miss(Object key, long evictions) {
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long seen = evictions.get();
+        ValueWrapper value = delegate.get(key);
+        if (value == null) {
+            misses.set(new Miss(key, seen));
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        long seen = evictions.get();
+        T value = delegate.get(key, type);
+        if (value == null) {
+            misses.set(new Miss(key, seen));
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = misses.get();
+        misses.remove();
+        if (miss != null && (!miss.key().equals(key) || miss.evictions() != evictions.get())) {
+            return;
+        }
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    // Penghitung dinaikkan sebelum eviction: put yang lolos pemeriksaan setelahnya berasal dari
+    // miss sesudah kenaikan, yang membaca data setelah commit penulis
+
+    @Override
+    public void evict(Object key) {
+        evictions.incrementAndGet();
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictions.incrementAndGet();
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.incrementAndGet();
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.inventoryexample.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Second-level cache Hibernate untuk entity yang jarang berubah (Category, Supplier)
+ * beserta query cache untuk finder repository yang diberi hint cacheable.
+ *
+ * Region disimpan di JCache dengan provider Caffeine di dalam proses aplikasi, dengan batas
+ * ukuran dan umur yang sama dengan cache DTO ({@link InventoryCacheProperties}).
+ * inventory.cache.enabled=false juga mematikan cache ini.
+ *
+ * Setiap EntityManagerFactory mendapat CacheManager JCache sendiri (URI unik), bukan
+ * manager default milik JVM: dua context Spring dalam satu JVM (misalnya context test yang
+ * di-cache) tidak saling menghapus region atau menutup manager milik yang lain.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    
+    public static final String CATEGORY_REGION = "category";
+    public static final String SUPPLIER_REGION = "supplier";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    private static final AtomicInteger CACHE_MANAGER_IDS = new AtomicInteger();
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(InventoryCacheProperties properties) {
+        return hibernateProperties -> {
+            if (!properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            // Hibernate menutup cache manager ini saat EntityManagerFactory ditutup
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, createCacheManager(properties));
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, properties.isHibernateStatistics());
+        };
+    }
+    
+    private static CacheManager createCacheManager(InventoryCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("inventory-hibernate-" + CACHE_MANAGER_IDS.incrementAndGet()),
+                HibernateCacheConfig.class.getClassLoader());
+        OptionalLong maximumSize = OptionalLong.of(properties.getMaximumSize());
+        OptionalLong timeToLive = OptionalLong.of(properties.getTimeToLive().toNanos());
+        createRegion(cacheManager, CATEGORY_REGION, maximumSize, timeToLive);
+        createRegion(cacheManager, SUPPLIER_REGION, maximumSize, timeToLive);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, maximumSize, timeToLive);
+        // Timestamp per tabel tidak boleh dibuang lebih dulu dari hasil query yang bergantung padanya
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+    
+    private static void createRegion(CacheManager cacheManager, String name, OptionalLong maximumSize,
+                                     OptionalLong timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Entri Hibernate sudah berupa salinan terpisah dari entity, tidak perlu diserialisasi ulang
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(timeToLive);
+        cacheManager.createCache(name, configuration);
+    }
+}
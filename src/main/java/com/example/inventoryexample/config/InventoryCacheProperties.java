@@ -0,0 +1,28 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi cache data referensi kategori dan supplier (prefix inventory.cache).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.cache")
+public class InventoryCacheProperties {
+    
+    // false untuk mematikan cache, misalnya saat debugging query
+    private boolean enabled = true;
+    
+    // Jumlah entri maksimal per cache sebelum entri yang jarang dipakai dibuang
+    private long maximumSize = 1000;
+    
+    // Batas umur entri sebagai jaring pengaman bila data diubah di luar aplikasi
+    private Duration timeToLive = Duration.ofMinutes(10);
+    
+    // Statistik Hibernate (hit/miss region di /api/cache/regions); menambah biaya di setiap session
+    private boolean hibernateStatistics = false;
+}
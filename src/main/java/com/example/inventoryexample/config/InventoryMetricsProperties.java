@@ -0,0 +1,25 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Konfigurasi metrics aplikasi (prefix inventory.metrics).
+ * Percentile dan histogram diatur lewat management.metrics.distribution.*.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.metrics")
+public class InventoryMetricsProperties {
+    
+    // Timer inventory.service.method untuk setiap method public di package service
+    private boolean serviceTimers = true;
+    
+    // Produk yang mutasi stoknya diberi tag ID sendiri; produk lain digabung sebagai "other"
+    // agar jumlah time series tetap terbatas
+    private Set<Long> stockWatchProductIds = new HashSet<>();
+}
@@ -0,0 +1,25 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi pool verifikasi password saat login (prefix inventory.password-verification).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.password-verification")
+public class PasswordVerificationProperties {
+    
+    // Jumlah thread hashing; 0 berarti sebanyak jumlah CPU
+    private int threads = 0;
+    
+    // Jumlah verifikasi yang boleh menunggu; di atas ini login langsung ditolak dengan 503
+    private int queueCapacity = 200;
+    
+    // Batas total waktu tunggu + hashing per login
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,23 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Konfigurasi import produk dari CSV (prefix inventory.import).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.import")
+public class ProductImportProperties {
+    
+    // Jumlah baris yang disimpan dalam satu transaksi
+    private int batchSize = 1000;
+    
+    // Batas jumlah error per baris yang dikembalikan di respons
+    private int maxErrors = 100;
+    
+    // Panjang maksimum satu field CSV; lebih dari ini import dihentikan (mis. tanda kutip tidak ditutup)
+    private int maxFieldLength = 10_000;
+}
@@ -0,0 +1,176 @@
+package com.example.inventoryexample.config;
+
+import com.example.inventoryexample.exception.ServiceBusyException;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Membatasi jumlah request /api yang diproses bersamaan saat memakai virtual thread.
+ *
+ * Dengan platform thread, pool thread Tomcat sudah membatasi konkurensi. Virtual thread tidak
+ * punya batas itu, sehingga ribuan request bisa sekaligus menunggu koneksi database dan gagal
+ * setelah connection-timeout Hikari. Filter ini menahan request di semaphore yang ukurannya
+ * mengikuti pool koneksi, lalu menolak dengan {@link ServiceBusyException} (503) bila giliran
+ * tidak didapat dalam acquire-timeout.
+ *
+ * Request async (export {@code StreamingResponseBody}) masih memakai koneksi setelah filter
+ * kembali, sehingga izinnya baru dikembalikan saat request async selesai, gagal, atau timeout.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private static final String BUSY_MESSAGE = "Server sedang sibuk. Coba lagi beberapa saat lagi";
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private static final int DEFAULT_POOL_SIZE = 10;
+    
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutNanos;
+    
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    
+    public RequestConcurrencyLimitFilter(DataSource dataSource, VirtualThreadProperties properties,
+                                         @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        this.handlerExceptionResolver = handlerExceptionResolver;
+        this.maxConcurrentRequests = properties.getMaxConcurrentRequests() > 0
+                ? properties.getMaxConcurrentRequests()
+                // Sebagian request dilayani dari cache/index di memori tanpa koneksi
+                : 2 * connectionPoolSize(dataSource);
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+        log.info("Virtual thread aktif: maksimal {} request /api bersamaan", maxConcurrentRequests);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            handlerExceptionResolver.resolveException(request, response, null,
+                    new ServiceBusyException(BUSY_MESSAGE, RETRY_AFTER_SECONDS));
+            return;
+        }
+        
+        admitted.increment();
+        totalWaitNanos.add(System.nanoTime() - startedAt);
+        PermitRelease release = new PermitRelease();
+        boolean releasedByAsync = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+                releasedByAsync = true;
+            }
+        } finally {
+            if (!releasedByAsync) {
+                release.run();
+            }
+        }
+    }
+    
+    /**
+     * Mengembalikan izin satu kali saja: onError/onTimeout selalu diikuti onComplete.
+     */
+    private final class PermitRelease implements AsyncListener, Runnable {
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+        
+        // Listener dilepas saat startAsync dipanggil lagi pada dispatch berikutnya
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+    
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+    
+    public int getActiveRequests() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+    
+    public int getWaitingRequests() {
+        return permits.getQueueLength();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    public double getAverageWaitMillis() {
+        long count = admitted.sum();
+        return count == 0 ? 0 : totalWaitNanos.sum() / 1_000_000.0 / count;
+    }
+    
+    private static int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Ukuran pool koneksi tidak dapat dibaca, memakai {}", DEFAULT_POOL_SIZE);
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.inventoryexample.config;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Pengumpul waktu per request untuk header Server-Timing.
+ *
+ * Waktu request dibagi ke fase auth, db, map (entity ke DTO) dan ser (serialisasi JSON);
+ * sisanya masuk app. Setiap saat hanya satu fase yang aktif, jadi query yang dijalankan
+ * di tengah mapping (lazy load) dihitung sebagai db, bukan map.
+ *
+ * Collector hanya ada selama request yang diproses {@link ServerTimingFilter}. Tanpa
+ * collector (fitur dimatikan atau di luar request) semua method statis langsung kembali,
+ * biayanya satu ThreadLocal lookup. Jalur per baris (mapping DTO) memeriksa {@link #active()}
+ * lebih dulu, sehingga saat fitur dimatikan tidak ada lambda maupun ThreadLocal lookup.
+ */
+public final class ServerTiming {
+    
+    public enum Phase {
+        AUTH("auth"), DB("db"), MAPPING("map"), SERIALIZATION("ser"), APP("app");
+        
+        private final String metricName;
+        
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+    
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    
+    // Diset saat ServerTimingFilter dibuat; selama false tidak ada collector yang perlu dicari
+    private static volatile boolean enabled;
+    
+    private final long startedAt;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private Phase phase = Phase.APP;
+    private long phaseStartedAt;
+    private int queries;
+    
+    private ServerTiming(long startedAt) {
+        this.startedAt = startedAt;
+        this.phaseStartedAt = startedAt;
+    }
+    
+    static void enable() {
+        enabled = true;
+    }
+    
+    /**
+     * True bila request saat ini sedang diukur.
+     */
+    public static boolean active() {
+        return enabled && CURRENT.get() != null;
+    }
+    
+    static ServerTiming start() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+    
+    static void clear() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * Memindahkan request ke fase tertentu dan mengembalikan fase sebelumnya untuk
+     * {@link #exit}. Mengembalikan null bila tidak ada collector aktif.
+     */
+    public static Phase enter(Phase next) {
+        ServerTiming timing = CURRENT.get();
+        return timing != null ? timing.switchTo(next) : null;
+    }
+    
+    public static void exit(Phase previous) {
+        ServerTiming timing = CURRENT.get();
+        if (previous != null && timing != null) {
+            timing.switchTo(previous);
+        }
+    }
+    
+    public static <T> T measure(Phase phase, Supplier<T> action) {
+        Phase previous = enter(phase);
+        try {
+            return action.get();
+        } finally {
+            exit(previous);
+        }
+    }
+    
+    static void countQuery() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.queries++;
+        }
+    }
+    
+    Phase switchTo(Phase next) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - phaseStartedAt;
+        phaseStartedAt = now;
+        Phase previous = phase;
+        phase = next;
+        return previous;
+    }
+    
+    long nanos(Phase target) {
+        return phaseNanos[target.ordinal()] + (phase == target ? System.nanoTime() - phaseStartedAt : 0);
+    }
+    
+    int queries() {
+        return queries;
+    }
+    
+    /**
+     * Nilai header, misalnya: auth;dur=0.3, db;dur=4.1;desc="3 queries", map;dur=0.3, ser;dur=1.2, app;dur=0.9, total;dur=6.8
+     */
+    String headerValue() {
+        switchTo(phase);
+        StringBuilder header = new StringBuilder();
+        for (Phase target : Phase.values()) {
+            long value = phaseNanos[target.ordinal()];
+            if (value == 0 && target != Phase.APP) {
+                continue;
+            }
+            header.append(target.metricName).append(";dur=").append(millis(value));
+            if (target == Phase.DB) {
+                header.append(";desc=\"").append(queries).append(queries == 1 ? " query\"" : " queries\"");
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(phaseStartedAt - startedAt)).toString();
+    }
+    
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
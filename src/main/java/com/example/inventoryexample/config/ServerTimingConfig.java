@@ -0,0 +1,38 @@
+package com.example.inventoryexample.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sumber waktu fase db untuk Server-Timing: seluruh pemanggilan repository (query, membaca
+ * ResultSet dan membentuk entity/DTO) ditambah statement yang dijalankan Hibernate di luar
+ * repository lewat {@link ServerTimingSessionListener}.
+ */
+@Aspect
+@Configuration
+@ConditionalOnProperty(prefix = "inventory.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer serverTimingSessionListenerCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                ServerTimingSessionListener.class.getName());
+    }
+    
+    // Termasuk method bawaan JpaRepository (findById, save, ...) yang tidak dideklarasikan di package repository
+    @Around("execution(* *(..)) && this(org.springframework.data.repository.Repository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerTiming.Phase previous = ServerTiming.enter(ServerTiming.Phase.DB);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ServerTiming.exit(previous);
+        }
+    }
+}
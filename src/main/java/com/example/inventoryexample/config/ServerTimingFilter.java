@@ -0,0 +1,90 @@
+package com.example.inventoryexample.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Menambahkan header Server-Timing ke setiap response /api berisi pembagian waktu request
+ * per fase (lihat {@link ServerTiming}), dan menulis ringkasan yang sama ke log level DEBUG.
+ *
+ * Filter ini berjalan paling luar, sebelum Spring Security, agar fase auth ikut terukur.
+ * Header harus dipasang sebelum response ter-commit, yaitu saat converter JSON selesai
+ * menulis dan melakukan flush; untuk body yang lebih besar dari buffer response, fase ser
+ * hanya mencakup bagian yang sudah ditulis saat buffer pertama dikirim.
+ *
+ * Login tidak diukur: durasi auth hanya berisi BCrypt bila username terdaftar, sehingga
+ * header akan membocorkan username mana yang ada.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "inventory.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    
+    static final String HEADER = "Server-Timing";
+    
+    private static final String LOGIN_PATH = "/api/auth/login";
+    
+    public ServerTimingFilter() {
+        ServerTiming.enable();
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || path.equals(LOGIN_PATH);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.start();
+        TimingResponseWrapper wrapper = new TimingResponseWrapper(response, timing);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            ServerTiming.clear();
+            if (!response.isCommitted()) {
+                wrapper.writeHeader();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("{} {} status={} {}", request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        wrapper.header != null ? wrapper.header : timing.headerValue());
+            }
+        }
+    }
+    
+    private static final class TimingResponseWrapper extends OnCommittedResponseWrapper {
+        
+        private final ServerTiming timing;
+        private String header;
+        
+        private TimingResponseWrapper(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+        
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+        
+        private void writeHeader() {
+            if (header == null) {
+                header = timing.headerValue();
+                ((HttpServletResponse) getResponse()).setHeader(HEADER, header);
+            }
+        }
+    }
+}
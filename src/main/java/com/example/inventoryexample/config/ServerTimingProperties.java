@@ -0,0 +1,17 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Konfigurasi header Server-Timing (prefix inventory.server-timing).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.server-timing")
+public class ServerTimingProperties {
+    
+    // false berarti filter, advice dan listener Hibernate tidak didaftarkan sama sekali
+    private boolean enabled = true;
+}
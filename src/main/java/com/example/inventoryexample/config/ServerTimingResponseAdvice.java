@@ -0,0 +1,32 @@
+package com.example.inventoryexample.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Menandai dimulainya fase ser: advice ini dipanggil tepat sebelum converter menulis body,
+ * dan fase tersebut berlangsung sampai response ter-commit.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "inventory.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ServerTiming.enter(ServerTiming.Phase.SERIALIZATION);
+        return body;
+    }
+}
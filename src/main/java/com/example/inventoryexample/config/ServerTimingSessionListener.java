@@ -0,0 +1,45 @@
+package com.example.inventoryexample.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Listener Hibernate (satu instance per session) yang menghitung eksekusi statement dan
+ * pengambilan koneksi sebagai fase db, termasuk lazy load dan flush saat commit yang
+ * terjadi di luar pemanggilan repository.
+ */
+public class ServerTimingSessionListener implements SessionEventListener {
+    
+    private transient ServerTiming.Phase previous;
+    
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        previous = ServerTiming.enter(ServerTiming.Phase.DB);
+    }
+    
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        ServerTiming.exit(previous);
+    }
+    
+    @Override
+    public void jdbcExecuteStatementStart() {
+        ServerTiming.countQuery();
+        previous = ServerTiming.enter(ServerTiming.Phase.DB);
+    }
+    
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ServerTiming.exit(previous);
+    }
+    
+    @Override
+    public void jdbcExecuteBatchStart() {
+        ServerTiming.countQuery();
+        previous = ServerTiming.enter(ServerTiming.Phase.DB);
+    }
+    
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ServerTiming.exit(previous);
+    }
+}
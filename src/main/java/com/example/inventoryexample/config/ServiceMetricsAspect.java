@@ -0,0 +1,67 @@
+package com.example.inventoryexample.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mencatat durasi setiap method public bean @Service di package service sebagai timer
+ * inventory.service.method dengan tag class, method dan exception. Komponen pendukung
+ * (@Component: index, registry, metrics) dan event listener tidak ikut diukur karena
+ * dipanggil di dalam method service yang sudah terukur.
+ *
+ * Timer untuk pemanggilan yang berhasil disimpan per method, sehingga overhead per
+ * pemanggilan hanya dua System.nanoTime() dan satu lookup map.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "inventory.metrics", name = "service-timers", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsAspect {
+    
+    static final String METRIC_NAME = "inventory.service.method";
+    private static final String NO_EXCEPTION = "none";
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Around("within(com.example.inventoryexample.service..*) && @within(org.springframework.stereotype.Service)"
+            + " && execution(public * *(..))"
+            + " && !@annotation(org.springframework.context.event.EventListener)"
+            + " && !@annotation(org.springframework.transaction.event.TransactionalEventListener)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long startedAt = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(method, key -> timer(key, NO_EXCEPTION))
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(method, e.getClass().getSimpleName()).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+    
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("Durasi method service")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Konfigurasi alokasi SKU (prefix inventory.sku).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.sku")
+public class SkuProperties {
+    
+    // Prefix untuk produk yang kategorinya tidak punya prefix khusus
+    private String defaultPrefix = "PRD";
+    
+    // Jumlah nomor SKU yang dipesan dari database dalam satu kali round-trip
+    private int blockSize = 1000;
+    
+    // Nama kategori -> prefix, contoh: inventory.sku.category-prefixes.Elektronik=ELK
+    private Map<String, String> categoryPrefixes = new HashMap<>();
+}
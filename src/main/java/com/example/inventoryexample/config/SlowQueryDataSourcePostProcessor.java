@@ -0,0 +1,35 @@
+package com.example.inventoryexample.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Membungkus DataSource aplikasi dengan {@link SlowQueryJdbcProxy}, menggantikan
+ * spring.jpa.show-sql yang mencetak setiap statement secara sinkron.
+ *
+ * Pool aslinya tetap bisa diakses lewat unwrap/isWrapperFor (metrics Hikari,
+ * {@link RequestConcurrencyLimitFilter}).
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.slow-query-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+    
+    // Lazy agar SlowQueryLog dan properties-nya tidak dibuat sebelum post-processor lain terdaftar
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+    
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !SlowQueryJdbcProxy.isWrapped(bean)) {
+            return SlowQueryJdbcProxy.wrap(dataSource, slowQueryLog.getObject());
+        }
+        return bean;
+    }
+}
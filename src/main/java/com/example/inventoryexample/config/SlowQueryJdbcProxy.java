@@ -0,0 +1,241 @@
+package com.example.inventoryexample.config;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Pembungkus JDBC (dynamic proxy) yang mengukur durasi setiap eksekusi statement dan
+ * meneruskan statement yang lambat atau tersampel ke {@link SlowQueryLog}.
+ *
+ * Untuk statement yang tidak dicatat, biayanya hanya pemanggilan lewat proxy dan dua
+ * System.nanoTime(). Jumlah baris query dihitung dari ResultSet, sehingga record SELECT
+ * baru dikirim saat ResultSet ditutup.
+ *
+ * Setiap method JDBC (termasuk setter parameter) diteruskan lewat Method.invoke; sejak JDK 18
+ * refleksi memakai method handle sehingga biayanya puluhan nanodetik per panggilan, kecil
+ * dibanding round trip ke database. Setter parameter hanya menyimpan tipe dan panjang nilai;
+ * teks bentuk parameter baru dibuat saat statement memang dicatat.
+ */
+final class SlowQueryJdbcProxy {
+    
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    
+    private SlowQueryJdbcProxy() {
+    }
+    
+    static DataSource wrap(DataSource dataSource, SlowQueryLog slowQueryLog) {
+        // Closeable ikut diekspos agar destroy method pool (HikariDataSource.close) tetap terpanggil
+        Class<?>[] interfaces = dataSource instanceof Closeable
+                ? new Class<?>[] {DataSource.class, Closeable.class}
+                : new Class<?>[] {DataSource.class};
+        return (DataSource) Proxy.newProxyInstance(SlowQueryJdbcProxy.class.getClassLoader(), interfaces,
+                new DataSourceHandler(dataSource, slowQueryLog));
+    }
+    
+    static boolean isWrapped(Object bean) {
+        return Proxy.isProxyClass(bean.getClass()) && Proxy.getInvocationHandler(bean) instanceof DataSourceHandler;
+    }
+    
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SlowQueryJdbcProxy.class.getClassLoader(), new Class<?>[] {type},
+                handler));
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private record DataSourceHandler(DataSource dataSource, SlowQueryLog slowQueryLog) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryJdbcProxy.invoke(dataSource, method, args);
+            return result instanceof Connection connection
+                    ? proxy(Connection.class, new ConnectionHandler(connection, slowQueryLog))
+                    : result;
+        }
+    }
+    
+    private record ConnectionHandler(Connection connection, SlowQueryLog slowQueryLog) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryJdbcProxy.invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement/prepareCall membawa SQL; createStatement menerimanya saat execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                @SuppressWarnings("unchecked")
+                Class<Statement> type = (Class<Statement>) method.getReturnType();
+                return proxy(type, new StatementHandler(statement, sql, slowQueryLog));
+            }
+            return result;
+        }
+    }
+    
+    private static final class StatementHandler implements InvocationHandler {
+        
+        private final Statement statement;
+        private final SlowQueryLog slowQueryLog;
+        // Tipe dan panjang nilai per parameter (indeks 0 = parameter 1); tipe null = belum di-bind
+        private Class<?>[] parameterTypes = new Class<?>[8];
+        private int[] parameterLengths = new int[8];
+        private int parameterCount;
+        private String sql;
+        private int batchSize;
+        
+        private StatementHandler(Statement statement, String sql, SlowQueryLog slowQueryLog) {
+            this.statement = statement;
+            this.sql = sql;
+            this.slowQueryLog = slowQueryLog;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            // setString(int, ..), setLong(int, ..), setNull(int, ..); setFetchSize(int) dkk. hanya satu argumen
+            if (args != null && args.length >= 2 && args[0] instanceof Integer index && name.startsWith("set")) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                Arrays.fill(parameterTypes, 0, parameterCount, null);
+                parameterCount = 0;
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+            } else if ("clearBatch".equals(name)) {
+                batchSize = 0;
+            }
+            return SlowQueryJdbcProxy.invoke(statement, method, args);
+        }
+        
+        private Object execute(Method method, Object[] args) throws Throwable {
+            if (args != null && args.length > 0 && args[0] instanceof String text) {
+                sql = text;
+            }
+            int batch = batchSize;
+            batchSize = 0;
+            long startedAt = System.nanoTime();
+            Object result = SlowQueryJdbcProxy.invoke(statement, method, args);
+            long durationNanos = System.nanoTime() - startedAt;
+            
+            String kind = slowQueryLog.classify(durationNanos);
+            if (kind == null) {
+                return result;
+            }
+            String caller = SlowQueryLog.callerMethod();
+            List<String> shapes = parameterShapes();
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, rows ->
+                        slowQueryLog.submit(new SlowQueryLog.Entry(kind, durationNanos, rows, caller, batch, shapes, sql))));
+            }
+            slowQueryLog.submit(new SlowQueryLog.Entry(kind, durationNanos, rowCount(result), caller, batch, shapes, sql));
+            return result;
+        }
+        
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameterTypes.length) {
+                int capacity = Math.max(index, parameterTypes.length * 2);
+                parameterTypes = Arrays.copyOf(parameterTypes, capacity);
+                parameterLengths = Arrays.copyOf(parameterLengths, capacity);
+            }
+            parameterTypes[index - 1] = value == null ? Void.class : value.getClass();
+            parameterLengths[index - 1] = switch (value) {
+                case CharSequence text -> text.length();
+                case byte[] bytes -> bytes.length;
+                case null, default -> 0;
+            };
+            parameterCount = Math.max(parameterCount, index);
+        }
+        
+        private List<String> parameterShapes() {
+            List<String> shapes = new ArrayList<>(parameterCount);
+            for (int i = 0; i < parameterCount; i++) {
+                shapes.add(shape(parameterTypes[i], parameterLengths[i]));
+            }
+            return shapes;
+        }
+        
+        private long rowCount(Object result) throws SQLException {
+            return switch (result) {
+                case Integer count -> count;
+                case Long count -> count;
+                case int[] counts -> Arrays.stream(counts).asLongStream().sum();
+                case long[] counts -> Arrays.stream(counts).sum();
+                case Boolean hasResultSet when !hasResultSet -> statement.getUpdateCount();
+                default -> -1;
+            };
+        }
+    }
+    
+    /**
+     * Menghitung baris yang dibaca; hasilnya dilaporkan sekali saat ResultSet ditutup.
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+        
+        private final ResultSet resultSet;
+        private final LongConsumer onClose;
+        private long rows;
+        private boolean closed;
+        
+        private ResultSetHandler(ResultSet resultSet, LongConsumer onClose) {
+            this.resultSet = resultSet;
+            this.onClose = onClose;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryJdbcProxy.invoke(resultSet, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                }
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        onClose.accept(rows);
+                    }
+                }
+                default -> {
+                }
+            }
+            return result;
+        }
+    }
+    
+    private static String shape(Class<?> type, int length) {
+        if (type == null) {
+            return "?";
+        }
+        if (type == Void.class) {
+            return "NULL";
+        }
+        if (CharSequence.class.isAssignableFrom(type)) {
+            return "String(" + length + ")";
+        }
+        return type == byte[].class ? "byte[" + length + "]" : type.getSimpleName();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.inventoryexample.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Menentukan statement JDBC mana yang dicatat dan menuliskannya secara asinkron ke logger
+ * inventory.slow-query, satu baris per statement:
+ *
+ * <pre>
+ * kind=slow duration_ms=412.7 rows=20 caller=ProductService.getAllProducts batch=0 params=[Long,String(12)] sql="select ..."
+ * </pre>
+ *
+ * Nilai parameter tidak pernah ditulis, hanya bentuknya (tipe dan panjang). Thread request
+ * hanya memasukkan record ke antrean terbatas; format dan penulisan log dilakukan thread
+ * slow-query-log. Bila antrean penuh record dibuang, dan jumlahnya dilaporkan kemudian.
+ */
+@Slf4j(topic = "inventory.slow-query")
+@Component
+@ConditionalOnProperty(prefix = "inventory.slow-query-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLog {
+    
+    static final String SLOW = "slow";
+    static final String SAMPLED = "sampled";
+    
+    private static final String SERVICE_PACKAGE = "com.example.inventoryexample.service.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int maxSqlLength;
+    private final BlockingQueue<Entry> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean stopped;
+    
+    public SlowQueryLog(SlowQueryLogProperties properties) {
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.sampleRate = properties.getSampleRate();
+        this.maxSqlLength = properties.getMaxSqlLength();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.writer = new Thread(this::drain, "slow-query-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    /**
+     * Jenis record untuk statement dengan durasi ini, atau null bila tidak perlu dicatat.
+     */
+    String classify(long durationNanos) {
+        if (durationNanos >= thresholdNanos) {
+            return SLOW;
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return SAMPLED;
+        }
+        return null;
+    }
+    
+    void submit(Entry entry) {
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+    
+    /**
+     * Method service terdekat di call stack, misalnya "ProductService.getAllProducts".
+     * Hanya dipanggil untuk statement yang akan dicatat.
+     */
+    static String callerMethod() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(SERVICE_PACKAGE.length()) + "." + methodName(frame)))
+                .orElse("-");
+    }
+    
+    // lambda$rebuild$0 -> rebuild
+    private static String methodName(StackWalker.StackFrame frame) {
+        String name = frame.getMethodName();
+        return name.startsWith("lambda$") ? name.substring(7, name.indexOf('$', 7)) : name;
+    }
+    
+    private void drain() {
+        while (!stopped || !queue.isEmpty()) {
+            try {
+                Entry entry = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (entry != null) {
+                    write(entry);
+                } else {
+                    reportDropped();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        reportDropped();
+    }
+    
+    private void write(Entry entry) {
+        String line = entry.format(maxSqlLength);
+        if (SLOW.equals(entry.kind())) {
+            log.warn(line);
+        } else {
+            log.info(line);
+        }
+    }
+    
+    private void reportDropped() {
+        long count = dropped.sumThenReset();
+        if (count > 0) {
+            log.warn("kind=dropped count={} (antrean slow query log penuh)", count);
+        }
+    }
+    
+    @PreDestroy
+    void close() throws InterruptedException {
+        stopped = true;
+        writer.join(TimeUnit.SECONDS.toMillis(1));
+    }
+    
+    /**
+     * Satu statement yang dicatat. rows bernilai -1 bila jumlah baris tidak diketahui.
+     */
+    record Entry(String kind, long durationNanos, long rows, String caller, int batchSize,
+                 List<String> parameterShapes, String sql) {
+        
+        String format(int maxSqlLength) {
+            String statement = Optional.ofNullable(sql).orElse("").replaceAll("\\s+", " ").trim()
+                    .replace("\"", "\\\"");
+            if (statement.length() > maxSqlLength) {
+                statement = statement.substring(0, maxSqlLength) + "...";
+            }
+            return "kind=" + kind
+                    + " duration_ms=" + String.format(Locale.ROOT, "%.1f", durationNanos / 1_000_000.0)
+                    + " rows=" + (rows < 0 ? "?" : rows)
+                    + " caller=" + caller
+                    + " batch=" + batchSize
+                    + " params=[" + String.join(",", parameterShapes) + "]"
+                    + " sql=\"" + statement + "\"";
+        }
+    }
+}
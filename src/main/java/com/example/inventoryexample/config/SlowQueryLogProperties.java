@@ -0,0 +1,31 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi slow query log di level JDBC (prefix inventory.slow-query-log).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.slow-query-log")
+public class SlowQueryLogProperties {
+    
+    // false berarti DataSource tidak dibungkus sama sekali
+    private boolean enabled = true;
+    
+    // Statement yang eksekusinya lebih lama dari ini selalu dicatat (level WARN)
+    private Duration threshold = Duration.ofMillis(200);
+    
+    // Porsi statement di bawah threshold yang tetap dicatat sebagai sampel (level INFO), 0.0 - 1.0
+    private double sampleRate = 0.0;
+    
+    // Kapasitas antrean penulis log; record yang tidak muat dibuang dan dihitung
+    private int queueCapacity = 1024;
+    
+    // SQL yang lebih panjang dari ini dipotong di log
+    private int maxSqlLength = 2000;
+}
@@ -0,0 +1,26 @@
+package com.example.inventoryexample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi mode virtual thread (prefix inventory.virtual-threads).
+ * Hanya berlaku bila spring.threads.virtual.enabled=true.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.virtual-threads")
+public class VirtualThreadProperties {
+    
+    // Jumlah request /api yang boleh diproses bersamaan; 0 berarti 2x ukuran pool koneksi database
+    private int maxConcurrentRequests = 0;
+    
+    // Batas waktu menunggu giliran sebelum request ditolak dengan 503
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+    
+    // Virtual thread yang tertahan (pinned) lebih lama dari ini dicatat dan dilaporkan
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
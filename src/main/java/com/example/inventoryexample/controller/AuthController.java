@@ -1,15 +1,19 @@
 package com.example.inventoryexample.controller;
 
+import com.example.inventoryexample.dto.AuthenticatedUser;
 import com.example.inventoryexample.dto.LoginRequest;
 import com.example.inventoryexample.dto.LoginResponse;
+import com.example.inventoryexample.dto.PasswordVerifierStatsDto;
 import com.example.inventoryexample.dto.ProfileUpdateRequest;
 import com.example.inventoryexample.dto.UserDto;
 import com.example.inventoryexample.entity.User;
+import com.example.inventoryexample.service.PasswordVerifier;
 import com.example.inventoryexample.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,12 +24,18 @@ import java.util.List;
 public class AuthController {
     
     private final UserService userService;
+    private final PasswordVerifier passwordVerifier;
     
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
         return ResponseEntity.ok(userService.login(loginRequest));
     }
     
+    @GetMapping("/password-verifier/stats")
+    public ResponseEntity<PasswordVerifierStatsDto> getPasswordVerifierStats() {
+        return ResponseEntity.ok(passwordVerifier.getStats());
+    }
+    
     @GetMapping("/user/{id}")
     public ResponseEntity<UserDto> getUser(@PathVariable Long id) {
         return ResponseEntity.ok(userService.getUserById(id));
@@ -58,15 +68,16 @@ public class AuthController {
         return ResponseEntity.noContent().build();
     }
     
+    // User saat ini diambil dari token, bukan dari parameter userId
     @GetMapping("/profile")
-    public ResponseEntity<UserDto> getCurrentUserProfile(@RequestParam Long userId) {
-        return ResponseEntity.ok(userService.getUserById(userId));
+    public ResponseEntity<UserDto> getCurrentUserProfile(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(userService.getUserById(currentUser.getId()));
     }
     
     @PutMapping("/profile")
     public ResponseEntity<UserDto> updateCurrentUserProfile(
-            @RequestParam Long userId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @Valid @RequestBody ProfileUpdateRequest profileRequest) {
-        return ResponseEntity.ok(userService.updateUserProfile(userId, profileRequest));
+        return ResponseEntity.ok(userService.updateUserProfile(currentUser.getId(), profileRequest));
     }
 }
@@ -0,0 +1,32 @@
+package com.example.inventoryexample.controller;
+
+import com.example.inventoryexample.dto.CacheRegionStatsDto;
+import com.example.inventoryexample.dto.CacheStatsDto;
+import com.example.inventoryexample.service.CacheStatsService;
+import com.example.inventoryexample.service.HibernateCacheStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+    
+    private final CacheStatsService cacheStatsService;
+    private final HibernateCacheStatsService hibernateCacheStatsService;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getCacheStats());
+    }
+    
+    @GetMapping("/regions")
+    public ResponseEntity<List<CacheRegionStatsDto>> getRegionStats() {
+        return ResponseEntity.ok(hibernateCacheStatsService.getRegionStats());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.inventoryexample.controller;
+
+import com.example.inventoryexample.dto.DashboardSummaryDto;
+import com.example.inventoryexample.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDto> getSummary(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dashboardService.getSummary(limit));
+    }
+}
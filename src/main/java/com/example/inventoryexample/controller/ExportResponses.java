@@ -0,0 +1,43 @@
+package com.example.inventoryexample.controller;
+
+import com.example.inventoryexample.service.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Membangun response download untuk endpoint export yang ditulis secara streaming.
+ */
+final class ExportResponses {
+    
+    private ExportResponses() {
+    }
+    
+    static ResponseEntity<StreamingResponseBody> download(String baseName, String format, boolean gzip,
+                                                          BiConsumer<ExportFormat, OutputStream> exporter) {
+        // Format divalidasi sebelum response dimulai agar error tetap dikembalikan sebagai 400
+        ExportFormat exportFormat = ExportFormat.from(format);
+        String filename = baseName + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output, 64 * 1024);
+                exporter.accept(exportFormat, compressed);
+                compressed.finish();
+            } else {
+                exporter.accept(exportFormat, output);
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
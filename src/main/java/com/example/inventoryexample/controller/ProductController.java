@@ -1,13 +1,25 @@
 package com.example.inventoryexample.controller;
 
 import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.dto.ProductImportResultDto;
+import com.example.inventoryexample.dto.ProductPageDto;
+import com.example.inventoryexample.dto.ProductQueryRequest;
+import com.example.inventoryexample.dto.ProductQueryResultDto;
+import com.example.inventoryexample.dto.ProductSuggestionDto;
+import com.example.inventoryexample.service.InventoryExportService;
+import com.example.inventoryexample.service.ProductImportService;
 import com.example.inventoryexample.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -16,10 +28,26 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final InventoryExportService inventoryExportService;
     
     @GetMapping
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<ProductPageDto> getProductPage(
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(productService.getProductPage(size, cursor));
+    }
+    
+    @GetMapping("/query")
+    public ResponseEntity<ProductQueryResultDto> queryProducts(ProductQueryRequest request) {
+        return ResponseEntity.ok(productService.queryProducts(request));
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return ExportResponses.download("products", format, gzip, inventoryExportService::exportProducts);
     }
     
     @GetMapping("/{id}")
@@ -28,8 +56,17 @@ public class ProductController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<ProductDto>> searchProducts(@RequestParam String name) {
-        return ResponseEntity.ok(productService.searchProductsByName(name));
+    public ResponseEntity<List<ProductDto>> searchProducts(
+            @RequestParam String name,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.searchProducts(name, limit));
+    }
+    
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<ProductSuggestionDto>> autocompleteProducts(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.autocompleteProducts(prefix, limit));
     }
     
     @GetMapping("/category/{categoryId}")
@@ -48,6 +85,16 @@ public class ProductController {
                 .body(productService.createProduct(productDto));
     }
     
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImportResultDto> importProducts(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new RuntimeException("File CSV tidak valid: file kosong");
+        }
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(productImportService.importCsv(input));
+        }
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ProductDto> updateProduct(
             @PathVariable Long id,
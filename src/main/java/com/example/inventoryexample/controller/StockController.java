@@ -1,12 +1,16 @@
 package com.example.inventoryexample.controller;
 
+import com.example.inventoryexample.dto.StockBatchRequest;
+import com.example.inventoryexample.dto.StockBatchResultDto;
 import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.service.InventoryExportService;
 import com.example.inventoryexample.service.StockService;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;  
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/stocks")
@@ -14,12 +18,20 @@ import org.springframework.web.bind.annotation.*;
 public class StockController {
 
     private final StockService stockService;
+    private final InventoryExportService inventoryExportService;
 
     @GetMapping
     public ResponseEntity<List<StockDto>> getAllStocks() {
         return ResponseEntity.ok(stockService.getAllStocks());
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStocks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return ExportResponses.download("stocks", format, gzip, inventoryExportService::exportStocks);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<StockDto> getStockById(@PathVariable Long id) {
         return ResponseEntity.ok(stockService.getStockById(id));
@@ -65,4 +77,11 @@ public class StockController {
     ) {
         return ResponseEntity.ok(stockService.reduceStock(productId, quantity));
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<StockBatchResultDto> adjustStocks(
+        @Valid @RequestBody StockBatchRequest request
+    ) {
+        return ResponseEntity.ok(stockService.adjustStocks(request.getItems()));
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.inventoryexample.controller;
+
+import com.example.inventoryexample.dto.ThreadingStatsDto;
+import com.example.inventoryexample.service.ThreadingStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/system")
+@RequiredArgsConstructor
+public class SystemController {
+    
+    private final ThreadingStatsService threadingStatsService;
+    
+    @GetMapping("/threads")
+    public ResponseEntity<ThreadingStatsDto> getThreadingStats() {
+        return ResponseEntity.ok(threadingStatsService.getStats());
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.inventoryexample.controller;
 
+import com.example.inventoryexample.dto.AuthenticatedUser;
 import com.example.inventoryexample.dto.UserDto;
+import com.example.inventoryexample.dto.UserStatsDto;
 import com.example.inventoryexample.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -36,17 +39,17 @@ public class UserController {
     @PostMapping
     public ResponseEntity<UserDto> createUser(
             @Valid @RequestBody UserDto userDto,
-            @RequestHeader(value = "X-Requester-Id", required = false) Long requesterId) {
+            @AuthenticationPrincipal AuthenticatedUser requester) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(userService.createUserFromDto(userDto, requesterId));
+                .body(userService.createUserFromDto(userDto, requester));
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<UserDto> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserDto userDto,
-            @RequestHeader(value = "X-Requester-Id", required = false) Long requesterId) {
-        return ResponseEntity.ok(userService.updateUserFromDto(id, userDto, requesterId));
+            @AuthenticationPrincipal AuthenticatedUser requester) {
+        return ResponseEntity.ok(userService.updateUserFromDto(id, userDto, requester));
     }
     
     @PatchMapping("/{id}/status")
@@ -66,13 +69,13 @@ public class UserController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(
             @PathVariable Long id,
-            @RequestHeader(value = "X-Requester-Id", required = false) Long requesterId) {
-        userService.deleteUser(id, requesterId);
+            @AuthenticationPrincipal AuthenticatedUser requester) {
+        userService.deleteUser(id, requester);
         return ResponseEntity.noContent().build();
     }
     
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getUserStats() {
+    public ResponseEntity<UserStatsDto> getUserStats() {
         return ResponseEntity.ok(userService.getUserStats());
     }
 }
@@ -0,0 +1,19 @@
+package com.example.inventoryexample.dto;
+
+import com.example.inventoryexample.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User yang sedang login, dibaca dari token tanpa query ke database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthenticatedUser {
+    
+    private Long id;
+    
+    private User.UserRole role;
+}
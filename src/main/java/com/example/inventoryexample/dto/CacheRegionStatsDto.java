@@ -0,0 +1,25 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistik satu region second-level cache Hibernate sejak aplikasi berjalan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDto {
+    
+    private String region;
+    
+    // null bila provider cache tidak melaporkan jumlah entri
+    private Long elementCount;
+    
+    private long hitCount;
+    
+    private long missCount;
+    
+    private long putCount;
+}
@@ -0,0 +1,26 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistik hit/miss satu cache sejak aplikasi berjalan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    
+    private String name;
+    
+    private long size;
+    
+    private long hitCount;
+    
+    private long missCount;
+    
+    private double hitRate;
+    
+    private long evictionCount;
+}
@@ -0,0 +1,33 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummaryDto {
+    
+    private Long totalProducts;
+    
+    private Long totalCategories;
+    
+    private Long totalSuppliers;
+    
+    private Long lowStockCount;
+    
+    private Long outOfStockCount;
+    
+    private BigDecimal totalInventoryValue;
+    
+    // Stok rendah paling mendesak (rasio quantity / minimumStock terkecil)
+    private List<StockDto> urgentLowStocks;
+    
+    private List<StockDto> outOfStocks;
+    
+    private List<ProductDto> recentProducts;
+}
@@ -0,0 +1,17 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDto {
+    
+    private Long id;
+    
+    private String name;
+    
+    private Long count;
+}
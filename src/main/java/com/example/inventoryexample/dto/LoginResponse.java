@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,4 +23,9 @@ public class LoginResponse {
     private User.UserRole role;
     
     private String message;
+    
+    // Dikirim kembali di header "Authorization: Bearer <token>" untuk setiap request /api/**
+    private String token;
+    
+    private Instant tokenExpiresAt;
 }
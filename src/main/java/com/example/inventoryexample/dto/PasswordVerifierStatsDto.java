@@ -0,0 +1,32 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kondisi pool verifikasi password dan latensi hashing sejak aplikasi berjalan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordVerifierStatsDto {
+    
+    private int threads;
+    
+    private int activeThreads;
+    
+    private int queueDepth;
+    
+    private int queueCapacity;
+    
+    private long completedCount;
+    
+    private long rejectedCount;
+    
+    private double averageWaitMillis;
+    
+    private double averageHashMillis;
+    
+    private double maxHashMillis;
+}
@@ -0,0 +1,16 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportErrorDto {
+    
+    // Nomor baris pada file CSV, header adalah baris 1
+    private Integer lineNumber;
+    
+    private String message;
+}
@@ -0,0 +1,28 @@
+package com.example.inventoryexample.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ProductImportResultDto {
+    
+    private int totalRows;
+    
+    private int importedRows;
+    
+    private int failedRows;
+    
+    private long durationMillis;
+    
+    private List<ProductImportErrorDto> errors = new ArrayList<>();
+    
+    // true jika error lebih banyak dari batas inventory.import.max-errors
+    private boolean errorsTruncated;
+    
+    // true jika import berhenti sebelum akhir file karena sisa file CSV tidak bisa dibaca
+    private boolean aborted;
+}
@@ -0,0 +1,22 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageDto {
+    
+    private List<ProductDto> items;
+    
+    private Integer size;
+    
+    // Cursor opaque untuk halaman berikutnya, null jika sudah halaman terakhir
+    private String nextCursor;
+    
+    private Boolean hasMore;
+}
@@ -0,0 +1,34 @@
+package com.example.inventoryexample.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Kombinasi filter untuk /api/products/query. Semua field opsional; filter yang kosong diabaikan.
+ */
+@Data
+public class ProductQueryRequest {
+    
+    // Dicocokkan sebagai substring pada nama, SKU dan deskripsi
+    private String q;
+    
+    private Long categoryId;
+    
+    private Long supplierId;
+    
+    private BigDecimal minPrice;
+    
+    private BigDecimal maxPrice;
+    
+    // true: hanya stok rendah, false: hanya stok aman, null: semua
+    private Boolean lowStock;
+    
+    // true: hanya stok habis, false: hanya yang masih ada stoknya, null: semua
+    private Boolean outOfStock;
+    
+    // Nomor halaman mulai dari 0
+    private Integer page;
+    
+    private Integer size;
+}
@@ -0,0 +1,29 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductQueryResultDto {
+    
+    private List<ProductDto> items;
+    
+    private Integer page;
+    
+    private Integer size;
+    
+    private Long totalItems;
+    
+    private Integer totalPages;
+    
+    // Jumlah produk per kategori dengan semua filter lain diterapkan, kecuali filter kategori
+    private List<FacetCountDto> categoryFacets;
+    
+    // Jumlah produk per supplier dengan semua filter lain diterapkan, kecuali filter supplier
+    private List<FacetCountDto> supplierFacets;
+}
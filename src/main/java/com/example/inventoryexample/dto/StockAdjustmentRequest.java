@@ -0,0 +1,19 @@
+package com.example.inventoryexample.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentRequest {
+    
+    @NotNull(message = "Product ID tidak boleh kosong")
+    private Long productId;
+    
+    // Positif untuk menambah stok, negatif untuk mengurangi stok
+    @NotNull(message = "Delta stok tidak boleh kosong")
+    private Integer delta;
+}
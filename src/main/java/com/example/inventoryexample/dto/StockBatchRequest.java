@@ -0,0 +1,20 @@
+package com.example.inventoryexample.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockBatchRequest {
+    
+    @NotEmpty(message = "Daftar penyesuaian stok tidak boleh kosong")
+    @Size(max = 1000, message = "Maksimal 1000 baris penyesuaian stok per permintaan")
+    private List<@Valid StockAdjustmentRequest> items;
+}
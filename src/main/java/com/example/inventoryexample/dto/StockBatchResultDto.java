@@ -0,0 +1,22 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockBatchResultDto {
+    
+    private Integer totalItems;
+    
+    private Integer appliedItems;
+    
+    private Integer failedItems;
+    
+    // Urutan hasil sama dengan urutan baris pada permintaan
+    private List<StockMutationResult> results;
+}
@@ -0,0 +1,51 @@
+package com.example.inventoryexample.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hasil satu mutasi stok yang diterapkan langsung di database.
+ * Field quantity berisi jumlah stok setelah mutasi (APPLIED) atau
+ * jumlah stok saat ini bila mutasi ditolak (INSUFFICIENT_STOCK).
+ * Field stock hanya diisi untuk mutasi tunggal yang APPLIED dan tidak ikut diserialisasi.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMutationResult {
+    
+    private Long productId;
+    
+    private Integer delta;
+    
+    private Status status;
+    
+    private Integer quantity;
+    
+    @JsonIgnore
+    private StockDto stock;
+    
+    public boolean isApplied() {
+        return status == Status.APPLIED;
+    }
+    
+    public static StockMutationResult applied(Long productId, int delta, Integer quantity) {
+        return new StockMutationResult(productId, delta, Status.APPLIED, quantity, null);
+    }
+    
+    public static StockMutationResult insufficient(Long productId, int delta, Integer quantity) {
+        return new StockMutationResult(productId, delta, Status.INSUFFICIENT_STOCK, quantity, null);
+    }
+    
+    public static StockMutationResult notFound(Long productId, int delta) {
+        return new StockMutationResult(productId, delta, Status.NOT_FOUND, null, null);
+    }
+    
+    public enum Status {
+        APPLIED,
+        INSUFFICIENT_STOCK,
+        NOT_FOUND
+    }
+}
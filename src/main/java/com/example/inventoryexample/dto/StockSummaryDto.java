@@ -0,0 +1,20 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSummaryDto {
+    
+    private Long lowStockCount;
+    
+    private Long outOfStockCount;
+    
+    // Total nilai persediaan = jumlah stok x harga produk
+    private BigDecimal totalInventoryValue;
+}
@@ -0,0 +1,31 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mode thread request, kondisi pembatas konkurensi dan jumlah virtual thread yang pinned.
+ * Field selain virtualThreads bernilai 0 saat memakai platform thread.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThreadingStatsDto {
+    
+    private boolean virtualThreads;
+    
+    private int maxConcurrentRequests;
+    
+    private int activeRequests;
+    
+    private int waitingRequests;
+    
+    private long rejectedCount;
+    
+    private double averageWaitMillis;
+    
+    private long pinnedCount;
+    
+    private double maxPinnedMillis;
+}
@@ -0,0 +1,21 @@
+package com.example.inventoryexample.dto;
+
+import com.example.inventoryexample.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Jumlah user untuk satu kombinasi role dan status aktif.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserGroupCountDto {
+    
+    private User.UserRole role;
+    
+    private Boolean isActive;
+    
+    private long count;
+}
@@ -0,0 +1,21 @@
+package com.example.inventoryexample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsDto {
+    
+    private long totalUsers;
+    
+    private long adminCount;
+    
+    private long staffCount;
+    
+    private long activeUsers;
+    
+    private long inactiveUsers;
+}
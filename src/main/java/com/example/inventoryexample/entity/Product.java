@@ -13,14 +13,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_created_at_id", columnList = "created_at DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id_seq")
+    @SequenceGenerator(name = "products_id_seq", sequenceName = "products_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Nama produk tidak boleh kosong")
@@ -28,7 +31,7 @@ public class Product {
     private String name;
     
     @Column(unique = true, nullable = false)
-    private String sku; // Stock Keeping Unit
+    private String sku; // Stock Keeping Unit, diisi oleh SkuAllocator
     
     @Column(length = 1000)
     private String description;
@@ -64,17 +67,10 @@ public class Product {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (sku == null || sku.isEmpty()) {
-            sku = generateSku();
-        }
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
-    
-    private String generateSku() {
-        return "PRD-" + System.currentTimeMillis();
-    }
 }
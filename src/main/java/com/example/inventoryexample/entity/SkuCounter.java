@@ -0,0 +1,36 @@
+package com.example.inventoryexample.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Penghitung SKU per prefix. Nilai nextValue adalah nomor pertama yang belum pernah
+ * dibagikan ke node aplikasi mana pun.
+ */
+@Entity
+@Table(name = "sku_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkuCounter {
+    
+    @Id
+    @Column(length = 20)
+    private String prefix;
+    
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
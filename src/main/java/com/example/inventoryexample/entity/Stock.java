@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Stock {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stocks_id_seq")
+    @SequenceGenerator(name = "stocks_id_seq", sequenceName = "stocks_id_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Jumlah stok tidak boleh kosong")
@@ -7,6 +7,8 @@ import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,13 +16,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "suppliers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "supplier")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Supplier {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "suppliers_id_seq")
+    @SequenceGenerator(name = "suppliers_id_seq", sequenceName = "suppliers_id_seq", allocationSize = 10)
     private Long id;
     
     @NotBlank(message = "Nama supplier tidak boleh kosong")
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -17,7 +18,8 @@ import java.time.LocalDateTime;
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 10)
     private Long id;
     
     @NotBlank(message = "Username tidak boleh kosong")
@@ -46,6 +48,11 @@ public class User {
     @Column(nullable = false)
     private Boolean isActive = true;
     
+    // Dinaikkan setiap role atau status aktif berubah; token login dengan versi lama ditolak
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
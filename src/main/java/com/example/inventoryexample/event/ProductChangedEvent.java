@@ -0,0 +1,42 @@
+package com.example.inventoryexample.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Dipublikasikan setelah produk dibuat, diubah, atau dihapus.
+ */
+@Data
+@AllArgsConstructor
+public class ProductChangedEvent {
+    
+    private Collection<Long> productIds;
+    
+    private boolean deleted;
+    
+    // Kategori yang jumlah produknya berubah (produk dibuat, dihapus, atau dipindah kategori);
+    // kosong bila hanya data produk yang berubah
+    private Collection<Long> categoryIds;
+    
+    /**
+     * Produk diubah tanpa pindah kategori.
+     */
+    public static ProductChangedEvent saved(Long productId) {
+        return new ProductChangedEvent(List.of(productId), false, List.of());
+    }
+    
+    /**
+     * Produk dibuat atau dipindah kategori; categoryIds adalah kategori lama dan/atau baru.
+     */
+    public static ProductChangedEvent saved(Long productId, Collection<Long> categoryIds) {
+        return new ProductChangedEvent(List.of(productId), false, List.copyOf(categoryIds));
+    }
+    
+    public static ProductChangedEvent deleted(Long productId, Long categoryId) {
+        return new ProductChangedEvent(List.of(productId), true, Stream.ofNullable(categoryId).toList());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.inventoryexample.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Dipublikasikan setelah jumlah atau minimum stok dari satu atau beberapa produk berubah.
+ */
+@Data
+@AllArgsConstructor
+public class StockChangedEvent {
+    
+    private Collection<Long> productIds;
+    
+    public static StockChangedEvent of(Long productId) {
+        return new StockChangedEvent(List.of(productId));
+    }
+}
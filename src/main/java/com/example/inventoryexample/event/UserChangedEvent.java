@@ -0,0 +1,41 @@
+package com.example.inventoryexample.event;
+
+import com.example.inventoryexample.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Dipublikasikan setelah user dibuat, diubah, atau dihapus.
+ * Role dan status sebelum/sesudah bernilai null untuk user yang baru dibuat/dihapus.
+ * tokenVersion adalah versi token user setelah perubahan (null untuk user yang dihapus).
+ */
+@Data
+@AllArgsConstructor
+public class UserChangedEvent {
+    
+    private Long userId;
+    
+    private User.UserRole previousRole;
+    
+    private Boolean previouslyActive;
+    
+    private User.UserRole role;
+    
+    private Boolean active;
+    
+    private Integer tokenVersion;
+    
+    public static UserChangedEvent created(User user) {
+        return new UserChangedEvent(user.getId(), null, null, user.getRole(), user.getIsActive(),
+                user.getTokenVersion());
+    }
+    
+    public static UserChangedEvent updated(User.UserRole previousRole, Boolean previouslyActive, User user) {
+        return new UserChangedEvent(user.getId(), previousRole, previouslyActive, user.getRole(), user.getIsActive(),
+                user.getTokenVersion());
+    }
+    
+    public static UserChangedEvent deleted(User user) {
+        return new UserChangedEvent(user.getId(), user.getRole(), user.getIsActive(), null, null, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.inventoryexample.exception;
+
+import com.example.inventoryexample.dto.StockMutationResult;
+import lombok.Getter;
+
+/**
+ * Dilempar ketika pengurangan stok ditolak karena jumlah yang tersedia
+ * lebih kecil dari jumlah yang diminta.
+ */
+@Getter
+public class InsufficientStockException extends RuntimeException {
+    
+    private final Long productId;
+    private final Integer availableQuantity;
+    private final Integer requestedQuantity;
+    
+    public InsufficientStockException(StockMutationResult result) {
+        super("Stok tidak mencukupi untuk produk ID " + result.getProductId()
+                + " (tersedia: " + result.getQuantity() + ", diminta: " + Math.abs(result.getDelta()) + ")");
+        this.productId = result.getProductId();
+        this.availableQuantity = result.getQuantity();
+        this.requestedQuantity = Math.abs(result.getDelta());
+    }
+}
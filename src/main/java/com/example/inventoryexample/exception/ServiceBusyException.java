@@ -0,0 +1,18 @@
+package com.example.inventoryexample.exception;
+
+import lombok.Getter;
+
+/**
+ * Dilempar ketika permintaan ditolak karena kapasitas pemrosesan sedang penuh.
+ * Klien sebaiknya mencoba lagi setelah retryAfterSeconds.
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.inventoryexample.repository;
 
+import com.example.inventoryexample.dto.FacetCountDto;
 import com.example.inventoryexample.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
+    // Hasil query disimpan di query cache dan dibatalkan otomatis saat tabel categories berubah
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByName(String name);
     
     boolean existsByName(String name);
+    
+    // Kategori tanpa produk tidak muncul di hasil
+    @Query("SELECT new com.example.inventoryexample.dto.FacetCountDto(c.id, c.name, COUNT(p)) " +
+           "FROM Product p JOIN p.category c GROUP BY c.id, c.name")
+    List<FacetCountDto> countProductsPerCategory();
+    
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId")
+    long countProducts(Long categoryId);
 }
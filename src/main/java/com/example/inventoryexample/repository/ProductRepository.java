@@ -1,26 +1,135 @@
 package com.example.inventoryexample.repository;
 
+import com.example.inventoryexample.dto.FacetCountDto;
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.dto.ProductSuggestionDto;
 import com.example.inventoryexample.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    // Proyeksi ProductDto dalam satu query join; isLowStock null jika produk belum punya stok
+    String PRODUCT_DTO_QUERY = "SELECT new com.example.inventoryexample.dto.ProductDto(" +
+            "p.id, p.name, p.sku, p.description, p.price, c.id, c.name, sp.id, sp.name, " +
+            "s.quantity, s.minimumStock, " +
+            "CASE WHEN s.quantity <= s.minimumStock THEN true WHEN s.quantity > s.minimumStock THEN false END, " +
+            "p.createdAt, p.updatedAt) " +
+            "FROM Product p JOIN p.category c JOIN p.supplier sp LEFT JOIN p.stock s ";
+    
+    String PRODUCT_FILTER_FROM = "FROM Product p JOIN p.category c JOIN p.supplier sp LEFT JOIN p.stock s ";
+    
+    // Filter opsional /api/products/query; parameter null berarti filter tersebut tidak dipakai.
+    // pattern sudah berupa pola LIKE huruf kecil dengan '!' sebagai karakter escape.
+    String PRODUCT_FILTER_WHERE = "WHERE (:pattern IS NULL OR LOWER(p.name) LIKE :pattern ESCAPE '!' " +
+            "OR LOWER(p.sku) LIKE :pattern ESCAPE '!' OR LOWER(p.description) LIKE :pattern ESCAPE '!') " +
+            "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
+            "AND (:lowStock IS NULL OR (:lowStock = true AND s.quantity <= s.minimumStock) " +
+            "OR (:lowStock = false AND s.quantity > s.minimumStock)) " +
+            "AND (:outOfStock IS NULL OR (:outOfStock = true AND s.quantity = 0) " +
+            "OR (:outOfStock = false AND s.quantity > 0)) ";
+    
+    String CATEGORY_FILTER = "AND (:categoryId IS NULL OR c.id = :categoryId) ";
+    
+    String SUPPLIER_FILTER = "AND (:supplierId IS NULL OR sp.id = :supplierId) ";
+    
     Optional<Product> findBySku(String sku);
     
     List<Product> findByNameContainingIgnoreCase(String name);
     
+    // Relasi yang dipakai convertToDto ikut di-fetch agar tidak ada query tambahan per produk
+    @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.supplier LEFT JOIN FETCH p.stock " +
+           "WHERE p.category.id = :categoryId ORDER BY p.createdAt DESC NULLS LAST, p.id DESC")
     List<Product> findByCategoryId(Long categoryId);
     
+    @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.supplier LEFT JOIN FETCH p.stock " +
+           "WHERE p.supplier.id = :supplierId ORDER BY p.createdAt DESC NULLS LAST, p.id DESC")
     List<Product> findBySupplierId(Long supplierId);
     
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.supplier.id = :supplierId")
     List<Product> findByCategoryIdAndSupplierId(Long categoryId, Long supplierId);
     
     boolean existsBySku(String sku);
+    
+    @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.supplier LEFT JOIN FETCH p.stock " +
+           "ORDER BY p.createdAt DESC NULLS LAST, p.id DESC")
+    List<Product> findAllWithDetails();
+    
+    @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.supplier LEFT JOIN FETCH p.stock " +
+           "ORDER BY p.createdAt DESC NULLS LAST, p.id DESC")
+    List<Product> findFirstPage(Limit limit);
+    
+    // Keyset pagination: lanjutkan tepat setelah (createdAt, id) baris terakhir halaman sebelumnya.
+    // created_at boleh NULL dan baris tersebut diurutkan paling akhir, jadi ikut setelah semua
+    // baris bertanggal
+    @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.supplier LEFT JOIN FETCH p.stock " +
+           "WHERE (p.createdAt, p.id) < (:createdAt, :id) OR p.createdAt IS NULL " +
+           "ORDER BY p.createdAt DESC NULLS LAST, p.id DESC")
+    List<Product> findPageAfter(LocalDateTime createdAt, Long id, Limit limit);
+    
+    // Lanjutan keyset bila baris terakhir halaman sebelumnya tidak punya created_at
+    @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.supplier LEFT JOIN FETCH p.stock " +
+           "WHERE p.createdAt IS NULL AND p.id < :id " +
+           "ORDER BY p.id DESC")
+    List<Product> findUndatedPageAfter(Long id, Limit limit);
+    
+    @Query(value = PRODUCT_DTO_QUERY + PRODUCT_FILTER_WHERE + CATEGORY_FILTER + SUPPLIER_FILTER +
+                   "ORDER BY p.id DESC",
+           countQuery = "SELECT COUNT(p) " + PRODUCT_FILTER_FROM + PRODUCT_FILTER_WHERE + CATEGORY_FILTER + SUPPLIER_FILTER)
+    Page<ProductDto> findDtosByFilter(String pattern, Long categoryId, Long supplierId, BigDecimal minPrice,
+                                      BigDecimal maxPrice, Boolean lowStock, Boolean outOfStock,
+                                      Pageable pageable);
+    
+    // Facet kategori mengabaikan filter kategori agar pilihan lain tetap terlihat jumlahnya
+    @Query("SELECT new com.example.inventoryexample.dto.FacetCountDto(c.id, c.name, COUNT(p)) " +
+           PRODUCT_FILTER_FROM + PRODUCT_FILTER_WHERE + SUPPLIER_FILTER +
+           "GROUP BY c.id, c.name ORDER BY c.name")
+    List<FacetCountDto> countByCategoryForFilter(String pattern, Long supplierId, BigDecimal minPrice,
+                                                 BigDecimal maxPrice, Boolean lowStock, Boolean outOfStock);
+    
+    @Query("SELECT new com.example.inventoryexample.dto.FacetCountDto(sp.id, sp.name, COUNT(p)) " +
+           PRODUCT_FILTER_FROM + PRODUCT_FILTER_WHERE + CATEGORY_FILTER +
+           "GROUP BY sp.id, sp.name ORDER BY sp.name")
+    List<FacetCountDto> countBySupplierForFilter(String pattern, Long categoryId, BigDecimal minPrice,
+                                                 BigDecimal maxPrice, Boolean lowStock, Boolean outOfStock);
+    
+    @Query(PRODUCT_DTO_QUERY + "WHERE p.id IN :ids")
+    List<ProductDto> findDtosByIdIn(Collection<Long> ids);
+    
+    // Untuk export: cursor forward-only, harus dipanggil dan ditutup di dalam transaksi
+    @Query(PRODUCT_DTO_QUERY + "ORDER BY p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductDto> streamAllDtos();
+    
+    @Query("SELECT new com.example.inventoryexample.dto.ProductSuggestionDto(p.id, p.name, p.sku) " +
+           "FROM Product p WHERE p.id IN :ids")
+    List<ProductSuggestionDto> findSuggestionsByIdIn(Collection<Long> ids);
+    
+    // Untuk membangun index autocomplete; harus dipanggil dan ditutup di dalam transaksi
+    @Query("SELECT new com.example.inventoryexample.dto.ProductSuggestionDto(p.id, p.name, p.sku) " +
+           "FROM Product p ORDER BY p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductSuggestionDto> streamAllSuggestions();
 }
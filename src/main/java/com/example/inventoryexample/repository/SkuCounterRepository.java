@@ -0,0 +1,19 @@
+package com.example.inventoryexample.repository;
+
+import com.example.inventoryexample.entity.SkuCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SkuCounterRepository extends JpaRepository<SkuCounter, String> {
+    
+    // SELECT ... FOR UPDATE: node lain menunggu sampai blok selesai dipesan
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SkuCounter c WHERE c.prefix = :prefix")
+    Optional<SkuCounter> findForUpdate(String prefix);
+}
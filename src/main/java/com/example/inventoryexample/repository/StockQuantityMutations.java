@@ -0,0 +1,21 @@
+package com.example.inventoryexample.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * UPDATE stok yang sekaligus mengembalikan quantity baru, untuk mutasi batch
+ * yang hanya membutuhkan quantity (tanpa baris stok lengkap).
+ */
+public interface StockQuantityMutations {
+    
+    /**
+     * @return quantity setelah UPDATE, kosong bila produk tidak punya baris stok
+     */
+    Optional<Integer> incrementQuantityReturning(Long productId, int amount, LocalDateTime now);
+    
+    /**
+     * @return quantity setelah UPDATE, kosong bila produk tidak ada atau stok tidak cukup
+     */
+    Optional<Integer> decrementQuantityReturning(Long productId, int amount, LocalDateTime now);
+}
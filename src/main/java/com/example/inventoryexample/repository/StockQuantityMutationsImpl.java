@@ -0,0 +1,96 @@
+package com.example.inventoryexample.repository;
+
+import com.example.inventoryexample.entity.Stock;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Satu statement per mutasi: UPDATE ... RETURNING di PostgreSQL, dan
+ * SELECT ... FROM FINAL TABLE (UPDATE ...) di H2 yang tidak mendukung RETURNING.
+ * Dialect lain memakai UPDATE diikuti SELECT quantity.
+ */
+class StockQuantityMutationsImpl implements StockQuantityMutations {
+    
+    private enum Syntax { RETURNING, FINAL_TABLE, SEPARATE_SELECT }
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private volatile Syntax syntax;
+    
+    @Override
+    public Optional<Integer> incrementQuantityReturning(Long productId, int amount, LocalDateTime now) {
+        return updateReturning("UPDATE stocks SET quantity = quantity + :amount, last_restock_date = :now, " +
+                "updated_at = :now WHERE product_id = :productId", productId, amount, now);
+    }
+    
+    @Override
+    public Optional<Integer> decrementQuantityReturning(Long productId, int amount, LocalDateTime now) {
+        return updateReturning("UPDATE stocks SET quantity = quantity - :amount, updated_at = :now " +
+                "WHERE product_id = :productId AND quantity >= :amount", productId, amount, now);
+    }
+    
+    private Optional<Integer> updateReturning(String update, Long productId, int amount, LocalDateTime now) {
+        Syntax syntax = syntax();
+        if (syntax == Syntax.SEPARATE_SELECT) {
+            int updated = nativeQuery(update)
+                    .setParameter("productId", productId)
+                    .setParameter("amount", amount)
+                    .setParameter("now", now)
+                    .executeUpdate();
+            if (updated == 0) {
+                return Optional.empty();
+            }
+            return firstQuantity(nativeQuery("SELECT quantity FROM stocks WHERE product_id = :productId")
+                    .setParameter("productId", productId)
+                    .getResultList());
+        }
+        String sql = syntax == Syntax.RETURNING
+                ? update + " RETURNING quantity"
+                : "SELECT quantity FROM FINAL TABLE (" + update + ")";
+        return firstQuantity(nativeQuery(sql)
+                .setParameter("productId", productId)
+                .setParameter("amount", amount)
+                .setParameter("now", now)
+                .getResultList());
+    }
+    
+    // Query space stocks: auto flush hanya untuk perubahan tertunda pada Stock,
+    // dan region cache entity lain tidak ikut di-invalidate oleh SQL native
+    private Query nativeQuery(String sql) {
+        Query query = entityManager.createNativeQuery(sql);
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Stock.class);
+        return query;
+    }
+    
+    private static Optional<Integer> firstQuantity(List<?> rows) {
+        return rows.stream().findFirst().map(quantity -> ((Number) quantity).intValue());
+    }
+    
+    private Syntax syntax() {
+        if (syntax == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            if (dialect instanceof PostgreSQLDialect) {
+                syntax = Syntax.RETURNING;
+            } else if (dialect instanceof H2Dialect) {
+                syntax = Syntax.FINAL_TABLE;
+            } else {
+                syntax = Syntax.SEPARATE_SELECT;
+            }
+        }
+        return syntax;
+    }
+}
@@ -1,21 +1,85 @@
 package com.example.inventoryexample.repository;
 
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.dto.StockSummaryDto;
 import com.example.inventoryexample.entity.Stock;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StockRepository extends JpaRepository<Stock, Long> {
+public interface StockRepository extends JpaRepository<Stock, Long>, StockQuantityMutations {
+    
+    // Proyeksi StockDto dalam satu query join, tanpa lazy load product/category/supplier per baris
+    String STOCK_DTO_QUERY = "SELECT new com.example.inventoryexample.dto.StockDto(" +
+            "s.id, p.id, p.name, p.sku, COALESCE(c.name, '-'), COALESCE(sp.name, '-'), " +
+            "s.quantity, s.minimumStock, s.lastRestockDate, " +
+            "CASE WHEN s.quantity <= s.minimumStock THEN true ELSE false END) " +
+            "FROM Stock s JOIN s.product p LEFT JOIN p.category c LEFT JOIN p.supplier sp ";
     
     Optional<Stock> findByProductId(Long productId);
     
-    @Query("SELECT s FROM Stock s WHERE s.quantity <= s.minimumStock")
-    List<Stock> findLowStocks();
+    @Query(STOCK_DTO_QUERY + "ORDER BY s.updatedAt DESC NULLS LAST, s.id DESC")
+    List<StockDto> findAllDtos();
+    
+    // Untuk export: cursor forward-only, harus dipanggil dan ditutup di dalam transaksi
+    @Query(STOCK_DTO_QUERY + "ORDER BY s.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<StockDto> streamAllDtos();
+    
+    @Query(STOCK_DTO_QUERY + "WHERE s.id = :id")
+    Optional<StockDto> findDtoById(Long id);
+    
+    @Query(STOCK_DTO_QUERY + "WHERE p.id = :productId")
+    Optional<StockDto> findDtoByProductId(Long productId);
+    
+    @Query(STOCK_DTO_QUERY + "WHERE p.id IN :productIds")
+    List<StockDto> findDtosByProductIdIn(Collection<Long> productIds);
+    
+    @Query(STOCK_DTO_QUERY + "WHERE s.quantity <= s.minimumStock OR s.quantity = 0")
+    List<StockDto> findLowOrOutOfStockDtos();
+    
+    @Query(STOCK_DTO_QUERY + "WHERE s.quantity = 0 ORDER BY s.updatedAt DESC NULLS LAST, s.id DESC")
+    List<StockDto> findOutOfStockDtos(Limit limit);
+    
+    @Query(STOCK_DTO_QUERY + "WHERE s.quantity <= s.minimumStock " +
+           "ORDER BY CASE WHEN s.minimumStock = 0 THEN 0.0 " +
+           "ELSE CAST(s.quantity AS double) / s.minimumStock END, s.quantity, s.id")
+    List<StockDto> findMostUrgentLowStockDtos(Limit limit);
+    
+    @Query("SELECT new com.example.inventoryexample.dto.StockSummaryDto(" +
+           "COALESCE(SUM(CASE WHEN s.quantity <= s.minimumStock THEN 1L ELSE 0L END), 0L), " +
+           "COALESCE(SUM(CASE WHEN s.quantity = 0 THEN 1L ELSE 0L END), 0L), " +
+           "COALESCE(SUM(s.quantity * p.price), 0)) " +
+           "FROM Stock s JOIN s.product p")
+    StockSummaryDto summarize();
+    
+    @Query("SELECT s.quantity FROM Stock s WHERE s.product.id = :productId")
+    Optional<Integer> findQuantityByProductId(Long productId);
+    
+    // Tanpa flush/clear otomatis: FlushMode AUTO Hibernate sudah mem-flush perubahan tertunda pada
+    // tabel stocks sebelum UPDATE, dan StockMutationEngine hanya me-refresh entity Stock produk terkait
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantity = s.quantity + :amount, s.lastRestockDate = :now, s.updatedAt = :now " +
+           "WHERE s.product.id = :productId")
+    int incrementQuantity(Long productId, Integer amount, LocalDateTime now);
     
-    @Query("SELECT s FROM Stock s WHERE s.quantity = 0")
-    List<Stock> findOutOfStocks();
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantity = s.quantity - :amount, s.updatedAt = :now " +
+           "WHERE s.product.id = :productId AND s.quantity >= :amount")
+    int decrementQuantity(Long productId, Integer amount, LocalDateTime now);
 }
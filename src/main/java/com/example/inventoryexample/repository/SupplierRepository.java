@@ -1,7 +1,10 @@
 package com.example.inventoryexample.repository;
 
 import com.example.inventoryexample.entity.Supplier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,10 +13,17 @@ import java.util.Optional;
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     
+    // Hasil query disimpan di query cache dan dibatalkan otomatis saat tabel suppliers berubah
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Supplier> findAll();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Supplier> findByName(String name);
     
     List<Supplier> findByNameContainingIgnoreCase(String name);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Supplier> findByEmail(String email);
     
     boolean existsByEmail(String email);
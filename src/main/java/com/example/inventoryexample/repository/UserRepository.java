@@ -1,7 +1,9 @@
 package com.example.inventoryexample.repository;
 
+import com.example.inventoryexample.dto.UserGroupCountDto;
 import com.example.inventoryexample.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -23,4 +25,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByRole(User.UserRole role);
     
     boolean existsByRole(User.UserRole role);
+    
+    // Satu baris per kombinasi role dan status aktif, tanpa memuat entity User
+    @Query("SELECT new com.example.inventoryexample.dto.UserGroupCountDto(u.role, u.isActive, COUNT(u)) " +
+           "FROM User u GROUP BY u.role, u.isActive")
+    List<UserGroupCountDto> countGroupedByRoleAndActive();
+    
+    // Status token user untuk verifikasi token; dibaca sekali per user lalu disimpan di memori
+    Optional<TokenState> findTokenStateById(Long id);
+    
+    interface TokenState {
+        
+        Integer getTokenVersion();
+        
+        Boolean getIsActive();
+    }
 }
@@ -0,0 +1,198 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.AuthTokenProperties;
+import com.example.inventoryexample.dto.AuthenticatedUser;
+import com.example.inventoryexample.entity.User;
+import com.example.inventoryexample.event.UserChangedEvent;
+import com.example.inventoryexample.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Menerbitkan dan memverifikasi token login bertanda tangan HMAC-SHA256.
+ *
+ * Token berisi ID user, role, versi token user, waktu terbit dan waktu kedaluwarsa. Versi
+ * token disimpan di kolom users.token_version dan dinaikkan setiap role atau status aktif
+ * berubah, sehingga token lama tetap ditolak setelah restart. Versi terkini per user dibaca
+ * dari database lalu disimpan di memori dan diperbarui lewat {@link UserChangedEvent};
+ * verifikasi berikutnya cukup satu perhitungan HMAC tanpa query.
+ *
+ * Instance lain tidak menerima event ini. Karena itu status di memori dibaca ulang dari
+ * database setelah inventory.auth.token-state-ttl, dan segera bila token membawa versi lebih
+ * tinggi dari yang diketahui (diterbitkan instance lain setelah perubahan user).
+ */
+@Slf4j
+@Service
+public class AuthTokenService {
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    // Contoh kunci yang dulu ada di application-example.properties; diketahui publik
+    private static final String EXAMPLE_SECRET = "ganti-dengan-kunci-acak-minimal-32-karakter";
+    // User dihapus atau tidak ditemukan: tidak ada token yang berlaku
+    private static final long DELETED = Long.MAX_VALUE;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final long stateTtlNanos;
+    
+    // Mac tidak thread-safe. Virtual thread tidak dipakai ulang, jadi ThreadLocal akan membuat
+    // Mac baru per request; sebagai gantinya Mac yang sudah diinisialisasi dipinjam dari pool
+    // dan salinan prototype dibuat hanya bila pool kosong.
+    private final Mac prototype;
+    private final BlockingQueue<Mac> macs = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+    
+    // ID user -> status token terkini (lihat state()); status tidak pernah turun, sehingga status
+    // lama yang selesai dibaca setelah event perubahan tidak menimpa status yang lebih baru
+    private final Map<Long, CachedState> tokenStates = new ConcurrentHashMap<>();
+    
+    public AuthTokenService(UserRepository userRepository, AuthTokenProperties properties) {
+        this.userRepository = userRepository;
+        this.ttlMillis = properties.getTokenTtl().toMillis();
+        this.stateTtlNanos = properties.getTokenStateTtl().toNanos();
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(secretBytes(properties.getTokenSecret()), ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private record CachedState(long state, long loadedAt) {
+        
+        CachedState newer(CachedState other) {
+            if (state != other.state) {
+                return state > other.state ? this : other;
+            }
+            return loadedAt - other.loadedAt >= 0 ? this : other;
+        }
+    }
+    
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+    
+    /**
+     * tokenVersion harus dibaca bersama role dari baris user yang sama, sebelum verifikasi
+     * password: perubahan role selama hashing menaikkan versi dan membatalkan token ini.
+     */
+    public IssuedToken issue(Long userId, User.UserRole role, int tokenVersion) {
+        long issuedAt = System.currentTimeMillis();
+        long expiresAt = issuedAt + ttlMillis;
+        String payload = ENCODER.encodeToString((userId + ":" + role.name() + ":" + tokenVersion + ":" + issuedAt
+                + ":" + expiresAt).getBytes(StandardCharsets.US_ASCII));
+        return new IssuedToken(payload + "." + ENCODER.encodeToString(sign(payload)), Instant.ofEpochMilli(expiresAt));
+    }
+    
+    /**
+     * User pemilik token, atau kosong bila tanda tangan salah, token kedaluwarsa, atau dicabut.
+     */
+    public Optional<AuthenticatedUser> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        try {
+            String payload = token.substring(0, separator);
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+            String[] fields = new String(DECODER.decode(payload), StandardCharsets.US_ASCII).split(":");
+            if (fields.length != 5) {
+                return Optional.empty();
+            }
+            long userId = Long.parseLong(fields[0]);
+            int tokenVersion = Integer.parseInt(fields[2]);
+            long expiresAt = Long.parseLong(fields[4]);
+            if (expiresAt <= System.currentTimeMillis() || currentState(userId, tokenVersion) != state(tokenVersion, true)) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(userId, User.UserRole.valueOf(fields[1])));
+        } catch (IllegalArgumentException e) {
+            // Base64, angka, atau role yang rusak
+            return Optional.empty();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        long state = event.getRole() == null
+                ? DELETED
+                : state(event.getTokenVersion(), Boolean.TRUE.equals(event.getActive()));
+        tokenStates.merge(event.getUserId(), new CachedState(state, System.nanoTime()), CachedState::newer);
+    }
+    
+    /**
+     * Status dari memori, dibaca ulang dari database bila sudah melewati token-state-ttl atau
+     * bila token membawa versi yang belum diketahui instance ini.
+     */
+    private long currentState(long userId, int tokenVersion) {
+        CachedState cached = tokenStates.get(userId);
+        if (cached != null
+                && System.nanoTime() - cached.loadedAt() < stateTtlNanos
+                && tokenVersion <= cached.state() / 2) {
+            return cached.state();
+        }
+        long loaded = userRepository.findTokenStateById(userId)
+                .map(user -> state(user.getTokenVersion(), Boolean.TRUE.equals(user.getIsActive())))
+                .orElse(DELETED);
+        return tokenStates.merge(userId, new CachedState(loaded, System.nanoTime()), CachedState::newer).state();
+    }
+    
+    // Versi lebih tinggi selalu bernilai lebih besar; user nonaktif tidak cocok dengan token mana pun
+    private static long state(int tokenVersion, boolean active) {
+        return tokenVersion * 2L + (active ? 1 : 0);
+    }
+    
+    private byte[] sign(String payload) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            try {
+                mac = (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        // doFinal mengembalikan Mac ke keadaan awal; bila pool penuh Mac ini dibuang
+        macs.offer(mac);
+        return signature;
+    }
+    
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("inventory.auth.token-secret tidak diisi; memakai kunci acak, token login tidak berlaku lagi setelah restart");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        if (EXAMPLE_SECRET.equals(secret.trim())) {
+            throw new IllegalStateException("inventory.auth.token-secret masih memakai contoh dari dokumentasi; ganti dengan kunci acak");
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("inventory.auth.token-secret minimal " + MIN_SECRET_BYTES + " byte");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Membaca statistik Caffeine dari setiap cache yang terdaftar.
+ * Daftar kosong berarti cache sedang dimatikan.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+    
+    private final CacheManager cacheManager;
+    
+    public List<CacheStatsDto> getCacheStats() {
+        List<CacheStatsDto> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            // Decorator (transaksi, eviction guard) meneruskan getNativeCache ke cache Caffeine
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats stats = nativeCache.stats();
+                result.add(new CacheStatsDto(name, nativeCache.estimatedSize(), stats.hitCount(),
+                        stats.missCount(), stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        return result;
+    }
+}
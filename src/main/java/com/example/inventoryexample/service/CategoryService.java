@@ -1,13 +1,22 @@
 package com.example.inventoryexample.service;
 
+import com.example.inventoryexample.config.CacheConfig;
+import com.example.inventoryexample.config.ServerTiming;
 import com.example.inventoryexample.dto.CategoryDto;
+import com.example.inventoryexample.dto.FacetCountDto;
 import com.example.inventoryexample.entity.Category;
+import com.example.inventoryexample.event.ProductChangedEvent;
 import com.example.inventoryexample.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,7 +26,11 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LIST, key = CacheConfig.ALL)
     public List<CategoryDto> getAllCategories() {
+        // Jumlah produk semua kategori dalam satu query GROUP BY, bukan memuat produk per kategori
+        Map<Long, Long> productCounts = categoryRepository.countProductsPerCategory().stream()
+                .collect(Collectors.toMap(FacetCountDto::getId, FacetCountDto::getCount));
         return categoryRepository.findAll().stream()
                 .sorted((c1, c2) -> {
                     if (c1.getUpdatedAt() == null && c2.getUpdatedAt() == null) return 0;
@@ -25,18 +38,20 @@ public class CategoryService {
                     if (c2.getUpdatedAt() == null) return -1;
                     return c2.getUpdatedAt().compareTo(c1.getUpdatedAt());
                 })
-                .map(this::convertToDto)
+                .map(category -> convertToDto(category, productCounts.getOrDefault(category.getId(), 0L)))
                 .collect(Collectors.toList());
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public CategoryDto getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Kategori dengan ID " + id + " tidak ditemukan"));
-        return convertToDto(category);
+        return convertToDto(category, categoryRepository.countProducts(id));
     }
     
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true)
     public CategoryDto createCategory(CategoryDto categoryDto) {
         if (categoryRepository.existsByName(categoryDto.getName())) {
             throw new RuntimeException("Kategori dengan nama " + categoryDto.getName() + " sudah ada");
@@ -47,10 +62,14 @@ public class CategoryService {
         category.setDescription(categoryDto.getDescription());
         
         Category savedCategory = categoryRepository.save(category);
-        return convertToDto(savedCategory);
+        return convertToDto(savedCategory, 0L);
     }
     
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true)
+    })
     public CategoryDto updateCategory(Long id, CategoryDto categoryDto) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Kategori dengan ID " + id + " tidak ditemukan"));
@@ -64,10 +83,14 @@ public class CategoryService {
         category.setDescription(categoryDto.getDescription());
         
         Category updatedCategory = categoryRepository.save(category);
-        return convertToDto(updatedCategory);
+        return convertToDto(updatedCategory, categoryRepository.countProducts(id));
     }
     
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true)
+    })
     public void deleteCategory(Long id) {
         if (!categoryRepository.existsById(id)) {
             throw new RuntimeException("Kategori dengan ID " + id + " tidak ditemukan");
@@ -75,12 +98,32 @@ public class CategoryService {
         categoryRepository.deleteById(id);
     }
     
-    private CategoryDto convertToDto(Category category) {
+    /**
+     * productCount di DTO kategori ikut berubah saat produk dibuat, dipindah, atau dihapus.
+     * Perubahan produk lain (nama, harga) tidak menyentuh jumlah tersebut, jadi cache hanya
+     * dikosongkan bila event membawa kategori yang jumlah produknya berubah. Dijalankan setelah
+     * commit, jadi cache langsung dikosongkan (beforeInvocation) tanpa menunggu transaksi lain.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY_LIST}, allEntries = true, beforeInvocation = true,
+            condition = "!#event.categoryIds.isEmpty()")
+    public void onProductChanged(ProductChangedEvent event) {
+        // Cukup eviction oleh anotasi di atas
+    }
+    
+    private CategoryDto convertToDto(Category category, long productCount) {
+        if (!ServerTiming.active()) {
+            return mapToDto(category, productCount);
+        }
+        return ServerTiming.measure(ServerTiming.Phase.MAPPING, () -> mapToDto(category, productCount));
+    }
+    
+    private CategoryDto mapToDto(Category category, long productCount) {
         CategoryDto dto = new CategoryDto();
         dto.setId(category.getId());
         dto.setName(category.getName());
         dto.setDescription(category.getDescription());
-        dto.setProductCount(category.getProducts() != null ? category.getProducts().size() : 0);
+        dto.setProductCount((int) productCount);
         return dto;
     }
 }
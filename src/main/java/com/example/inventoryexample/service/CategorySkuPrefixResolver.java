@@ -0,0 +1,43 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.SkuProperties;
+import com.example.inventoryexample.entity.Category;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Prefix SKU berdasarkan nama kategori dari inventory.sku.category-prefixes.
+ * Pencocokan nama kategori tidak membedakan huruf besar/kecil.
+ */
+@Component
+public class CategorySkuPrefixResolver implements SkuPrefixResolver {
+    
+    private final String defaultPrefix;
+    private final Map<String, String> prefixesByCategory;
+    
+    public CategorySkuPrefixResolver(SkuProperties properties) {
+        this.defaultPrefix = normalizePrefix(properties.getDefaultPrefix());
+        this.prefixesByCategory = properties.getCategoryPrefixes().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        entry -> entry.getKey().trim().toLowerCase(Locale.ROOT),
+                        entry -> normalizePrefix(entry.getValue())));
+    }
+    
+    @Override
+    public String resolvePrefix(Category category) {
+        if (category == null || category.getName() == null) {
+            return defaultPrefix;
+        }
+        return prefixesByCategory.getOrDefault(category.getName().trim().toLowerCase(Locale.ROOT), defaultPrefix);
+    }
+    
+    private static String normalizePrefix(String prefix) {
+        if (prefix == null || !prefix.trim().matches("[A-Za-z0-9]{1,20}")) {
+            throw new IllegalStateException("Prefix SKU " + prefix + " tidak valid (1-20 huruf/angka)");
+        }
+        return prefix.trim().toUpperCase(Locale.ROOT);
+    }
+}
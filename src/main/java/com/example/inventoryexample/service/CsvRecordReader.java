@@ -0,0 +1,115 @@
+package com.example.inventoryexample.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pembaca CSV (RFC 4180) yang membaca satu record setiap kali dipanggil, sehingga file besar
+ * tidak pernah dimuat utuh ke memori. Mendukung field bertanda kutip, tanda kutip ganda ("")
+ * di dalam field, dan field yang memuat baris baru.
+ *
+ * Panjang setiap field dibatasi maxFieldLength karakter: tanda kutip yang tidak ditutup
+ * berhenti dengan IOException di batas itu, bukan menampung sisa file ke memori.
+ */
+final class CsvRecordReader implements Closeable {
+    
+    private static final char BOM = '\uFEFF';
+    
+    private final BufferedReader reader;
+    private final int maxFieldLength;
+    private int lineNumber;
+    private int recordLineNumber;
+    
+    CsvRecordReader(Reader reader, int maxFieldLength) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.maxFieldLength = maxFieldLength;
+    }
+    
+    /**
+     * Record berikutnya, atau null jika file sudah habis.
+     */
+    List<String> next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        lineNumber++;
+        recordLineNumber = lineNumber;
+        if (lineNumber == 1 && c == BOM) {
+            c = reader.read();
+        }
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                    append(field, '"');
+                } else if (c == '\r' || c == '\n') {
+                    // Field bertanda kutip berlanjut ke baris berikutnya
+                    skipLineFeedAfter(c);
+                    lineNumber++;
+                    append(field, '\n');
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '\r' || c == '\n') {
+                skipLineFeedAfter(c);
+                break;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                append(field, (char) c);
+            }
+            c = reader.read();
+        }
+        if (quoted) {
+            throw new IOException("Tanda kutip pada baris " + recordLineNumber + " tidak ditutup");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    /**
+     * Nomor baris fisik tempat record terakhir dimulai (dimulai dari 1).
+     */
+    int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private void append(StringBuilder field, char c) throws IOException {
+        if (field.length() >= maxFieldLength) {
+            throw new IOException("Field pada baris " + recordLineNumber + " lebih dari " + maxFieldLength
+                    + " karakter (tanda kutip tidak ditutup?)");
+        }
+        field.append(c);
+    }
+    
+    // \r\n dihitung sebagai satu akhir baris, sama seperti BufferedReader.readLine
+    private void skipLineFeedAfter(int c) throws IOException {
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.DashboardSummaryDto;
+import com.example.inventoryexample.dto.StockSummaryDto;
+import com.example.inventoryexample.repository.CategoryRepository;
+import com.example.inventoryexample.repository.ProductRepository;
+import com.example.inventoryexample.repository.StockRepository;
+import com.example.inventoryexample.repository.SupplierRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+    
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final StockRepository stockRepository;
+    private final ProductService productService;
+    
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    
+    /**
+     * Ringkasan dashboard dihitung dengan query agregat (COUNT/SUM) dan daftar top-N,
+     * sehingga browser tidak perlu mengunduh seluruh data produk dan stok.
+     */
+    @Transactional(readOnly = true)
+    public DashboardSummaryDto getSummary(Integer limit) {
+        int topN = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        StockSummaryDto stockSummary = stockRepository.summarize();
+        
+        DashboardSummaryDto summary = new DashboardSummaryDto();
+        summary.setTotalProducts(productRepository.count());
+        summary.setTotalCategories(categoryRepository.count());
+        summary.setTotalSuppliers(supplierRepository.count());
+        summary.setLowStockCount(stockSummary.getLowStockCount());
+        summary.setOutOfStockCount(stockSummary.getOutOfStockCount());
+        summary.setTotalInventoryValue(stockSummary.getTotalInventoryValue());
+        summary.setUrgentLowStocks(stockRepository.findMostUrgentLowStockDtos(Limit.of(topN)));
+        summary.setOutOfStocks(stockRepository.findOutOfStockDtos(Limit.of(topN)));
+        summary.setRecentProducts(productService.getProductPage(topN, null).getItems());
+        return summary;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.inventoryexample.service;
+
+import java.util.Locale;
+
+/**
+ * Format file export: NDJSON (satu objek JSON per baris) atau CSV dengan header.
+ */
+public enum ExportFormat {
+    
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+    
+    private final String contentType;
+    private final String extension;
+    
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(value == null ? "" : value.trim().toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Format export " + value + " tidak valid (gunakan ndjson atau csv)");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.CacheRegionStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Membaca statistik region second-level cache dan query cache Hibernate.
+ * Daftar kosong berarti cache sedang dimatikan.
+ */
+@Service
+@RequiredArgsConstructor
+public class HibernateCacheStatsService {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    
+    public List<CacheRegionStatsDto> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String region : regionNames) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                long elementCount = stats.getElementCountInMemory();
+                result.add(new CacheRegionStatsDto(region,
+                        elementCount == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? null : elementCount,
+                        stats.getHitCount(), stats.getMissCount(), stats.getPutCount()));
+            }
+        }
+        return result;
+    }
+}
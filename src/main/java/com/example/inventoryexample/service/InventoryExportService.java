@@ -0,0 +1,164 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.repository.ProductRepository;
+import com.example.inventoryexample.repository.StockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Export produk dan stok yang ditulis langsung dari cursor database ke response.
+ * 
+ * Baris dibaca satu per satu dari query Stream (fetch size 500) di dalam transaksi read-only
+ * dan langsung diserialisasi, sehingga pemakaian memori tetap sama berapa pun jumlah barisnya.
+ */
+@Slf4j
+@Service
+public class InventoryExportService {
+    
+    private static final List<Column<ProductDto>> PRODUCT_COLUMNS = List.of(
+            new Column<>("id", ProductDto::getId),
+            new Column<>("sku", ProductDto::getSku),
+            new Column<>("name", ProductDto::getName),
+            new Column<>("description", ProductDto::getDescription),
+            new Column<>("price", ProductDto::getPrice),
+            new Column<>("categoryId", ProductDto::getCategoryId),
+            new Column<>("categoryName", ProductDto::getCategoryName),
+            new Column<>("supplierId", ProductDto::getSupplierId),
+            new Column<>("supplierName", ProductDto::getSupplierName),
+            new Column<>("stockQuantity", ProductDto::getStockQuantity),
+            new Column<>("minimumStock", ProductDto::getMinimumStock),
+            new Column<>("isLowStock", ProductDto::getIsLowStock),
+            new Column<>("createdAt", ProductDto::getCreatedAt),
+            new Column<>("updatedAt", ProductDto::getUpdatedAt));
+    
+    private static final List<Column<StockDto>> STOCK_COLUMNS = List.of(
+            new Column<>("id", StockDto::getId),
+            new Column<>("productId", StockDto::getProductId),
+            new Column<>("productName", StockDto::getProductName),
+            new Column<>("productSku", StockDto::getProductSku),
+            new Column<>("categoryName", StockDto::getCategoryName),
+            new Column<>("supplierName", StockDto::getSupplierName),
+            new Column<>("quantity", StockDto::getQuantity),
+            new Column<>("minimumStock", StockDto::getMinimumStock),
+            new Column<>("lastRestockDate", StockDto::getLastRestockDate),
+            new Column<>("isLowStock", StockDto::getIsLowStock));
+    
+    private final ProductRepository productRepository;
+    private final StockRepository stockRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    public InventoryExportService(ProductRepository productRepository, StockRepository stockRepository,
+                                  ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.stockRepository = stockRepository;
+        // Output stream milik response, jadi tidak ditutup oleh Jackson
+        this.ndjsonWriter = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    public long exportProducts(ExportFormat format, OutputStream output) {
+        return export("produk", format, output, productRepository::streamAllDtos, PRODUCT_COLUMNS);
+    }
+    
+    public long exportStocks(ExportFormat format, OutputStream output) {
+        return export("stok", format, output, stockRepository::streamAllDtos, STOCK_COLUMNS);
+    }
+    
+    private <T> long export(String name, ExportFormat format, OutputStream output,
+                            Supplier<Stream<T>> query, List<Column<T>> columns) {
+        long startedAt = System.nanoTime();
+        Long rows = readOnlyTransaction.execute(status -> {
+            try (Stream<T> stream = query.get()) {
+                return format == ExportFormat.CSV
+                        ? writeCsv(stream.iterator(), columns, output)
+                        : writeNdjson(stream.iterator(), output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Export {} ({}) selesai: {} baris dalam {} ms",
+                name, format, rows, (System.nanoTime() - startedAt) / 1_000_000);
+        return rows;
+    }
+    
+    private long writeNdjson(Iterator<?> rows, OutputStream output) throws IOException {
+        long count = 0;
+        try (SequenceWriter sequence = ndjsonWriter.writeValues(output)) {
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+                count++;
+            }
+        }
+        if (count > 0) {
+            output.write('\n');
+        }
+        output.flush();
+        return count;
+    }
+    
+    private <T> long writeCsv(Iterator<T> rows, List<Column<T>> columns, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        for (int i = 0; i < columns.size(); i++) {
+            writer.write(i == 0 ? "" : ",");
+            writer.write(columns.get(i).header());
+        }
+        writer.write("\r\n");
+        
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvField(writer, columns.get(i).value().apply(row));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+    
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    private record Column<T>(String header, Function<T, Object> value) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.event.StockChangedEvent;
+import com.example.inventoryexample.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Daftar stok rendah dan stok habis yang disimpan di memori.
+ * 
+ * Kondisi quantity <= minimumStock membandingkan dua kolom sehingga tidak bisa dilayani index
+ * biasa; tanpa registry ini setiap polling layar staff menjadi full table scan. Registry diisi
+ * sekali dari database saat aplikasi siap, lalu diperbarui per produk setelah transaksi yang
+ * mengubah stok/produk berhasil commit. Sinkronisasi penuh berkala menutup perubahan yang
+ * dilakukan node aplikasi lain. Hasil baca database yang selesai tidak berurutan diterapkan
+ * sesuai urutan perubahannya lewat {@link RefreshVersions}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LowStockRegistry {
+    
+    // Produk dengan rasio quantity / minimumStock terkecil berada di urutan teratas
+    private static final Comparator<StockDto> BY_SHORTFALL = Comparator
+            .comparingDouble(LowStockRegistry::shortfallRatio)
+            .thenComparing(StockDto::getQuantity)
+            .thenComparing(StockDto::getProductId);
+    
+    private final StockRepository stockRepository;
+    
+    // Hanya berisi stok rendah atau habis, dengan key productId
+    private final Map<Long, StockDto> entries = new ConcurrentHashMap<>();
+    
+    // Dilindungi oleh monitor registry
+    private final RefreshVersions versions = new RefreshVersions();
+    
+    private volatile List<StockDto> sortedSnapshot;
+    private volatile boolean initialized;
+    
+    public List<StockDto> getLowStocks() {
+        return snapshot().stream()
+                .filter(stock -> Boolean.TRUE.equals(stock.getIsLowStock()))
+                .toList();
+    }
+    
+    public List<StockDto> getOutOfStocks() {
+        return snapshot().stream()
+                .filter(stock -> stock.getQuantity() != null && stock.getQuantity() == 0)
+                .toList();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reloadAll();
+    }
+    
+    @Scheduled(fixedDelayString = "${inventory.low-stock.resync-interval:PT5M}",
+               initialDelayString = "${inventory.low-stock.resync-interval:PT5M}")
+    public void resync() {
+        reloadAll();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        refresh(event.getProductIds());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            long ticket = versions.next();
+            synchronized (this) {
+                event.getProductIds().stream()
+                        .filter(productId -> versions.claim(productId, ticket))
+                        .forEach(entries::remove);
+                sortedSnapshot = null;
+            }
+        } else {
+            refresh(event.getProductIds());
+        }
+    }
+    
+    private List<StockDto> snapshot() {
+        if (!initialized) {
+            reloadAll();
+        }
+        List<StockDto> snapshot = sortedSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = sortedSnapshot;
+                if (snapshot == null) {
+                    snapshot = entries.values().stream().sorted(BY_SHORTFALL).toList();
+                    sortedSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+    
+    private void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        long ticket = versions.next();
+        Map<Long, StockDto> current = stockRepository.findDtosByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(StockDto::getProductId, Function.identity()));
+        synchronized (this) {
+            for (Long productId : productIds) {
+                if (!versions.claim(productId, ticket)) {
+                    continue;
+                }
+                StockDto stock = current.get(productId);
+                if (stock != null && isTracked(stock)) {
+                    entries.put(productId, stock);
+                } else {
+                    entries.remove(productId);
+                }
+            }
+            sortedSnapshot = null;
+        }
+    }
+    
+    private synchronized void reloadAll() {
+        long ticket = versions.next();
+        Map<Long, StockDto> fresh = new ConcurrentHashMap<>();
+        stockRepository.findLowOrOutOfStockDtos()
+                .forEach(stock -> fresh.put(stock.getProductId(), stock));
+        entries.clear();
+        entries.putAll(fresh);
+        versions.reset(ticket);
+        sortedSnapshot = null;
+        initialized = true;
+        log.debug("Low-stock registry dimuat ulang: {} produk", fresh.size());
+    }
+    
+    private static boolean isTracked(StockDto stock) {
+        return Boolean.TRUE.equals(stock.getIsLowStock())
+                || (stock.getQuantity() != null && stock.getQuantity() == 0);
+    }
+    
+    private static double shortfallRatio(StockDto stock) {
+        if (stock.getMinimumStock() == null || stock.getMinimumStock() == 0) {
+            return 0.0;
+        }
+        return (double) stock.getQuantity() / stock.getMinimumStock();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.PasswordVerificationProperties;
+import com.example.inventoryexample.config.ServerTiming;
+import com.example.inventoryexample.dto.PasswordVerifierStatsDto;
+import com.example.inventoryexample.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Menjalankan verifikasi hash password (BCrypt) di pool thread berukuran sebanyak CPU.
+ *
+ * Hashing murni memakai CPU, jadi menjalankannya di lebih banyak thread daripada core hanya
+ * memperlambat semua login. Permintaan berlebih menunggu di antrean terbatas; bila antrean
+ * penuh atau waktu tunggu habis, login langsung ditolak dengan {@link ServiceBusyException}
+ * (503) alih-alih menumpuk di thread servlet.
+ *
+ * Metrics: timer inventory.password.verification (durasi hashing) dan
+ * inventory.password.verification.wait (antre sebelum hashing), counter
+ * inventory.password.verification.rejected, serta gauge kedalaman antrean.
+ */
+@Component
+public class PasswordVerifier {
+    
+    private static final String BUSY_MESSAGE = "Server sedang sibuk memproses login. Coba lagi beberapa saat lagi";
+    private static final long RETRY_AFTER_SECONDS = 1;
+    
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutNanos;
+    
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    
+    private final Timer hashTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+    
+    public PasswordVerifier(PasswordEncoder passwordEncoder, PasswordVerificationProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = properties.getQueueCapacity();
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        this.hashTimer = Timer.builder("inventory.password.verification")
+                .description("Durasi verifikasi hash password")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("inventory.password.verification.wait")
+                .description("Waktu tunggu di antrean sebelum hashing")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("inventory.password.verification.rejected")
+                .description("Login yang ditolak karena pool verifikasi penuh atau timeout")
+                .register(meterRegistry);
+        Gauge.builder("inventory.password.verification.queue", executor, pool -> pool.getQueue().size())
+                .description("Verifikasi yang sedang menunggu di antrean")
+                .register(meterRegistry);
+        Gauge.builder("inventory.password.verification.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Thread yang sedang melakukan hashing")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Sama seperti {@link PasswordEncoder#matches}, tetapi dijalankan di pool verifikasi.
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // Termasuk waktu antre, dicatat sebagai fase auth di Server-Timing
+        return ServerTiming.measure(ServerTiming.Phase.AUTH, () -> verify(rawPassword, encodedPassword));
+    }
+    
+    private boolean verify(CharSequence rawPassword, String encodedPassword) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return passwordEncoder.matches(rawPassword, encodedPassword);
+                } finally {
+                    record(startedAt - submittedAt, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reject();
+            throw new ServiceBusyException(BUSY_MESSAGE, RETRY_AFTER_SECONDS);
+        }
+        
+        try {
+            return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            reject();
+            throw new ServiceBusyException(BUSY_MESSAGE, RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(BUSY_MESSAGE, RETRY_AFTER_SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    public PasswordVerifierStatsDto getStats() {
+        long count = completed.sum();
+        return new PasswordVerifierStatsDto(
+                executor.getCorePoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                count,
+                rejected.sum(),
+                count == 0 ? 0 : toMillis(totalWaitNanos.sum()) / count,
+                count == 0 ? 0 : toMillis(totalHashNanos.sum()) / count,
+                toMillis(maxHashNanos.get()));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private void reject() {
+        rejected.increment();
+        rejectedCounter.increment();
+    }
+    
+    private void record(long waitNanos, long hashNanos) {
+        completed.increment();
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        hashTimer.record(hashNanos, TimeUnit.NANOSECONDS);
+        totalWaitNanos.add(waitNanos);
+        totalHashNanos.add(hashNanos);
+        maxHashNanos.accumulateAndGet(hashNanos, Math::max);
+    }
+    
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
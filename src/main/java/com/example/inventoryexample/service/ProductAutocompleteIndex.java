@@ -0,0 +1,203 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.ProductSuggestionDto;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index awalan (prefix) nama dan SKU produk untuk saran autocomplete.
+ *
+ * Nama dan SKU yang sudah dinormalisasi disimpan sebagai kunci terurut di
+ * ConcurrentSkipListMap, sehingga saran untuk satu awalan cukup dibaca dari rentang kunci
+ * yang diawali awalan tersebut tanpa menyentuh database. Pembacaan tidak memakai lock;
+ * perubahan diterapkan setelah commit lewat ProductChangedEvent dan index dibangun ulang
+ * berkala bersama index pencarian.
+ */
+@Slf4j
+@Component
+public class ProductAutocompleteIndex {
+
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Object writeLock = new Object();
+    // Dilindungi oleh writeLock
+    private final RefreshVersions versions = new RefreshVersions();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean initialized;
+    private volatile Generation generation = new Generation();
+
+    public ProductAutocompleteIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Produk yang nama atau SKU-nya diawali prefix, urut abjad, maksimal limit.
+     */
+    public List<ProductSuggestionDto> suggest(String prefix, int limit) {
+        String normalized = ProductSearchIndex.normalize(prefix).trim();
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (!initialized) {
+            rebuild();
+        }
+
+        NavigableMap<String, ProductSuggestionDto> range =
+                generation.entries.subMap(normalized, true, normalized + '\uffff', false);
+        // Produk yang cocok lewat nama dan SKU sekaligus hanya muncul sekali
+        Map<Long, ProductSuggestionDto> suggestions = new LinkedHashMap<>();
+        for (ProductSuggestionDto suggestion : range.values()) {
+            suggestions.putIfAbsent(suggestion.getId(), suggestion);
+            if (suggestions.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(suggestions.values());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.search.resync-interval:PT15M}",
+               initialDelayString = "${inventory.search.resync-interval:PT15M}")
+    public void resync() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getProductIds());
+        }
+        if (event.isDeleted()) {
+            long ticket = versions.next();
+            synchronized (writeLock) {
+                event.getProductIds().stream()
+                        .filter(productId -> versions.claim(productId, ticket))
+                        .forEach(generation::remove);
+            }
+        } else {
+            refresh(event.getProductIds());
+        }
+    }
+
+    private void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        long ticket = versions.next();
+        Map<Long, ProductSuggestionDto> current = productRepository.findSuggestionsByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductSuggestionDto::getId, Function.identity()));
+        synchronized (writeLock) {
+            for (Long productId : productIds) {
+                if (!versions.claim(productId, ticket)) {
+                    continue;
+                }
+                // Produk yang tidak ditemukan lagi sudah dihapus oleh transaksi lain
+                generation.remove(productId);
+                ProductSuggestionDto product = current.get(productId);
+                if (product != null) {
+                    generation.add(product);
+                }
+            }
+        }
+    }
+
+    /**
+     * Membangun index baru dari database tanpa memblokir saran, lalu menukarnya.
+     * Perubahan yang masuk selama proses ini dimuat ulang setelah penukaran.
+     */
+    synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        long ticket = versions.next();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        Generation fresh = new Generation();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductSuggestionDto> products = productRepository.streamAllSuggestions()) {
+                    products.forEach(fresh::add);
+                }
+            });
+            synchronized (writeLock) {
+                generation = fresh;
+                versions.reset(ticket);
+                initialized = true;
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Long> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            refresh(changed);
+        }
+        log.info("Index autocomplete produk dibangun: {} produk dalam {} ms",
+                fresh.byId.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static final class Generation {
+
+        // Kunci: teks ternormalisasi + pemisah + ID, agar nama yang sama tetap unik
+        private final ConcurrentSkipListMap<String, ProductSuggestionDto> entries = new ConcurrentSkipListMap<>();
+        private final Map<Long, ProductSuggestionDto> byId = new ConcurrentHashMap<>();
+
+        void add(ProductSuggestionDto suggestion) {
+            remove(suggestion.getId());
+            byId.put(suggestion.getId(), suggestion);
+            for (String key : keys(suggestion)) {
+                entries.put(key, suggestion);
+            }
+        }
+
+        void remove(Long productId) {
+            ProductSuggestionDto previous = byId.remove(productId);
+            if (previous != null) {
+                for (String key : keys(previous)) {
+                    entries.remove(key);
+                }
+            }
+        }
+
+        private static List<String> keys(ProductSuggestionDto suggestion) {
+            List<String> keys = new ArrayList<>(2);
+            for (String text : new String[]{suggestion.getName(), suggestion.getSku()}) {
+                String normalized = ProductSearchIndex.normalize(text).trim();
+                if (!normalized.isEmpty()) {
+                    keys.add(normalized + ID_SEPARATOR + suggestion.getId());
+                }
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.FacetCountDto;
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.event.StockChangedEvent;
+import com.example.inventoryexample.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntConsumer;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index bitmap (Roaring) untuk filter faset produk di memori.
+ *
+ * Setiap kategori, supplier dan status stok (punya stok, stok rendah, stok habis) memiliki
+ * satu bitmap terkompresi berisi ID produk. Filter dievaluasi dengan OR di dalam satu dimensi,
+ * AND antar dimensi dan ANDNOT untuk pengecualian; jumlah per faset dihitung dengan
+ * andCardinality tanpa membentuk bitmap hasil. Index mengikuti ProductChangedEvent dan
+ * StockChangedEvent setelah commit, lalu dibangun ulang berkala untuk perubahan dari node lain.
+ *
+ * ID produk disimpan sebagai int di bitmap, sehingga ID di atas {@value #MAX_PRODUCT_ID}
+ * tidak didukung. Memori index mengikuti jumlah produk, bukan ID terbesar.
+ */
+@Slf4j
+@Component
+public class ProductBitmapIndex {
+
+    static final int MAX_PRODUCT_ID = Integer.MAX_VALUE;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean initialized;
+
+    // Dilindungi oleh lock
+    private final RefreshVersions versions = new RefreshVersions();
+    private Bitmaps bitmaps = new Bitmaps();
+
+    public ProductBitmapIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Kombinasi filter. Koleksi kosong atau null berarti dimensi tersebut tidak difilter;
+     * flag stok true berarti hanya status itu, false berarti produk berstok selain status itu.
+     */
+    public record FacetFilter(Collection<Long> categoryIds, Collection<Long> supplierIds,
+                              Boolean lowStock, Boolean outOfStock) {
+    }
+
+    /**
+     * Satu halaman ID produk (ID terbesar lebih dulu), total hasil, dan jumlah per faset.
+     */
+    public record FacetResult(List<Long> productIds, long totalItems,
+                              List<FacetCountDto> categoryFacets, List<FacetCountDto> supplierFacets) {
+    }
+
+    public FacetResult query(FacetFilter filter, int offset, int limit) {
+        if (!initialized) {
+            rebuild();
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap stockMatch = bitmaps.stockMatch(filter.lowStock(), filter.outOfStock());
+            RoaringBitmap categoryMatch = bitmaps.categories.union(filter.categoryIds());
+            RoaringBitmap supplierMatch = bitmaps.suppliers.union(filter.supplierIds());
+
+            // Faset kategori memakai semua filter kecuali filter kategori, begitu juga supplier
+            RoaringBitmap forCategoryFacets = and(stockMatch, supplierMatch);
+            RoaringBitmap forSupplierFacets = and(stockMatch, categoryMatch);
+            RoaringBitmap matches = and(forCategoryFacets, categoryMatch);
+            if (matches == null) {
+                matches = bitmaps.all;
+            }
+
+            return new FacetResult(page(matches, offset, limit), matches.getLongCardinality(),
+                    bitmaps.categories.facets(forCategoryFacets),
+                    bitmaps.suppliers.facets(forSupplierFacets));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.facets.resync-interval:PT5M}",
+               initialDelayString = "${inventory.facets.resync-interval:PT5M}")
+    public void resync() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getProductIds());
+        }
+        if (event.isDeleted()) {
+            long ticket = versions.next();
+            lock.writeLock().lock();
+            try {
+                event.getProductIds().stream()
+                        .filter(productId -> versions.claim(productId, ticket))
+                        .forEach(bitmaps::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else {
+            refresh(event.getProductIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getProductIds());
+        }
+        refresh(event.getProductIds());
+    }
+
+    private void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        long ticket = versions.next();
+        Map<Long, ProductDto> current = productRepository.findDtosByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                if (!versions.claim(productId, ticket)) {
+                    continue;
+                }
+                // Produk yang tidak ditemukan lagi sudah dihapus oleh transaksi lain
+                bitmaps.remove(productId);
+                ProductDto product = current.get(productId);
+                if (product != null) {
+                    bitmaps.add(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Membangun bitmap baru dari database tanpa memblokir query, lalu menukarnya.
+     * Perubahan yang masuk selama proses ini dimuat ulang setelah penukaran.
+     */
+    synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        long ticket = versions.next();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        Bitmaps fresh = new Bitmaps();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductDto> products = productRepository.streamAllDtos()) {
+                    products.forEach(fresh::add);
+                }
+            });
+            fresh.optimize();
+
+            lock.writeLock().lock();
+            try {
+                bitmaps = fresh;
+                versions.reset(ticket);
+                initialized = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Long> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            refresh(changed);
+        }
+        log.info("Index bitmap produk dibangun: {} produk, {} kategori, {} supplier, {} byte dalam {} ms",
+                fresh.all.getLongCardinality(), fresh.categories.ids.size(), fresh.suppliers.ids.size(),
+                fresh.sizeInBytes(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    // null berarti "semua", sehingga tidak perlu membentuk bitmap semua produk.
+    // Hasil bisa berupa bitmap milik index, jadi tidak boleh diubah oleh pemanggil.
+    private static RoaringBitmap and(RoaringBitmap left, RoaringBitmap right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null ? left : RoaringBitmap.and(left, right);
+    }
+
+    private static List<Long> page(RoaringBitmap matches, int offset, int limit) {
+        long cardinality = matches.getLongCardinality();
+        List<Long> ids = new ArrayList<>(limit);
+        for (long rank = cardinality - 1 - offset; rank >= 0 && ids.size() < limit; rank--) {
+            ids.add((long) matches.select((int) rank));
+        }
+        return ids;
+    }
+
+    private static int key(Long productId) {
+        if (productId == null || productId < 0 || productId > MAX_PRODUCT_ID) {
+            throw new IllegalStateException("ID produk " + productId + " tidak valid untuk index bitmap");
+        }
+        return (int) productId.longValue();
+    }
+
+    private static final class Bitmaps {
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final RoaringBitmap stocked = new RoaringBitmap();
+        private final RoaringBitmap lowStock = new RoaringBitmap();
+        private final RoaringBitmap outOfStock = new RoaringBitmap();
+        private final Dimension categories = new Dimension();
+        private final Dimension suppliers = new Dimension();
+
+        void add(ProductDto product) {
+            int key = key(product.getId());
+            all.add(key);
+            categories.add(key, product.getCategoryId(), product.getCategoryName());
+            suppliers.add(key, product.getSupplierId(), product.getSupplierName());
+
+            // Sama dengan Stock.isLowStock(): quantity <= minimumStock
+            if (product.getStockQuantity() != null) {
+                stocked.add(key);
+                if (Boolean.TRUE.equals(product.getIsLowStock())) {
+                    lowStock.add(key);
+                }
+                if (product.getStockQuantity() == 0) {
+                    outOfStock.add(key);
+                }
+            }
+        }
+
+        void remove(Long productId) {
+            int key = key(productId);
+            if (!all.checkedRemove(key)) {
+                return;
+            }
+            stocked.remove(key);
+            lowStock.remove(key);
+            outOfStock.remove(key);
+            categories.remove(key);
+            suppliers.remove(key);
+        }
+
+        RoaringBitmap stockMatch(Boolean low, Boolean out) {
+            RoaringBitmap match = null;
+            if (low != null) {
+                match = low ? lowStock : RoaringBitmap.andNot(stocked, lowStock);
+            }
+            if (out != null) {
+                match = and(match, out ? outOfStock : RoaringBitmap.andNot(stocked, outOfStock));
+            }
+            return match;
+        }
+
+        void optimize() {
+            for (RoaringBitmap bitmap : List.of(all, stocked, lowStock, outOfStock)) {
+                bitmap.runOptimize();
+            }
+            categories.bitmaps.forEach(RoaringBitmap::runOptimize);
+            suppliers.bitmaps.forEach(RoaringBitmap::runOptimize);
+        }
+
+        long sizeInBytes() {
+            long bytes = all.getLongSizeInBytes() + stocked.getLongSizeInBytes()
+                    + lowStock.getLongSizeInBytes() + outOfStock.getLongSizeInBytes();
+            return bytes + categories.sizeInBytes() + suppliers.sizeInBytes();
+        }
+    }
+
+    /**
+     * Satu dimensi faset (kategori atau supplier): bitmap per nilai untuk filter, ditambah
+     * slot per ID produk untuk menghitung faset dengan satu kali iterasi hasil filter.
+     * Menghitung lewat andCardinality per nilai menjadi lambat saat nilainya ratusan.
+     */
+    private static final class Dimension {
+
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final List<Long> ids = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<RoaringBitmap> bitmaps = new ArrayList<>();
+        private final SlotColumn slotByProduct = new SlotColumn();
+
+        void add(int productKey, Long id, String name) {
+            Integer slot = slotById.get(id);
+            if (slot == null) {
+                slot = ids.size();
+                slotById.put(id, slot);
+                ids.add(id);
+                names.add(name);
+                bitmaps.add(new RoaringBitmap());
+            } else {
+                names.set(slot, name);
+            }
+            bitmaps.get(slot).add(productKey);
+            slotByProduct.put(productKey, slot);
+        }
+
+        void remove(int productKey) {
+            int slot = slotByProduct.remove(productKey);
+            if (slot != SlotColumn.ABSENT) {
+                bitmaps.get(slot).remove(productKey);
+            }
+        }
+
+        RoaringBitmap union(Collection<Long> filterIds) {
+            if (filterIds == null || filterIds.isEmpty()) {
+                return null;
+            }
+            RoaringBitmap union = new RoaringBitmap();
+            for (Long id : filterIds) {
+                Integer slot = slotById.get(id);
+                if (slot != null) {
+                    union.or(bitmaps.get(slot));
+                }
+            }
+            return union;
+        }
+
+        List<FacetCountDto> facets(RoaringBitmap filter) {
+            long[] counts = new long[ids.size()];
+            if (filter == null) {
+                for (int slot = 0; slot < counts.length; slot++) {
+                    counts[slot] = bitmaps.get(slot).getLongCardinality();
+                }
+            } else {
+                filter.forEach((IntConsumer) productKey -> counts[slotByProduct.get(productKey)]++);
+            }
+
+            List<FacetCountDto> facets = new ArrayList<>();
+            for (int slot = 0; slot < counts.length; slot++) {
+                if (counts[slot] > 0) {
+                    facets.add(new FacetCountDto(ids.get(slot), names.get(slot), counts[slot]));
+                }
+            }
+            facets.sort(Comparator.comparing(FacetCountDto::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+            return facets;
+        }
+
+        long sizeInBytes() {
+            long bytes = slotByProduct.sizeInBytes();
+            for (RoaringBitmap bitmap : bitmaps) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Tabel hash open addressing (linear probing) dari ID produk ke slot faset, dengan key dan
+     * nilai int primitif. Kapasitasnya mengikuti jumlah produk, sehingga celah ID dari sequence
+     * pooled atau ID yang sangat besar tidak membuat memori membengkak seperti array per ID.
+     */
+    private static final class SlotColumn {
+
+        static final int ABSENT = -1;
+        // ID produk selalu >= 0, jadi -1 aman sebagai penanda sel kosong
+        private static final int EMPTY = -1;
+
+        private int[] keys = emptyKeys(16);
+        private int[] slots = new int[16];
+        private int size;
+
+        int get(int productKey) {
+            int mask = keys.length - 1;
+            for (int i = hash(productKey) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == productKey) {
+                    return slots[i];
+                }
+            }
+            return ABSENT;
+        }
+
+        void put(int productKey, int slot) {
+            // Load factor maksimal 0,5 agar rantai probing tetap pendek
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = hash(productKey) & mask;
+            while (keys[i] != EMPTY && keys[i] != productKey) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                keys[i] = productKey;
+                size++;
+            }
+            slots[i] = slot;
+        }
+
+        int remove(int productKey) {
+            int mask = keys.length - 1;
+            int gap = hash(productKey) & mask;
+            while (keys[gap] != productKey) {
+                if (keys[gap] == EMPTY) {
+                    return ABSENT;
+                }
+                gap = (gap + 1) & mask;
+            }
+            int removed = slots[gap];
+
+            // Backward shift: entri setelahnya yang masih bisa dijangkau dari posisi hash-nya
+            // dipindah ke celah, sehingga tidak perlu tombstone
+            for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                int home = hash(keys[i]) & mask;
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    slots[gap] = slots[i];
+                    gap = i;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return removed;
+        }
+
+        long sizeInBytes() {
+            return 2L * keys.length * Integer.BYTES;
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldSlots = slots;
+            keys = emptyKeys(capacity);
+            slots = new int[capacity];
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != EMPTY) {
+                    int i = hash(oldKeys[j]) & mask;
+                    while (keys[i] != EMPTY) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    slots[i] = oldSlots[j];
+                }
+            }
+        }
+
+        private static int[] emptyKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        // ID berurutan tersebar ke seluruh tabel (Fibonacci hashing)
+        private static int hash(int productKey) {
+            int h = productKey * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.ProductImportProperties;
+import com.example.inventoryexample.dto.ProductImportErrorDto;
+import com.example.inventoryexample.dto.ProductImportResultDto;
+import com.example.inventoryexample.entity.Category;
+import com.example.inventoryexample.entity.Product;
+import com.example.inventoryexample.entity.Stock;
+import com.example.inventoryexample.entity.Supplier;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.repository.CategoryRepository;
+import com.example.inventoryexample.repository.SupplierRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import produk massal dari file CSV.
+ *
+ * File dibaca per baris, kategori dan supplier dicocokkan berdasarkan nama melalui cache
+ * yang dimuat sekali per import, lalu produk disimpan per batch dalam transaksi terpisah.
+ * Baris yang tidak valid dilewati dan dilaporkan tanpa menggagalkan baris lainnya. Bila file
+ * rusak di tengah jalan (mis. tanda kutip tidak ditutup), record itu dilaporkan sebagai baris
+ * gagal, baris valid sebelumnya tetap disimpan dan import berhenti dengan status aborted.
+ *
+ * Kolom header (urutan bebas, tidak membedakan huruf besar/kecil):
+ * name, price, category, supplier wajib; description, quantity, minimumStock opsional.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "price", "category", "supplier");
+    private static final int PROGRESS_LOG_INTERVAL_BATCHES = 10;
+
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final SkuAllocator skuAllocator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductImportProperties importProperties;
+
+    public ProductImportResultDto importCsv(InputStream input) {
+        long startedAt = System.nanoTime();
+        ProductImportResultDto result = new ProductImportResultDto();
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+
+        Map<String, Category> categories = indexByName(categoryRepository.findAll(), Category::getName);
+        Map<String, Supplier> suppliers = indexByName(supplierRepository.findAll(), Supplier::getName);
+
+        try (CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(input, StandardCharsets.UTF_8),
+                importProperties.getMaxFieldLength())) {
+            Map<String, Integer> columns = readHeader(reader);
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            int batches = 0;
+
+            try {
+                List<String> record;
+                while ((record = reader.next()) != null) {
+                    if (record.size() == 1 && record.get(0).isBlank()) {
+                        continue;
+                    }
+                    result.setTotalRows(result.getTotalRows() + 1);
+
+                    ImportRow row = parseRow(reader.getRecordLineNumber(), record, columns, categories, suppliers, result);
+                    if (row != null) {
+                        batch.add(row);
+                    }
+                    if (batch.size() == batchSize) {
+                        writeBatch(batch, result);
+                        batch.clear();
+                        if (++batches % PROGRESS_LOG_INTERVAL_BATCHES == 0) {
+                            logProgress(result, startedAt);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Posisi baca setelah record rusak tidak bisa dipercaya, jadi sisa file dilewati
+                log.warn("Import produk dihentikan pada baris {}: {}", reader.getRecordLineNumber(), e.getMessage());
+                result.setTotalRows(result.getTotalRows() + 1);
+                result.setAborted(true);
+                reject(result, reader.getRecordLineNumber(), "Import dihentikan: " + e.getMessage());
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menutup file CSV: " + e.getMessage(), e);
+        }
+
+        result.setDurationMillis((System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Import produk {}: {} baris, {} tersimpan, {} gagal dalam {} ms",
+                result.isAborted() ? "dihentikan" : "selesai",
+                result.getTotalRows(), result.getImportedRows(), result.getFailedRows(), result.getDurationMillis());
+        return result;
+    }
+
+    private Map<String, Integer> readHeader(CsvRecordReader reader) {
+        List<String> header;
+        try {
+            header = reader.next();
+        } catch (IOException e) {
+            throw new RuntimeException("File CSV tidak valid: " + e.getMessage(), e);
+        }
+        if (header == null) {
+            throw new RuntimeException("File CSV tidak valid: file kosong");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(normalize(header.get(i)), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(normalize(column)))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Header CSV tidak valid, kolom wajib belum ada: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private ImportRow parseRow(int lineNumber, List<String> record, Map<String, Integer> columns,
+                               Map<String, Category> categories, Map<String, Supplier> suppliers,
+                               ProductImportResultDto result) {
+        String name = field(record, columns, "name");
+        if (name.isEmpty() || name.length() > 255) {
+            return reject(result, lineNumber, "Nama produk kosong atau lebih dari 255 karakter");
+        }
+
+        String description = field(record, columns, "description");
+        if (description.length() > 1000) {
+            return reject(result, lineNumber, "Deskripsi lebih dari 1000 karakter");
+        }
+
+        BigDecimal price;
+        try {
+            price = new BigDecimal(field(record, columns, "price"));
+        } catch (NumberFormatException e) {
+            price = null;
+        }
+        if (price == null || price.signum() <= 0) {
+            return reject(result, lineNumber, "Harga '" + field(record, columns, "price") + "' tidak valid");
+        }
+
+        String categoryName = field(record, columns, "category");
+        Category category = categories.get(normalize(categoryName));
+        if (category == null) {
+            return reject(result, lineNumber, "Kategori '" + categoryName + "' tidak ditemukan");
+        }
+
+        String supplierName = field(record, columns, "supplier");
+        Supplier supplier = suppliers.get(normalize(supplierName));
+        if (supplier == null) {
+            return reject(result, lineNumber, "Supplier '" + supplierName + "' tidak ditemukan");
+        }
+
+        Integer quantity = parseCount(field(record, columns, "quantity"), 0);
+        if (quantity == null) {
+            return reject(result, lineNumber, "Jumlah stok '" + field(record, columns, "quantity") + "' tidak valid");
+        }
+        Integer minimumStock = parseCount(field(record, columns, "minimumStock"), 10);
+        if (minimumStock == null) {
+            return reject(result, lineNumber, "Minimum stok '" + field(record, columns, "minimumStock") + "' tidak valid");
+        }
+
+        return new ImportRow(lineNumber, name, description.isEmpty() ? null : description, price,
+                category, supplier.getId(), quantity, minimumStock);
+    }
+
+    private void writeBatch(List<ImportRow> rows, ProductImportResultDto result) {
+        try {
+            List<Long> productIds = transactionTemplate.execute(status -> {
+                List<Long> ids = new ArrayList<>(rows.size());
+                for (ImportRow row : rows) {
+                    Product product = row.toProduct(
+                            skuAllocator.allocate(row.category()),
+                            entityManager.getReference(Category.class, row.category().getId()),
+                            entityManager.getReference(Supplier.class, row.supplierId()));
+                    entityManager.persist(product);
+                    ids.add(product.getId());
+                }
+                // Flush agar pelanggaran constraint gagal di batch ini sebelum event dipublikasikan.
+                // Tanpa open-in-view setiap batch sudah punya persistence context sendiri; clear hanya
+                // menjaga memori tetap kecil bila importCsv dipanggil di dalam transaksi luar
+                entityManager.flush();
+                entityManager.clear();
+                List<Long> categoryIds = rows.stream().map(row -> row.category().getId()).distinct().toList();
+                eventPublisher.publishEvent(new ProductChangedEvent(ids, false, categoryIds));
+                return ids;
+            });
+            result.setImportedRows(result.getImportedRows() + productIds.size());
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Batch import baris {}-{} gagal disimpan: {}",
+                    rows.get(0).lineNumber(), rows.get(rows.size() - 1).lineNumber(), reason);
+            for (ImportRow row : rows) {
+                reject(result, row.lineNumber(), "Gagal disimpan bersama batch-nya: " + reason);
+            }
+        }
+    }
+
+    private ImportRow reject(ProductImportResultDto result, int lineNumber, String message) {
+        result.setFailedRows(result.getFailedRows() + 1);
+        if (result.getErrors().size() < importProperties.getMaxErrors()) {
+            result.getErrors().add(new ProductImportErrorDto(lineNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+        return null;
+    }
+
+    private void logProgress(ProductImportResultDto result, long startedAt) {
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Import produk berjalan: {} baris dibaca, {} tersimpan, {} gagal ({} baris/detik)",
+                result.getTotalRows(), result.getImportedRows(), result.getFailedRows(),
+                result.getTotalRows() * 1000L / elapsedMillis);
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(normalize(column));
+        return index != null && index < record.size() ? record.get(index).trim() : "";
+    }
+
+    private static Integer parseCount(String value, int defaultValue) {
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int count = Integer.parseInt(value);
+            return count >= 0 ? count : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> Map<String, T> indexByName(List<T> entities, Function<T, String> nameOf) {
+        return entities.stream()
+                .collect(Collectors.toMap(entity -> normalize(nameOf.apply(entity)), Function.identity(),
+                        (first, duplicate) -> first));
+    }
+
+    private record ImportRow(int lineNumber, String name, String description, BigDecimal price,
+                             Category category, Long supplierId, int quantity, int minimumStock) {
+
+        Product toProduct(String sku, Category categoryReference, Supplier supplierReference) {
+            Product product = new Product();
+            product.setName(name);
+            product.setSku(sku);
+            product.setDescription(description);
+            product.setPrice(price);
+            product.setCategory(categoryReference);
+            product.setSupplier(supplierReference);
+
+            Stock stock = new Stock();
+            stock.setQuantity(quantity);
+            stock.setMinimumStock(minimumStock);
+            stock.setProduct(product);
+            product.setStock(stock);
+            return product;
+        }
+    }
+}
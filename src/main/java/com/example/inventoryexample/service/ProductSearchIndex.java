@@ -0,0 +1,442 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index pencarian produk berbasis trigram yang disimpan di memori.
+ *
+ * Nama, SKU dan deskripsi dinormalisasi (huruf kecil, selain huruf/angka menjadi spasi) lalu
+ * dipecah menjadi trigram. Setiap trigram menunjuk ke daftar dokumen yang terurut, sehingga
+ * kandidat hasil didapat dari irisan daftar trigram kata kunci tanpa memindai semua produk.
+ * Kandidat diverifikasi dan diberi skor dari yang terbaru; pemindaian berhenti begitu top-K
+ * tidak mungkin lagi berubah, atau setelah {@value #MAX_VERIFIED_CANDIDATES} kandidat untuk
+ * kata kunci yang sangat umum. SKU yang ditulis lengkap selalu berada di urutan pertama.
+ *
+ * Kata kunci minimal 3 karakter dicocokkan sebagai substring; kata kunci 2 karakter
+ * dicocokkan sebagai awalan kata. Index dimuat saat aplikasi siap, diperbarui setelah commit
+ * lewat ProductChangedEvent, dan dibangun ulang berkala untuk menangkap perubahan dari node
+ * lain serta membuang slot dokumen yang sudah dihapus.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final int MIN_QUERY_LENGTH = 2;
+    static final int MAX_VERIFIED_CANDIDATES = 5_000;
+    private static final int WHOLE_WORD_IN_NAME = 30;
+    private static final int NAME_PREFIX_BONUS = 20;
+
+    // Skor terendah di depan; saat skor sama, dokumen yang lebih lama diindeks kalah
+    private static final Comparator<ScoredDoc> WORST_FIRST = Comparator
+            .comparingInt(ScoredDoc::score)
+            .thenComparingInt(ScoredDoc::ordinal);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean initialized;
+
+    // Dilindungi oleh lock
+    private final RefreshVersions versions = new RefreshVersions();
+    private Segment segment = new Segment();
+
+    public ProductSearchIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * ID produk yang cocok dengan kata kunci, diurutkan dari skor tertinggi, maksimal limit.
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query).trim();
+        if (normalized.replace(" ", "").length() < MIN_QUERY_LENGTH || limit <= 0) {
+            return List.of();
+        }
+        if (!initialized) {
+            rebuild();
+        }
+
+        String paddedQuery = " " + normalized + " ";
+        String[] tokens = normalized.split(" ");
+        lock.readLock().lock();
+        try {
+            List<Long> results = new ArrayList<>(Math.min(limit, 64));
+            Integer skuOrdinal = segment.ordinalBySku.get(paddedQuery);
+            if (skuOrdinal != null) {
+                results.add(segment.docs.get(skuOrdinal).productId());
+            }
+
+            PriorityQueue<ScoredDoc> top = segment.topCandidates(tokens, paddedQuery,
+                    limit - results.size(), skuOrdinal == null ? -1 : skuOrdinal);
+            Long[] ranked = new Long[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = segment.docs.get(top.poll().ordinal()).productId();
+            }
+            results.addAll(Arrays.asList(ranked));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.search.resync-interval:PT15M}",
+               initialDelayString = "${inventory.search.resync-interval:PT15M}")
+    public void resync() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getProductIds());
+        }
+        if (event.isDeleted()) {
+            long ticket = versions.next();
+            lock.writeLock().lock();
+            try {
+                event.getProductIds().stream()
+                        .filter(productId -> versions.claim(productId, ticket))
+                        .forEach(segment::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else {
+            refresh(event.getProductIds());
+        }
+    }
+
+    private void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        long ticket = versions.next();
+        Map<Long, ProductDto> current = productRepository.findDtosByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                if (!versions.claim(productId, ticket)) {
+                    continue;
+                }
+                // Produk yang tidak ditemukan lagi sudah dihapus oleh transaksi lain
+                segment.remove(productId);
+                ProductDto product = current.get(productId);
+                if (product != null) {
+                    segment.add(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Membangun index baru dari database tanpa memblokir pencarian, lalu menukarnya.
+     * Perubahan yang masuk selama proses ini dimuat ulang setelah penukaran.
+     */
+    synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        long ticket = versions.next();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        Segment fresh = new Segment();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductDto> products = productRepository.streamAllDtos()) {
+                    products.forEach(fresh::add);
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                segment = fresh;
+                versions.reset(ticket);
+                initialized = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Long> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            refresh(changed);
+        }
+        log.info("Index pencarian produk dibangun: {} produk, {} trigram dalam {} ms",
+                fresh.liveCount, fresh.postings.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static int score(Doc doc, String[] tokens, String paddedQuery) {
+        int score = 0;
+        for (String token : tokens) {
+            int tokenScore = tokenScore(doc, token);
+            if (tokenScore == 0) {
+                return 0;
+            }
+            score += tokenScore;
+        }
+        if (doc.name().startsWith(paddedQuery.substring(0, paddedQuery.length() - 1))) {
+            score += NAME_PREFIX_BONUS;
+        }
+        return score;
+    }
+
+    // Skor tertinggi yang mungkin dicapai satu dokumen untuk kata kunci ini
+    private static int maxScore(String[] tokens) {
+        return tokens.length * WHOLE_WORD_IN_NAME + NAME_PREFIX_BONUS;
+    }
+
+    private static int tokenScore(Doc doc, String token) {
+        String wordPrefix = " " + token;
+        boolean substring = token.length() >= 3;
+        if (doc.name().contains(wordPrefix + " ")) {
+            return WHOLE_WORD_IN_NAME;
+        }
+        if (doc.name().contains(wordPrefix)) {
+            return 20;
+        }
+        if (doc.sku().contains(wordPrefix) || (substring && doc.sku().contains(token))) {
+            return 15;
+        }
+        if (substring && doc.name().contains(token)) {
+            return 10;
+        }
+        if (doc.description().contains(wordPrefix)) {
+            return 5;
+        }
+        if (substring && doc.description().contains(token)) {
+            return 3;
+        }
+        return 0;
+    }
+
+    /**
+     * Huruf kecil, setiap deretan karakter selain huruf/angka menjadi satu spasi, diapit spasi.
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return " ";
+        }
+        StringBuilder normalized = new StringBuilder(text.length() + 2).append(' ');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        if (normalized.charAt(normalized.length() - 1) != ' ') {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    private static long trigram(CharSequence text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private record Doc(long productId, String name, String sku, String description) {
+    }
+
+    private record ScoredDoc(int ordinal, int score) {
+    }
+
+    /**
+     * Satu generasi index. Dokumen yang diubah mendapat slot (ordinal) baru dan slot lamanya
+     * dikosongkan, sehingga daftar posting tetap terurut naik tanpa perlu disisipi.
+     */
+    private static final class Segment {
+
+        private final Map<Long, IntList> postings = new HashMap<>();
+        private final List<Doc> docs = new ArrayList<>();
+        private final Map<Long, Integer> ordinalByProductId = new HashMap<>();
+        private final Map<String, Integer> ordinalBySku = new HashMap<>();
+        private int liveCount;
+
+        void add(ProductDto product) {
+            remove(product.getId());
+            Doc doc = new Doc(product.getId(), normalize(product.getName()),
+                    normalize(product.getSku()), normalize(product.getDescription()));
+            int ordinal = docs.size();
+            docs.add(doc);
+            ordinalByProductId.put(doc.productId(), ordinal);
+            if (!doc.sku().isBlank()) {
+                ordinalBySku.put(doc.sku(), ordinal);
+            }
+            liveCount++;
+
+            for (long key : distinctTrigrams(doc)) {
+                postings.computeIfAbsent(key, k -> new IntList()).add(ordinal);
+            }
+        }
+
+        void remove(Long productId) {
+            Integer ordinal = ordinalByProductId.remove(productId);
+            if (ordinal != null) {
+                ordinalBySku.remove(docs.get(ordinal).sku(), ordinal);
+                docs.set(ordinal, null);
+                liveCount--;
+            }
+        }
+
+        /**
+         * Top-K dokumen yang memuat semua trigram kata kunci. Irisan daftar posting ditelusuri
+         * dari ordinal terbesar (terbaru) tanpa dibentuk utuh lebih dulu.
+         */
+        PriorityQueue<ScoredDoc> topCandidates(String[] tokens, String paddedQuery, int limit, int excludedOrdinal) {
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(Math.max(1, limit), WORST_FIRST);
+            IntList[] lists = postingLists(tokens);
+            if (lists == null || limit <= 0) {
+                return top;
+            }
+
+            int maxScore = maxScore(tokens);
+            int[] upper = new int[lists.length];
+            for (int l = 0; l < lists.length; l++) {
+                upper[l] = lists[l].size;
+            }
+
+            IntList driver = lists[0];
+            int verified = 0;
+            for (int i = driver.size - 1; i >= 0 && verified < MAX_VERIFIED_CANDIDATES; i--) {
+                int ordinal = driver.values[i];
+                if (!containedInOthers(lists, upper, ordinal) || ordinal == excludedOrdinal) {
+                    continue;
+                }
+                Doc doc = docs.get(ordinal);
+                if (doc == null) {
+                    continue;
+                }
+                verified++;
+
+                int score = score(doc, tokens, paddedQuery);
+                if (score == 0) {
+                    continue;
+                }
+                // Kandidat datang dari yang terbaru, jadi saat skor sama yang sudah ada menang
+                if (top.size() < limit) {
+                    top.offer(new ScoredDoc(ordinal, score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.offer(new ScoredDoc(ordinal, score));
+                }
+                if (top.size() == limit && top.peek().score() >= maxScore) {
+                    break;
+                }
+            }
+            return top;
+        }
+
+        // Daftar posting semua trigram kata kunci, terkecil lebih dulu; null jika ada yang kosong
+        private IntList[] postingLists(String[] tokens) {
+            List<IntList> lists = new ArrayList<>();
+            for (String token : tokens) {
+                if (token.length() < 2) {
+                    continue;
+                }
+                // Kata kunci 2 karakter hanya dicari sebagai awalan kata: trigram " xy"
+                String gramSource = token.length() == 2 ? " " + token : token;
+                for (int i = 0; i + 3 <= gramSource.length(); i++) {
+                    IntList list = postings.get(trigram(gramSource, i));
+                    if (list == null) {
+                        return null;
+                    }
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty()) {
+                return null;
+            }
+            lists.sort(Comparator.comparingInt(IntList::size));
+            return lists.toArray(IntList[]::new);
+        }
+
+        // Ordinal diperiksa menurun, jadi batas atas pencarian di tiap daftar ikut menyempit
+        private static boolean containedInOthers(IntList[] lists, int[] upper, int ordinal) {
+            for (int l = 1; l < lists.length; l++) {
+                int found = Arrays.binarySearch(lists[l].values, 0, upper[l], ordinal);
+                if (found < 0) {
+                    upper[l] = -found - 1;
+                    return false;
+                }
+                upper[l] = found;
+            }
+            return true;
+        }
+
+        private static long[] distinctTrigrams(Doc doc) {
+            int total = Math.max(0, doc.name().length() - 2) + Math.max(0, doc.sku().length() - 2)
+                    + Math.max(0, doc.description().length() - 2);
+            long[] keys = new long[total];
+            int count = 0;
+            for (String field : new String[]{doc.name(), doc.sku(), doc.description()}) {
+                for (int i = 0; i + 3 <= field.length(); i++) {
+                    keys[count++] = trigram(field, i);
+                }
+            }
+            Arrays.sort(keys, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinct == 0 || keys[distinct - 1] != keys[i]) {
+                    keys[distinct++] = keys[i];
+                }
+            }
+            return Arrays.copyOf(keys, distinct);
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
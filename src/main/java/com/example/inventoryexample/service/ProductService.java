@@ -1,19 +1,38 @@
 package com.example.inventoryexample.service;
 
+import com.example.inventoryexample.config.ServerTiming;
+import com.example.inventoryexample.dto.FacetCountDto;
 import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.dto.ProductPageDto;
+import com.example.inventoryexample.dto.ProductQueryRequest;
+import com.example.inventoryexample.dto.ProductQueryResultDto;
+import com.example.inventoryexample.dto.ProductSuggestionDto;
 import com.example.inventoryexample.entity.Category;
 import com.example.inventoryexample.entity.Product;
 import com.example.inventoryexample.entity.Stock;
 import com.example.inventoryexample.entity.Supplier;
+import com.example.inventoryexample.event.ProductChangedEvent;
 import com.example.inventoryexample.repository.CategoryRepository;
 import com.example.inventoryexample.repository.ProductRepository;
 import com.example.inventoryexample.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,18 +41,60 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final SupplierRepository supplierRepository;
+    private final SkuAllocator skuAllocator;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductAutocompleteIndex productAutocompleteIndex;
+    private final ProductBitmapIndex productBitmapIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    private static final String NULL_CREATED_AT = "null";
+    public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+    
+    /**
+     * Seluruh katalog sekaligus. Tidak diekspos lewat HTTP (GET /api/products memakai
+     * {@link #getProductPage}); hanya untuk pemakaian internal seperti benchmark pemetaan DTO.
+     */
     @Transactional(readOnly = true)
     public List<ProductDto> getAllProducts() {
-        return productRepository.findAll().stream()
-                .sorted((p1, p2) -> {
-                    if (p1.getCreatedAt() == null && p2.getCreatedAt() == null) return 0;
-                    if (p1.getCreatedAt() == null) return 1;
-                    if (p2.getCreatedAt() == null) return -1;
-                    return p2.getCreatedAt().compareTo(p1.getCreatedAt());
-                })
+        return productRepository.findAllWithDetails().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Mengambil satu halaman produk (terbaru lebih dulu) dengan keyset pagination.
+     * Urutan dan batas halaman dikerjakan database memakai index (created_at, id),
+     * sehingga biaya per halaman tidak bergantung pada jumlah total produk.
+     */
+    @Transactional(readOnly = true)
+    public ProductPageDto getProductPage(Integer size, String cursor) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Ambil satu baris lebih untuk mengetahui apakah masih ada halaman berikutnya
+        Limit limit = Limit.of(pageSize + 1);
+        
+        List<Product> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findFirstPage(limit);
+        } else {
+            ProductCursor position = decodeCursor(cursor);
+            products = position.createdAt() == null
+                    ? productRepository.findUndatedPageAfter(position.id(), limit)
+                    : productRepository.findPageAfter(position.createdAt(), position.id(), limit);
+        }
+        
+        boolean hasMore = products.size() > pageSize;
+        List<Product> page = hasMore ? products.subList(0, pageSize) : products;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        
+        List<ProductDto> items = page.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        return new ProductPageDto(items, pageSize, nextCursor, hasMore);
     }
     
     @Transactional(readOnly = true)
@@ -43,11 +104,79 @@ public class ProductService {
         return convertToDto(product);
     }
     
+    /**
+     * Mencari produk berdasarkan nama, SKU atau deskripsi lewat {@link ProductSearchIndex}.
+     * Hasil sudah diurutkan berdasarkan relevansi; database hanya dipakai untuk memuat
+     * paling banyak limit baris berdasarkan ID.
+     */
     @Transactional(readOnly = true)
-    public List<ProductDto> searchProductsByName(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public List<ProductDto> searchProducts(String query, Integer limit) {
+        int size = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (size < 1 || size > MAX_SEARCH_LIMIT) {
+            throw new RuntimeException("Limit pencarian " + limit + " tidak valid (1-" + MAX_SEARCH_LIMIT + ")");
+        }
+        
+        return findDtosInOrder(productSearchIndex.search(query, size));
+    }
+    
+    /**
+     * Daftar produk dengan kombinasi filter teks, kategori, supplier, rentang harga dan status
+     * stok, diurutkan dari ID terbesar, beserta jumlah produk per kategori dan per supplier.
+     * Filter yang hanya memakai kategori, supplier dan status stok dilayani dari
+     * {@link ProductBitmapIndex}; filter teks atau harga dijalankan sebagai query database.
+     */
+    @Transactional(readOnly = true)
+    public ProductQueryResultDto queryProducts(ProductQueryRequest request) {
+        int page = request.getPage() == null ? 0 : Math.max(0, request.getPage());
+        int size = request.getSize() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new RuntimeException("Rentang harga tidak valid: minPrice lebih besar dari maxPrice");
+        }
+        
+        String pattern = toLikePattern(request.getQ());
+        if (pattern == null && request.getMinPrice() == null && request.getMaxPrice() == null) {
+            return queryProductsFromBitmaps(request, page, size);
+        }
+        
+        Page<ProductDto> result = productRepository.findDtosByFilter(pattern, request.getCategoryId(),
+                request.getSupplierId(), request.getMinPrice(), request.getMaxPrice(), request.getLowStock(),
+                request.getOutOfStock(), PageRequest.of(page, size));
+        List<FacetCountDto> categoryFacets = productRepository.countByCategoryForFilter(pattern,
+                request.getSupplierId(), request.getMinPrice(), request.getMaxPrice(), request.getLowStock(),
+                request.getOutOfStock());
+        List<FacetCountDto> supplierFacets = productRepository.countBySupplierForFilter(pattern,
+                request.getCategoryId(), request.getMinPrice(), request.getMaxPrice(), request.getLowStock(),
+                request.getOutOfStock());
+        
+        return new ProductQueryResultDto(result.getContent(), page, size, result.getTotalElements(),
+                result.getTotalPages(), categoryFacets, supplierFacets);
+    }
+    
+    private ProductQueryResultDto queryProductsFromBitmaps(ProductQueryRequest request, int page, int size) {
+        ProductBitmapIndex.FacetFilter filter = new ProductBitmapIndex.FacetFilter(
+                request.getCategoryId() == null ? null : List.of(request.getCategoryId()),
+                request.getSupplierId() == null ? null : List.of(request.getSupplierId()),
+                request.getLowStock(), request.getOutOfStock());
+        int offset = (int) Math.min(Integer.MAX_VALUE, (long) page * size);
+        ProductBitmapIndex.FacetResult result = productBitmapIndex.query(filter, offset, size);
+        
+        List<ProductDto> items = findDtosInOrder(result.productIds());
+        int totalPages = (int) ((result.totalItems() + size - 1) / size);
+        return new ProductQueryResultDto(items, page, size, result.totalItems(), totalPages,
+                result.categoryFacets(), result.supplierFacets());
+    }
+    
+    /**
+     * Saran autocomplete berdasarkan awalan nama atau SKU, dilayani sepenuhnya dari
+     * {@link ProductAutocompleteIndex} tanpa query ke database.
+     */
+    public List<ProductSuggestionDto> autocompleteProducts(String prefix, Integer limit) {
+        int size = limit == null ? DEFAULT_AUTOCOMPLETE_LIMIT : limit;
+        if (size < 1 || size > MAX_AUTOCOMPLETE_LIMIT) {
+            throw new RuntimeException("Limit autocomplete " + limit + " tidak valid (1-" + MAX_AUTOCOMPLETE_LIMIT + ")");
+        }
+        return productAutocompleteIndex.suggest(prefix, size);
     }
     
     @Transactional(readOnly = true)
@@ -78,6 +207,7 @@ public class ProductService {
         product.setPrice(productDto.getPrice());
         product.setCategory(category);
         product.setSupplier(supplier);
+        product.setSku(skuAllocator.allocate(category));
         
         // Buat stok default untuk produk baru
         Stock stock = new Stock();
@@ -87,6 +217,7 @@ public class ProductService {
         product.setStock(stock);
         
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct.getId(), List.of(category.getId())));
         return convertToDto(savedProduct);
     }
     
@@ -101,6 +232,7 @@ public class ProductService {
         Supplier supplier = supplierRepository.findById(productDto.getSupplierId())
                 .orElseThrow(() -> new RuntimeException("Supplier dengan ID " + productDto.getSupplierId() + " tidak ditemukan"));
         
+        Long previousCategoryId = product.getCategory() != null ? product.getCategory().getId() : null;
         product.setName(productDto.getName());
         product.setDescription(productDto.getDescription());
         product.setPrice(productDto.getPrice());
@@ -108,18 +240,33 @@ public class ProductService {
         product.setSupplier(supplier);
         
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(Objects.equals(previousCategoryId, category.getId())
+                ? ProductChangedEvent.saved(updatedProduct.getId())
+                : ProductChangedEvent.saved(updatedProduct.getId(),
+                        Stream.of(previousCategoryId, category.getId()).filter(Objects::nonNull).toList()));
         return convertToDto(updatedProduct);
     }
     
     @Transactional
     public void deleteProduct(Long id) {
-        if (!productRepository.existsById(id)) {
-            throw new RuntimeException("Produk dengan ID " + id + " tidak ditemukan");
-        }
-        productRepository.deleteById(id);
+        // Dimuat (bukan existsById) untuk mengetahui kategori yang jumlah produknya berkurang;
+        // deleteById juga memuat entity sebelum menghapus, jadi jumlah query sama
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Produk dengan ID " + id + " tidak ditemukan"));
+        productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id,
+                product.getCategory() != null ? product.getCategory().getId() : null));
     }
     
+    // Dicatat sebagai fase map di Server-Timing; lazy load di dalamnya tetap terhitung db
     private ProductDto convertToDto(Product product) {
+        if (!ServerTiming.active()) {
+            return mapToDto(product);
+        }
+        return ServerTiming.measure(ServerTiming.Phase.MAPPING, () -> mapToDto(product));
+    }
+    
+    private ProductDto mapToDto(Product product) {
         ProductDto dto = new ProductDto();
         dto.setId(product.getId());
         dto.setName(product.getName());
@@ -142,4 +289,51 @@ public class ProductService {
         
         return dto;
     }
+    
+    // Memuat ProductDto berdasarkan ID dengan urutan yang sama seperti daftar ID
+    private List<ProductDto> findDtosInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductDto> productsById = productRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    // Pola LIKE huruf kecil; %, _ dan ! milik pengguna di-escape dengan '!'
+    private static String toLikePattern(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String escaped = text.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+    
+    private String encodeCursor(Product product) {
+        String raw = (product.getCreatedAt() == null ? NULL_CREATED_AT : product.getCreatedAt()) + "|" + product.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private ProductCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String createdAt = raw.substring(0, separator);
+            // "null" untuk produk tanpa created_at (lihat encodeCursor)
+            return new ProductCursor(
+                    NULL_CREATED_AT.equals(createdAt) ? null : LocalDateTime.parse(createdAt),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Cursor " + cursor + " tidak valid");
+        }
+    }
+    
+    private record ProductCursor(LocalDateTime createdAt, Long id) {
+    }
 }
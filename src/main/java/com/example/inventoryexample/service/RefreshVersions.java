@@ -0,0 +1,55 @@
+package com.example.inventoryexample.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Menjaga urutan pembaruan per produk pada struktur di memori yang dimuat dari database
+ * (registry dan index produk).
+ *
+ * Setiap pembaruan mengambil tiket lewat {@link #next()} sebelum membaca database, lalu
+ * menerapkan hasilnya di dalam lock struktur hanya untuk produk yang lolos {@link #claim}.
+ * Tiket diambil setelah transaksi pemicunya commit, sehingga hasil dengan tiket lebih besar
+ * tidak pernah lebih lama dari perubahan yang memicu tiket lebih kecil; hasil baca lama yang
+ * datang terlambat dilewati, bukan menimpa hasil yang lebih baru.
+ *
+ * {@link #claim} dan {@link #reset} harus dipanggil di dalam lock milik struktur pemakai.
+ */
+final class RefreshVersions {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Tiket terakhir yang diterapkan per produk sejak rebuild terakhir
+    private final Map<Long, Long> applied = new HashMap<>();
+
+    // Tiket rebuild terakhir; hasil dengan tiket lebih kecil sudah tercakup olehnya
+    private long floor;
+
+    long next() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * True bila hasil bertiket ini boleh diterapkan untuk produk tersebut, dan mencatatnya.
+     */
+    boolean claim(Long productId, long ticket) {
+        if (ticket < floor) {
+            return false;
+        }
+        Long last = applied.get(productId);
+        if (last != null && last > ticket) {
+            return false;
+        }
+        applied.put(productId, ticket);
+        return true;
+    }
+
+    /**
+     * Dipanggil saat isi struktur diganti hasil rebuild penuh yang dibaca setelah tiket ini diambil.
+     */
+    void reset(long ticket) {
+        floor = ticket;
+        applied.clear();
+    }
+}
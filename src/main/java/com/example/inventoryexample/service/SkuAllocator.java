@@ -0,0 +1,154 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.SkuProperties;
+import com.example.inventoryexample.entity.Category;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pembagi SKU dengan format PREFIX-00000001.
+ * 
+ * Nomor dipesan per blok dari database ({@link SkuBlockReserver}) lalu dibagikan dari memori,
+ * sehingga hanya ada satu round-trip per blockSize SKU. Tiap node aplikasi memegang blok
+ * yang berbeda, jadi SKU tidak pernah bentrok walaupun dibuat pada milidetik yang sama.
+ * Urutan naik berlaku per node; sisa blok yang belum terpakai saat aplikasi berhenti
+ * menjadi celah nomor.
+ * 
+ * Pemanggil (createProduct, batch import) sudah memegang koneksi di transaksinya sendiri,
+ * sedangkan pemesanan blok butuh koneksi kedua (REQUIRES_NEW). Bila pemesanan dilakukan di
+ * thread pemanggil saat blok habis, semua pemanggil yang menunggu memegang koneksi dan pool
+ * bisa habis sebelum pemesanan mendapat koneksi. Karena itu blok berikutnya dipesan lebih
+ * awal di thread terpisah saat sisa blok tinggal seperempat; pemanggil hanya menunggu bila
+ * sisa itu habis sebelum pemesanan selesai.
+ */
+@Slf4j
+@Service
+public class SkuAllocator {
+    
+    private final SkuBlockReserver skuBlockReserver;
+    private final SkuPrefixResolver skuPrefixResolver;
+    private final SkuProperties skuProperties;
+    private final Executor reserveExecutor;
+    
+    private final Map<String, SkuBlock> blocks = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public SkuAllocator(SkuBlockReserver skuBlockReserver, SkuPrefixResolver skuPrefixResolver,
+                        SkuProperties skuProperties) {
+        this(skuBlockReserver, skuPrefixResolver, skuProperties, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sku-block-reserver");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+    
+    SkuAllocator(SkuBlockReserver skuBlockReserver, SkuPrefixResolver skuPrefixResolver,
+                 SkuProperties skuProperties, Executor reserveExecutor) {
+        this.skuBlockReserver = skuBlockReserver;
+        this.skuPrefixResolver = skuPrefixResolver;
+        this.skuProperties = skuProperties;
+        this.reserveExecutor = reserveExecutor;
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        if (reserveExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+    
+    public String allocate(Category category) {
+        return allocate(skuPrefixResolver.resolvePrefix(category));
+    }
+    
+    public String allocate(String prefix) {
+        long value = blocks.computeIfAbsent(prefix, SkuBlock::new).next();
+        return String.format("%s-%08d", prefix, value);
+    }
+    
+    private long reserveBlock(String prefix, int blockSize) {
+        try {
+            return skuBlockReserver.reserve(prefix, blockSize);
+        } catch (DataIntegrityViolationException e) {
+            // Node lain membuat baris counter untuk prefix ini pada saat yang sama; coba lagi
+            // sekarang baris sudah ada dan bisa di-lock
+            return skuBlockReserver.reserve(prefix, blockSize);
+        }
+    }
+    
+    private CompletableFuture<Range> reserveAsync(String prefix) {
+        int blockSize = Math.max(1, skuProperties.getBlockSize());
+        return CompletableFuture.supplyAsync(() -> {
+            long start = reserveBlock(prefix, blockSize);
+            log.debug("Blok SKU {} dipesan: {} - {}", prefix, start, start + blockSize - 1);
+            return new Range(start, start + blockSize);
+        }, reserveExecutor);
+    }
+    
+    private record Range(long start, long end) {
+    }
+    
+    // Blok aktif untuk satu prefix; prefix lain tidak ikut menunggu saat blok ini dipesan ulang.
+    // ReentrantLock, bukan synchronized, agar virtual thread yang menunggu tidak mengunci carrier.
+    private final class SkuBlock {
+        
+        private final String prefix;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long end;
+        private long prefetchAt;
+        private CompletableFuture<Range> pending;
+        
+        private SkuBlock(String prefix) {
+            this.prefix = prefix;
+        }
+        
+        private long next() {
+            lock.lock();
+            try {
+                if (next >= end) {
+                    if (pending == null) {
+                        pending = reserveAsync(prefix);
+                    }
+                    Range range = await(pending);
+                    next = range.start();
+                    end = range.end();
+                    prefetchAt = end - Math.max(1, (end - next) / 4);
+                }
+                long value = next++;
+                if (pending == null && next >= prefetchAt) {
+                    pending = reserveAsync(prefix);
+                }
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private Range await(CompletableFuture<Range> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            } finally {
+                // Pemesanan yang gagal dicoba lagi oleh pemanggil berikutnya
+                pending = null;
+            }
+        }
+    }
+}
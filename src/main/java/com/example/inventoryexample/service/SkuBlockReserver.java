@@ -0,0 +1,35 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.entity.SkuCounter;
+import com.example.inventoryexample.repository.SkuCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Memesan blok nomor SKU dari tabel sku_counters.
+ * 
+ * Berjalan di transaksi sendiri (REQUIRES_NEW) agar lock baris counter langsung dilepas
+ * setelah blok dipesan, tidak ikut tertahan sampai transaksi pembuatan produk selesai.
+ */
+@Component
+@RequiredArgsConstructor
+public class SkuBlockReserver {
+    
+    private final SkuCounterRepository skuCounterRepository;
+    
+    /**
+     * Mengembalikan nomor pertama dari blok [start, start + blockSize) yang kini
+     * menjadi milik pemanggil.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String prefix, int blockSize) {
+        SkuCounter counter = skuCounterRepository.findForUpdate(prefix)
+                .orElseGet(() -> skuCounterRepository.saveAndFlush(new SkuCounter(prefix, 1L, null)));
+        
+        long start = counter.getNextValue();
+        counter.setNextValue(start + blockSize);
+        return start;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.entity.Category;
+
+/**
+ * Menentukan prefix SKU untuk produk baru. Implementasi bawaan adalah
+ * {@link CategorySkuPrefixResolver}; daftarkan bean lain dengan @Primary untuk menggantinya.
+ */
+public interface SkuPrefixResolver {
+    
+    String resolvePrefix(Category category);
+}
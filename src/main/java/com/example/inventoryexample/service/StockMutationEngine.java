@@ -0,0 +1,126 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.dto.StockMutationResult;
+import com.example.inventoryexample.entity.Stock;
+import com.example.inventoryexample.repository.StockRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Menerapkan perubahan stok sebagai satu UPDATE bersyarat di database,
+ * sehingga dua transaksi yang mengubah produk yang sama tidak saling
+ * menimpa hasilnya (lost update). Lock baris dari UPDATE ditahan sampai commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockMutationEngine {
+    
+    private final StockRepository stockRepository;
+    private final StockMutationMetrics stockMutationMetrics;
+    private final EntityManager entityManager;
+    
+    /**
+     * Delta positif menambah stok, delta negatif mengurangi stok; delta nol ditolak.
+     * Hasil hanya berisi quantity, tanpa {@link StockDto}, karena dipakai per baris batch.
+     */
+    @Transactional
+    public StockMutationResult apply(Long productId, int delta) {
+        // -Integer.MIN_VALUE tidak bisa direpresentasikan sebagai int
+        if (delta == 0 || delta == Integer.MIN_VALUE) {
+            throw new RuntimeException("Jumlah stok " + delta + " tidak valid");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Integer> quantity = delta > 0
+                ? stockRepository.incrementQuantityReturning(productId, delta, now)
+                : stockRepository.decrementQuantityReturning(productId, -delta, now);
+        if (quantity.isPresent()) {
+            refreshManagedStock(productId);
+            return record(StockMutationResult.applied(productId, delta, quantity.get()));
+        }
+        // Tidak ada baris yang berubah: quantity dibaca hanya untuk membedakan NOT_FOUND dan INSUFFICIENT
+        return record(toResult(productId, delta, 0, stockRepository.findQuantityByProductId(productId)));
+    }
+    
+    /**
+     * Menambah stok; hasil APPLIED membawa baris stok lengkap setelah mutasi.
+     */
+    @Transactional
+    public StockMutationResult add(Long productId, Integer amount) {
+        validateAmount(amount);
+        return loadResult(productId, amount, increment(productId, amount));
+    }
+    
+    /**
+     * Mengurangi stok; hasil APPLIED membawa baris stok lengkap setelah mutasi.
+     */
+    @Transactional
+    public StockMutationResult reduce(Long productId, Integer amount) {
+        validateAmount(amount);
+        return loadResult(productId, -amount, decrement(productId, amount));
+    }
+    
+    private int increment(Long productId, int amount) {
+        int updated = stockRepository.incrementQuantity(productId, amount, LocalDateTime.now());
+        refreshManagedStock(productId);
+        return updated;
+    }
+    
+    private int decrement(Long productId, int amount) {
+        int updated = stockRepository.decrementQuantity(productId, amount, LocalDateTime.now());
+        refreshManagedStock(productId);
+        return updated;
+    }
+    
+    // UPDATE massal melewati persistence context: hanya entity Stock produk ini (bila sudah dimuat)
+    // yang di-refresh agar tidak dibaca dengan quantity lama; entity lain tetap terkelola apa adanya
+    private void refreshManagedStock(Long productId) {
+        Session session = entityManager.unwrap(Session.class);
+        if (session.getStatistics().getEntityCount() == 0) {
+            return;
+        }
+        for (Stock stock : session.getManagedEntities(Stock.class)) {
+            if (stock.getProduct() != null && productId.equals(stock.getProduct().getId())) {
+                session.refresh(stock);
+            }
+        }
+    }
+    
+    private StockMutationResult loadResult(Long productId, int delta, int updated) {
+        // Baris stok sudah terkunci oleh UPDATE di atas sampai commit,
+        // jadi nilai yang dibaca di sini adalah hasil mutasi transaksi ini
+        Optional<StockDto> stock = stockRepository.findDtoByProductId(productId);
+        StockMutationResult result = toResult(productId, delta, updated, stock.map(StockDto::getQuantity));
+        if (result.isApplied()) {
+            result.setStock(stock.get());
+        }
+        return record(result);
+    }
+    
+    private StockMutationResult toResult(Long productId, int delta, int updated, Optional<Integer> quantity) {
+        if (quantity.isEmpty()) {
+            return StockMutationResult.notFound(productId, delta);
+        }
+        if (updated == 0) {
+            return StockMutationResult.insufficient(productId, delta, quantity.get());
+        }
+        return StockMutationResult.applied(productId, delta, quantity.get());
+    }
+    
+    private StockMutationResult record(StockMutationResult result) {
+        stockMutationMetrics.record(result);
+        return result;
+    }
+    
+    private void validateAmount(Integer amount) {
+        if (amount == null || amount <= 0) {
+            throw new RuntimeException("Jumlah stok " + amount + " tidak valid");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.InventoryMetricsProperties;
+import com.example.inventoryexample.dto.StockMutationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics mutasi stok: counter inventory.stock.mutations (tag direction, status, product)
+ * dan distribusi jumlah unit per mutasi yang berhasil (inventory.stock.mutation.units).
+ *
+ * Tag product hanya berisi ID untuk produk di inventory.metrics.stock-watch-product-ids;
+ * produk lain bernilai "other", karena satu time series per produk tidak terbatas jumlahnya.
+ * Meter disimpan per kombinasi tag, sehingga mutasi berikutnya tidak membangun ulang meter.
+ */
+@Component
+public class StockMutationMetrics {
+    
+    static final String MUTATIONS = "inventory.stock.mutations";
+    static final String UNITS = "inventory.stock.mutation.units";
+    private static final String OTHER_PRODUCT = "other";
+    
+    private final MeterRegistry meterRegistry;
+    private final Set<Long> watchedProductIds;
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> unitSummaries = new ConcurrentHashMap<>();
+    
+    public StockMutationMetrics(MeterRegistry meterRegistry, InventoryMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.watchedProductIds = Set.copyOf(properties.getStockWatchProductIds());
+    }
+    
+    public void record(StockMutationResult result) {
+        String direction = result.getDelta() > 0 ? "add" : "reduce";
+        String product = watchedProductIds.contains(result.getProductId())
+                ? result.getProductId().toString()
+                : OTHER_PRODUCT;
+        counters.computeIfAbsent(new CounterKey(direction, result.getStatus(), product), this::counter)
+                .increment();
+        if (result.isApplied()) {
+            unitSummaries.computeIfAbsent(direction, this::unitSummary)
+                    .record(Math.abs(result.getDelta()));
+        }
+    }
+    
+    private Counter counter(CounterKey key) {
+        return Counter.builder(MUTATIONS)
+                .description("Jumlah mutasi stok")
+                .tag("direction", key.direction())
+                .tag("status", key.status().name().toLowerCase(Locale.ROOT))
+                .tag("product", key.product())
+                .register(meterRegistry);
+    }
+    
+    private DistributionSummary unitSummary(String direction) {
+        return DistributionSummary.builder(UNITS)
+                .description("Jumlah unit per mutasi stok yang berhasil")
+                .baseUnit("units")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+    
+    private record CounterKey(String direction, StockMutationResult.Status status, String product) {
+    }
+}
@@ -1,60 +1,55 @@
 package com.example.inventoryexample.service;
 
+import com.example.inventoryexample.dto.StockAdjustmentRequest;
+import com.example.inventoryexample.dto.StockBatchResultDto;
 import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.dto.StockMutationResult;
 import com.example.inventoryexample.entity.Stock;
+import com.example.inventoryexample.event.StockChangedEvent;
+import com.example.inventoryexample.exception.InsufficientStockException;
 import com.example.inventoryexample.repository.StockRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 public class StockService {
     
     private final StockRepository stockRepository;
+    private final StockMutationEngine stockMutationEngine;
+    private final LowStockRegistry lowStockRegistry;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional(readOnly = true)
     public List<StockDto> getAllStocks() {
-        return stockRepository.findAll().stream()
-                .sorted((s1, s2) -> {
-                    if (s1.getUpdatedAt() == null && s2.getUpdatedAt() == null) return 0;
-                    if (s1.getUpdatedAt() == null) return 1;
-                    if (s2.getUpdatedAt() == null) return -1;
-                    return s2.getUpdatedAt().compareTo(s1.getUpdatedAt());
-                })
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return stockRepository.findAllDtos();
     }
     
     @Transactional(readOnly = true)
     public StockDto getStockById(Long id) {
-        Stock stock = stockRepository.findById(id)
+        return stockRepository.findDtoById(id)
                 .orElseThrow(() -> new RuntimeException("Stok dengan ID " + id + " tidak ditemukan"));
-        return convertToDto(stock);
     }
     
     @Transactional(readOnly = true)
     public StockDto getStockByProductId(Long productId) {
-        Stock stock = stockRepository.findByProductId(productId)
+        return stockRepository.findDtoByProductId(productId)
                 .orElseThrow(() -> new RuntimeException("Stok untuk produk ID " + productId + " tidak ditemukan"));
-        return convertToDto(stock);
     }
     
-    @Transactional(readOnly = true)
     public List<StockDto> getLowStocks() {
-        return stockRepository.findLowStocks().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return lowStockRegistry.getLowStocks();
     }
     
-    @Transactional(readOnly = true)
     public List<StockDto> getOutOfStocks() {
-        return stockRepository.findOutOfStocks().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return lowStockRegistry.getOutOfStocks();
     }
     
     @Transactional
@@ -65,44 +60,69 @@ public class StockService {
         stock.setQuantity(stockDto.getQuantity());
         stock.setMinimumStock(stockDto.getMinimumStock());
         
-        Stock updatedStock = stockRepository.save(stock);
-        return convertToDto(updatedStock);
+        stockRepository.save(stock);
+        eventPublisher.publishEvent(StockChangedEvent.of(stock.getProduct().getId()));
+        return getStockById(id);
     }
     
     @Transactional
     public StockDto addStock(Long productId, Integer amount) {
-        Stock stock = stockRepository.findByProductId(productId)
-                .orElseThrow(() -> new RuntimeException("Stok untuk produk ID " + productId + " tidak ditemukan"));
-        
-        stock.addStock(amount);
-        Stock updatedStock = stockRepository.save(stock);
-        return convertToDto(updatedStock);
+        return loadAfterMutation(stockMutationEngine.add(productId, amount));
     }
     
     @Transactional
     public StockDto reduceStock(Long productId, Integer amount) {
-        Stock stock = stockRepository.findByProductId(productId)
-                .orElseThrow(() -> new RuntimeException("Stok untuk produk ID " + productId + " tidak ditemukan"));
+        return loadAfterMutation(stockMutationEngine.reduce(productId, amount));
+    }
+    
+    /**
+     * Menerapkan banyak penyesuaian stok dalam satu transaksi.
+     * Baris diproses berurutan berdasarkan productId sehingga dua batch yang berjalan
+     * bersamaan selalu mengunci baris stok dengan urutan yang sama (tidak terjadi deadlock).
+     * Baris yang gagal (stok tidak cukup / tidak ditemukan) tidak mengubah data dan
+     * dilaporkan pada hasilnya, baris lain tetap diterapkan.
+     */
+    @Transactional
+    public StockBatchResultDto adjustStocks(List<StockAdjustmentRequest> items) {
+        // Delta nol ditolak sebelum baris mana pun diterapkan, agar metrik tidak mencatat mutasi yang di-rollback
+        items.stream()
+                .filter(item -> item.getDelta() == 0)
+                .findFirst()
+                .ifPresent(item -> {
+                    throw new RuntimeException("Delta stok 0 tidak valid untuk produk ID " + item.getProductId());
+                });
+        
+        StockMutationResult[] results = new StockMutationResult[items.size()];
+        
+        IntStream.range(0, items.size())
+                .boxed()
+                .sorted(Comparator.comparing((Integer i) -> items.get(i).getProductId()))
+                .forEachOrdered(i -> results[i] = stockMutationEngine.apply(
+                        items.get(i).getProductId(), items.get(i).getDelta()));
+        
+        List<Long> changedProductIds = Arrays.stream(results)
+                .filter(StockMutationResult::isApplied)
+                .map(StockMutationResult::getProductId)
+                .distinct()
+                .toList();
+        if (!changedProductIds.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(changedProductIds));
+        }
         
-        stock.reduceStock(amount);
-        Stock updatedStock = stockRepository.save(stock);
-        return convertToDto(updatedStock);
+        int applied = (int) Arrays.stream(results).filter(StockMutationResult::isApplied).count();
+        return new StockBatchResultDto(results.length, applied, results.length - applied, Arrays.asList(results));
     }
     
-    private StockDto convertToDto(Stock stock) {
-        StockDto dto = new StockDto();
-        dto.setId(stock.getId());
-        dto.setProductId(stock.getProduct().getId());
-        dto.setProductName(stock.getProduct().getName());
-        dto.setProductSku(stock.getProduct().getSku());
-        dto.setCategoryName(stock.getProduct().getCategory() != null ? 
-                stock.getProduct().getCategory().getName() : "-");
-        dto.setSupplierName(stock.getProduct().getSupplier() != null ? 
-                stock.getProduct().getSupplier().getName() : "-");
-        dto.setQuantity(stock.getQuantity());
-        dto.setMinimumStock(stock.getMinimumStock());
-        dto.setLastRestockDate(stock.getLastRestockDate());
-        dto.setIsLowStock(stock.isLowStock());
-        return dto;
+    private StockDto loadAfterMutation(StockMutationResult result) {
+        if (result.getStatus() == StockMutationResult.Status.INSUFFICIENT_STOCK) {
+            throw new InsufficientStockException(result);
+        }
+        // Baris stok sudah dibaca oleh StockMutationEngine dalam transaksi yang sama
+        StockDto stock = result.getStock();
+        if (stock == null) {
+            throw new RuntimeException("Stok untuk produk ID " + result.getProductId() + " tidak ditemukan");
+        }
+        eventPublisher.publishEvent(StockChangedEvent.of(result.getProductId()));
+        return stock;
     }
 }
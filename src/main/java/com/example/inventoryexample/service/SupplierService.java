@@ -1,9 +1,14 @@
 package com.example.inventoryexample.service;
 
+import com.example.inventoryexample.config.CacheConfig;
+import com.example.inventoryexample.config.ServerTiming;
 import com.example.inventoryexample.dto.SupplierDto;
 import com.example.inventoryexample.entity.Supplier;
 import com.example.inventoryexample.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +22,7 @@ public class SupplierService {
     private final SupplierRepository supplierRepository;
     
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SUPPLIER_LIST, key = CacheConfig.ALL)
     public List<SupplierDto> getAllSuppliers() {
         return supplierRepository.findAll().stream()
                 .sorted((s1, s2) -> {
@@ -30,6 +36,7 @@ public class SupplierService {
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SUPPLIERS, key = "#id")
     public SupplierDto getSupplierById(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Supplier dengan ID " + id + " tidak ditemukan"));
@@ -44,6 +51,7 @@ public class SupplierService {
     }
     
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIER_LIST, allEntries = true)
     public SupplierDto createSupplier(SupplierDto supplierDto) {
         Supplier supplier = new Supplier();
         supplier.setName(supplierDto.getName());
@@ -57,6 +65,10 @@ public class SupplierService {
     }
     
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIER_LIST, allEntries = true)
+    })
     public SupplierDto updateSupplier(Long id, SupplierDto supplierDto) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Supplier dengan ID " + id + " tidak ditemukan"));
@@ -72,6 +84,10 @@ public class SupplierService {
     }
     
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIER_LIST, allEntries = true)
+    })
     public void deleteSupplier(Long id) {
         if (!supplierRepository.existsById(id)) {
             throw new RuntimeException("Supplier dengan ID " + id + " tidak ditemukan");
@@ -80,6 +96,13 @@ public class SupplierService {
     }
     
     private SupplierDto convertToDto(Supplier supplier) {
+        if (!ServerTiming.active()) {
+            return mapToDto(supplier);
+        }
+        return ServerTiming.measure(ServerTiming.Phase.MAPPING, () -> mapToDto(supplier));
+    }
+    
+    private SupplierDto mapToDto(Supplier supplier) {
         SupplierDto dto = new SupplierDto();
         dto.setId(supplier.getId());
         dto.setName(supplier.getName());
@@ -0,0 +1,35 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.RequestConcurrencyLimitFilter;
+import com.example.inventoryexample.dto.ThreadingStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class ThreadingStatsService {
+    
+    // Kedua bean hanya ada bila spring.threads.virtual.enabled=true
+    private final ObjectProvider<RequestConcurrencyLimitFilter> concurrencyLimitFilter;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    
+    public ThreadingStatsDto getStats() {
+        ThreadingStatsDto stats = new ThreadingStatsDto();
+        RequestConcurrencyLimitFilter limiter = concurrencyLimitFilter.getIfAvailable();
+        if (limiter != null) {
+            stats.setVirtualThreads(true);
+            stats.setMaxConcurrentRequests(limiter.getMaxConcurrentRequests());
+            stats.setActiveRequests(limiter.getActiveRequests());
+            stats.setWaitingRequests(limiter.getWaitingRequests());
+            stats.setRejectedCount(limiter.getRejectedCount());
+            stats.setAverageWaitMillis(limiter.getAverageWaitMillis());
+        }
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        if (monitor != null) {
+            stats.setPinnedCount(monitor.getPinnedCount());
+            stats.setMaxPinnedMillis(monitor.getMaxPinnedMillis());
+        }
+        return stats;
+    }
+}
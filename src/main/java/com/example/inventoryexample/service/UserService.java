@@ -1,20 +1,24 @@
 package com.example.inventoryexample.service;
 
+import com.example.inventoryexample.config.ServerTiming;
+import com.example.inventoryexample.dto.AuthenticatedUser;
 import com.example.inventoryexample.dto.LoginRequest;
 import com.example.inventoryexample.dto.LoginResponse;
 import com.example.inventoryexample.dto.ProfileUpdateRequest;
 import com.example.inventoryexample.dto.UserDto;
+import com.example.inventoryexample.dto.UserStatsDto;
 import com.example.inventoryexample.entity.User;
+import com.example.inventoryexample.event.UserChangedEvent;
 import com.example.inventoryexample.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,11 +27,18 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
+    private final AuthTokenService authTokenService;
+    private final UserStatsRegistry userStatsRegistry;
+    private final ApplicationEventPublisher eventPublisher;
     
     private static final String CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
     private static final SecureRandom RANDOM = new SecureRandom();
     
-    @Transactional
+    /**
+     * Sengaja tanpa @Transactional: user dibaca dalam transaksi singkat milik repository,
+     * lalu hashing BCrypt dijalankan di {@link PasswordVerifier} tanpa menahan koneksi database.
+     */
     public LoginResponse login(LoginRequest loginRequest) {
         User user = userRepository.findByUsername(loginRequest.getUsername())
                 .orElseThrow(() -> new RuntimeException("Username atau password salah"));
@@ -37,10 +48,12 @@ public class UserService {
         }
         
         // BCrypt password verification
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordVerifier.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new RuntimeException("Username atau password salah");
         }
         
+        AuthTokenService.IssuedToken token = authTokenService.issue(user.getId(), user.getRole(), user.getTokenVersion());
+        
         LoginResponse response = new LoginResponse();
         response.setId(user.getId());
         response.setUsername(user.getUsername());
@@ -48,6 +61,8 @@ public class UserService {
         response.setEmail(user.getEmail());
         response.setRole(user.getRole());
         response.setMessage("Login berhasil");
+        response.setToken(token.token());
+        response.setTokenExpiresAt(token.expiresAt());
         
         return response;
     }
@@ -105,6 +120,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.created(savedUser));
         return convertToDto(savedUser);
     }
     
@@ -114,7 +130,7 @@ public class UserService {
     }
     
     @Transactional
-    public UserDto createUserFromDto(UserDto userDto, Long requesterId) {
+    public UserDto createUserFromDto(UserDto userDto, AuthenticatedUser requester) {
         // Validasi username unik
         if (userRepository.existsByUsername(userDto.getUsername())) {
             throw new RuntimeException("Username " + userDto.getUsername() + " sudah digunakan");
@@ -127,7 +143,7 @@ public class UserService {
         
         // Validasi role
         User.UserRole targetRole = userDto.getRole() != null ? userDto.getRole() : User.UserRole.STAFF;
-        validateRoleCreation(targetRole, requesterId);
+        validateRoleCreation(targetRole, requester);
         
         User user = new User();
         user.setUsername(userDto.getUsername());
@@ -139,6 +155,7 @@ public class UserService {
         user.setIsActive(userDto.getIsActive() != null ? userDto.getIsActive() : true);
         
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.created(savedUser));
         return convertToDto(savedUser);
     }
     
@@ -148,19 +165,16 @@ public class UserService {
      * - ADMIN hanya bisa membuat user STAFF, tidak bisa membuat ADMIN lain
      * - STAFF tidak bisa membuat user apapun
      */
-    private void validateRoleCreation(User.UserRole targetRole, Long requesterId) {
-        // Jika requesterId ada, validasi permission
-        if (requesterId != null) {
-            User requester = userRepository.findById(requesterId).orElse(null);
-            if (requester != null) {
-                // STAFF tidak bisa membuat user apapun
-                if (requester.getRole() == User.UserRole.STAFF) {
-                    throw new RuntimeException("Staff tidak memiliki akses untuk membuat user baru.");
-                }
-                // ADMIN hanya bisa membuat STAFF, tidak bisa membuat ADMIN
-                if (requester.getRole() == User.UserRole.ADMIN && targetRole == User.UserRole.ADMIN) {
-                    throw new RuntimeException("Admin tidak dapat membuat user dengan role Admin. Hanya dapat membuat user Staff.");
-                }
+    private void validateRoleCreation(User.UserRole targetRole, AuthenticatedUser requester) {
+        // Jika requester ada, validasi permission (role dibaca dari token, tanpa query)
+        if (requester != null) {
+            // STAFF tidak bisa membuat user apapun
+            if (requester.getRole() == User.UserRole.STAFF) {
+                throw new RuntimeException("Staff tidak memiliki akses untuk membuat user baru.");
+            }
+            // ADMIN hanya bisa membuat STAFF, tidak bisa membuat ADMIN
+            if (requester.getRole() == User.UserRole.ADMIN && targetRole == User.UserRole.ADMIN) {
+                throw new RuntimeException("Admin tidak dapat membuat user dengan role Admin. Hanya dapat membuat user Staff.");
             }
         }
     }
@@ -168,23 +182,20 @@ public class UserService {
     /**
      * Validasi perubahan role berdasarkan aturan
      */
-    private void validateRoleChange(User.UserRole currentRole, User.UserRole newRole, Long requesterId) {
+    private void validateRoleChange(User.UserRole currentRole, User.UserRole newRole, AuthenticatedUser requester) {
         // Jika role tidak berubah, tidak perlu validasi
         if (currentRole == newRole) {
             return;
         }
         
-        if (requesterId != null) {
-            User requester = userRepository.findById(requesterId).orElse(null);
-            if (requester != null) {
-                // STAFF tidak bisa mengubah role apapun
-                if (requester.getRole() == User.UserRole.STAFF) {
-                    throw new RuntimeException("Staff tidak memiliki akses untuk mengubah role user.");
-                }
-                // ADMIN tidak bisa mengubah role menjadi ADMIN
-                if (requester.getRole() == User.UserRole.ADMIN && newRole == User.UserRole.ADMIN) {
-                    throw new RuntimeException("Admin tidak dapat mengubah role menjadi Admin.");
-                }
+        if (requester != null) {
+            // STAFF tidak bisa mengubah role apapun
+            if (requester.getRole() == User.UserRole.STAFF) {
+                throw new RuntimeException("Staff tidak memiliki akses untuk mengubah role user.");
+            }
+            // ADMIN tidak bisa mengubah role menjadi ADMIN
+            if (requester.getRole() == User.UserRole.ADMIN && newRole == User.UserRole.ADMIN) {
+                throw new RuntimeException("Admin tidak dapat mengubah role menjadi Admin.");
             }
         }
     }
@@ -195,21 +206,25 @@ public class UserService {
     }
     
     @Transactional
-    public UserDto updateUser(Long id, User userDetails, Long requesterId) {
+    public UserDto updateUser(Long id, User userDetails, AuthenticatedUser requester) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User dengan ID " + id + " tidak ditemukan"));
         
         // Validasi perubahan role
         if (userDetails.getRole() != null) {
-            validateRoleChange(user.getRole(), userDetails.getRole(), requesterId);
+            validateRoleChange(user.getRole(), userDetails.getRole(), requester);
         }
         
+        User.UserRole previousRole = user.getRole();
+        Boolean previouslyActive = user.getIsActive();
         user.setFullName(userDetails.getFullName());
         user.setEmail(userDetails.getEmail());
         user.setRole(userDetails.getRole());
         user.setIsActive(userDetails.getIsActive());
+        revokeTokensIfChanged(user, previousRole, previouslyActive);
         
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(previousRole, previouslyActive, updatedUser));
         return convertToDto(updatedUser);
     }
     
@@ -219,7 +234,7 @@ public class UserService {
     }
     
     @Transactional
-    public UserDto updateUserFromDto(Long id, UserDto userDto, Long requesterId) {
+    public UserDto updateUserFromDto(Long id, UserDto userDto, AuthenticatedUser requester) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User dengan ID " + id + " tidak ditemukan"));
         
@@ -237,9 +252,11 @@ public class UserService {
         
         // Validasi perubahan role
         if (userDto.getRole() != null && userDto.getRole() != user.getRole()) {
-            validateRoleChange(user.getRole(), userDto.getRole(), requesterId);
+            validateRoleChange(user.getRole(), userDto.getRole(), requester);
         }
         
+        User.UserRole previousRole = user.getRole();
+        Boolean previouslyActive = user.getIsActive();
         user.setUsername(userDto.getUsername());
         user.setFullName(userDto.getFullName());
         user.setEmail(userDto.getEmail());
@@ -257,8 +274,10 @@ public class UserService {
         if (userDto.getPassword() != null && !userDto.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(userDto.getPassword()));
         }
+        revokeTokensIfChanged(user, previousRole, previouslyActive);
         
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(previousRole, previouslyActive, updatedUser));
         return convertToDto(updatedUser);
     }
     
@@ -268,23 +287,23 @@ public class UserService {
     }
     
     @Transactional
-    public void deleteUser(Long id, Long requesterId) {
+    public void deleteUser(Long id, AuthenticatedUser requester) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User dengan ID " + id + " tidak ditemukan"));
         
         // Validasi requester permission
-        if (requesterId != null) {
-            User requester = userRepository.findById(requesterId).orElse(null);
-            if (requester != null && requester.getRole() == User.UserRole.STAFF) {
+        if (requester != null) {
+            if (requester.getRole() == User.UserRole.STAFF) {
                 throw new RuntimeException("Staff tidak memiliki akses untuk menghapus user.");
             }
             // Tidak bisa menghapus diri sendiri
-            if (requesterId.equals(id)) {
+            if (id.equals(requester.getId())) {
                 throw new RuntimeException("Tidak dapat menghapus akun sendiri.");
             }
         }
         
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(user));
     }
     
     @Transactional
@@ -292,11 +311,21 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User dengan ID " + id + " tidak ditemukan"));
         
-        user.setIsActive(!user.getIsActive());
+        Boolean previouslyActive = user.getIsActive();
+        user.setIsActive(!previouslyActive);
+        revokeTokensIfChanged(user, user.getRole(), previouslyActive);
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(user.getRole(), previouslyActive, updatedUser));
         return convertToDto(updatedUser);
     }
     
+    // Token login lama tidak berlaku lagi setelah role atau status aktif berubah
+    private static void revokeTokensIfChanged(User user, User.UserRole previousRole, Boolean previouslyActive) {
+        if (user.getRole() != previousRole || !Objects.equals(user.getIsActive(), previouslyActive)) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+    }
+    
     @Transactional
     public String resetPassword(Long id) {
         User user = userRepository.findById(id)
@@ -310,24 +339,11 @@ public class UserService {
         return newPassword;
     }
     
-    @Transactional(readOnly = true)
-    public Map<String, Object> getUserStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        List<User> allUsers = userRepository.findAll();
-        long totalUsers = allUsers.size();
-        long adminCount = allUsers.stream().filter(u -> u.getRole() == User.UserRole.ADMIN).count();
-        long staffCount = allUsers.stream().filter(u -> u.getRole() == User.UserRole.STAFF).count();
-        long activeUsers = allUsers.stream().filter(User::getIsActive).count();
-        long inactiveUsers = totalUsers - activeUsers;
-        
-        stats.put("totalUsers", totalUsers);
-        stats.put("adminCount", adminCount);
-        stats.put("staffCount", staffCount);
-        stats.put("activeUsers", activeUsers);
-        stats.put("inactiveUsers", inactiveUsers);
-        
-        return stats;
+    /**
+     * Statistik user dari {@link UserStatsRegistry}; tidak menyentuh tabel users.
+     */
+    public UserStatsDto getUserStats() {
+        return userStatsRegistry.getStats();
     }
     
     private String generateRandomPassword(int length) {
@@ -352,6 +368,13 @@ public class UserService {
     }
     
     private UserDto convertToDto(User user) {
+        if (!ServerTiming.active()) {
+            return mapToDto(user);
+        }
+        return ServerTiming.measure(ServerTiming.Phase.MAPPING, () -> mapToDto(user));
+    }
+    
+    private UserDto mapToDto(User user) {
         UserDto dto = new UserDto();
         dto.setId(user.getId());
         dto.setUsername(user.getUsername());
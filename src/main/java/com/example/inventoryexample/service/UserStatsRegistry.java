@@ -0,0 +1,120 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.UserGroupCountDto;
+import com.example.inventoryexample.dto.UserStatsDto;
+import com.example.inventoryexample.entity.User;
+import com.example.inventoryexample.event.UserChangedEvent;
+import com.example.inventoryexample.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jumlah user per role dan status aktif yang disimpan di memori untuk halaman admin users.
+ *
+ * Dimuat dari satu query agregat GROUP BY saat aplikasi siap, lalu diperbarui secara
+ * inkremental setelah create/update/delete/toggle user berhasil commit. Sinkronisasi penuh
+ * berkala menutup perubahan yang dilakukan node aplikasi lain.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatsRegistry {
+    
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+    
+    private final UserRepository userRepository;
+    
+    // Indeks 0 = tidak aktif, 1 = aktif
+    private final Map<User.UserRole, long[]> counts = new EnumMap<>(User.UserRole.class);
+    
+    private long version;
+    private volatile UserStatsDto snapshot = new UserStatsDto();
+    private volatile boolean initialized;
+    
+    public UserStatsDto getStats() {
+        if (!initialized) {
+            reloadAll();
+        }
+        return snapshot;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reloadAll();
+    }
+    
+    @Scheduled(fixedDelayString = "${inventory.user-stats.resync-interval:PT15M}",
+               initialDelayString = "${inventory.user-stats.resync-interval:PT15M}")
+    public void resync() {
+        reloadAll();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        version++;
+        adjust(event.getPreviousRole(), event.getPreviouslyActive(), -1);
+        adjust(event.getRole(), event.getActive(), 1);
+        snapshot = buildSnapshot();
+    }
+    
+    /**
+     * Query agregat dijalankan di luar lock; bila ada perubahan user selama query berjalan,
+     * hasilnya mungkin sudah basi sehingga query diulang.
+     */
+    void reloadAll() {
+        for (int attempt = 1; ; attempt++) {
+            long seenVersion;
+            synchronized (this) {
+                seenVersion = version;
+            }
+            List<UserGroupCountDto> groups = userRepository.countGroupedByRoleAndActive();
+            synchronized (this) {
+                if (version == seenVersion || attempt == MAX_RELOAD_ATTEMPTS) {
+                    counts.clear();
+                    for (UserGroupCountDto group : groups) {
+                        adjust(group.getRole(), group.getIsActive(), group.getCount());
+                    }
+                    snapshot = buildSnapshot();
+                    initialized = true;
+                    log.debug("Statistik user dimuat ulang: {} user", snapshot.getTotalUsers());
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void adjust(User.UserRole role, Boolean active, long delta) {
+        if (role == null) {
+            return;
+        }
+        counts.computeIfAbsent(role, key -> new long[2])[Boolean.TRUE.equals(active) ? 1 : 0] += delta;
+    }
+    
+    private UserStatsDto buildSnapshot() {
+        long admins = 0;
+        long staff = 0;
+        long active = 0;
+        long inactive = 0;
+        for (Map.Entry<User.UserRole, long[]> entry : counts.entrySet()) {
+            long[] byStatus = entry.getValue();
+            long total = byStatus[0] + byStatus[1];
+            if (entry.getKey() == User.UserRole.ADMIN) {
+                admins += total;
+            } else if (entry.getKey() == User.UserRole.STAFF) {
+                staff += total;
+            }
+            inactive += byStatus[0];
+            active += byStatus[1];
+        }
+        return new UserStatsDto(active + inactive, admins, staff, active, inactive);
+    }
+}
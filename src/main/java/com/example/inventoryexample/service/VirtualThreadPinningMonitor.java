@@ -0,0 +1,102 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.VirtualThreadProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Mendeteksi virtual thread yang tertahan (pinned) ke carrier thread lewat event JFR
+ * jdk.VirtualThreadPinned, misalnya blok synchronized atau frame native di jalur JDBC.
+ *
+ * Selama pinned, carrier thread tidak bisa menjalankan virtual thread lain, sehingga
+ * beberapa pemanggilan blocking yang pinned cukup untuk menghentikan seluruh request.
+ * Setiap lokasi pinning dilaporkan sekali ke log beserta stack trace-nya.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int MAX_FRAMES = 12;
+    
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+    private final AtomicLong maxPinnedNanos = new AtomicLong();
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream recordingStream;
+    
+    public VirtualThreadPinningMonitor(VirtualThreadProperties properties) {
+        this.threshold = properties.getPinnedThreshold();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (recordingStream != null) {
+            return;
+        }
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+    
+    @PreDestroy
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+    
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+    
+    public double getMaxPinnedMillis() {
+        return maxPinnedNanos.get() / 1_000_000.0;
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pinnedCount.increment();
+        maxPinnedNanos.accumulateAndGet(nanos, Math::max);
+        
+        String site = describe(event.getStackTrace());
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("Virtual thread pinned selama {} ms di:\n{}", nanos / 1_000_000, site);
+        }
+    }
+    
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(stack trace tidak tersedia)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n"));
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.inventoryexample.config;
+
+import com.example.inventoryexample.exception.ServiceBusyException;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk RequestConcurrencyLimitFilter
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Batas default dari ukuran pool Hikari
+ * 2. Branch Coverage - Request di luar /api tidak dibatasi, request ditolak saat penuh
+ * 3. State Testing - Izin dikembalikan setelah request (termasuk request async) selesai atau gagal
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - RequestConcurrencyLimitFilter")
+class RequestConcurrencyLimitFilterTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    private RequestConcurrencyLimitFilter filter(int maxConcurrentRequests) {
+        VirtualThreadProperties properties = new VirtualThreadProperties();
+        properties.setMaxConcurrentRequests(maxConcurrentRequests);
+        properties.setAcquireTimeout(Duration.ofMillis(10));
+        return new RequestConcurrencyLimitFilter(dataSource, properties, handlerExceptionResolver);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    @Nested
+    @DisplayName("Test constructor - Statement Coverage")
+    class LimitTest {
+
+        @Test
+        @DisplayName("Should default to twice the Hikari pool size")
+        void constructor_WithoutLimit_UsesTwiceThePoolSize() throws Exception {
+            // Arrange
+            HikariDataSource hikari = new HikariDataSource();
+            hikari.setMaximumPoolSize(4);
+            when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+            when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+
+            // Act & Assert
+            assertEquals(8, filter(0).getMaxConcurrentRequests());
+        }
+
+        @Test
+        @DisplayName("Should use configured limit without inspecting the pool")
+        void constructor_WithLimit_UsesConfiguredValue() {
+            assertEquals(3, filter(3).getMaxConcurrentRequests());
+            verifyNoInteractions(dataSource);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test doFilter() - Branch Coverage & State Testing")
+    class FilterTest {
+
+        @Test
+        @DisplayName("Should reject with ServiceBusyException when no permit becomes free")
+        void doFilter_WhenSaturated_RejectsWithServiceBusy() throws Exception {
+            // Arrange - request kedua datang selagi request pertama masih memegang satu-satunya izin
+            RequestConcurrencyLimitFilter filter = filter(1);
+            MockHttpServletResponse secondResponse = new MockHttpServletResponse();
+            FilterChain firstChain = (request, response) -> {
+                assertEquals(1, filter.getActiveRequests());
+                filter.doFilter(request("/api/stocks"), secondResponse, mock(FilterChain.class));
+            };
+
+            // Act
+            filter.doFilter(request("/api/products"), new MockHttpServletResponse(), firstChain);
+
+            // Assert
+            verify(handlerExceptionResolver).resolveException(any(), eq(secondResponse), isNull(),
+                    isA(ServiceBusyException.class));
+            assertEquals(1, filter.getRejectedCount());
+            assertEquals(0, filter.getActiveRequests());
+        }
+
+        @Test
+        @DisplayName("Should release the permit when the request fails")
+        void doFilter_WhenChainThrows_ReleasesPermit() {
+            // Arrange
+            RequestConcurrencyLimitFilter filter = filter(1);
+            FilterChain failingChain = (request, response) -> {
+                throw new IllegalStateException("gagal");
+            };
+
+            // Act & Assert
+            assertThrows(IllegalStateException.class,
+                    () -> filter.doFilter(request("/api/products"), new MockHttpServletResponse(), failingChain));
+            assertEquals(0, filter.getActiveRequests());
+        }
+
+        @Test
+        @DisplayName("Should hold the permit until an async request completes")
+        void doFilter_WhenAsyncStarted_ReleasesPermitOnComplete() throws Exception {
+            // Arrange - export StreamingResponseBody masih berjalan setelah filter kembali
+            RequestConcurrencyLimitFilter filter = filter(1);
+            MockHttpServletRequest request = request("/api/stocks/export");
+            request.setAsyncSupported(true);
+            FilterChain asyncChain = (req, res) -> req.startAsync();
+
+            // Act
+            filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+
+            // Assert
+            assertEquals(1, filter.getActiveRequests());
+            ((MockAsyncContext) request.getAsyncContext()).complete();
+            assertEquals(0, filter.getActiveRequests());
+        }
+
+        @Test
+        @DisplayName("Should release the permit only once when an async request fails")
+        void doFilter_WhenAsyncFails_ReleasesPermitOnce() throws Exception {
+            // Arrange
+            RequestConcurrencyLimitFilter filter = filter(2);
+            MockHttpServletRequest request = request("/api/products/export");
+            request.setAsyncSupported(true);
+            FilterChain asyncChain = (req, res) -> req.startAsync();
+            filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+            MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+
+            // Act - onError diikuti onComplete
+            for (AsyncListener listener : asyncContext.getListeners()) {
+                listener.onError(new AsyncEvent(asyncContext, new IOException("klien terputus")));
+            }
+            asyncContext.complete();
+
+            // Assert
+            assertEquals(0, filter.getActiveRequests());
+        }
+
+        @Test
+        @DisplayName("Should not limit requests outside /api")
+        void doFilter_OutsideApi_PassesThrough() throws Exception {
+            // Arrange
+            RequestConcurrencyLimitFilter filter = filter(1);
+            FilterChain chain = mock(FilterChain.class);
+            FilterChain holdingChain = (request, response) ->
+                    filter.doFilter(request("/index.html"), new MockHttpServletResponse(), chain);
+
+            // Act
+            filter.doFilter(request("/api/products"), new MockHttpServletResponse(), holdingChain);
+
+            // Assert
+            verify(chain).doFilter(any(), any());
+            verifyNoInteractions(handlerExceptionResolver);
+        }
+    }
+}
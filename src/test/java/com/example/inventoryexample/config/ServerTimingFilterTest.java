@@ -0,0 +1,142 @@
+package com.example.inventoryexample.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * White Box Testing untuk ServerTimingFilter dan ServerTiming
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Isi header per fase dan jumlah query
+ * 2. Branch Coverage - Request di luar /api, login, response yang ter-commit lebih awal, tanpa collector
+ * 3. State Testing - Fase bersarang dikembalikan ke fase sebelumnya
+ */
+@DisplayName("White Box Testing - ServerTimingFilter")
+class ServerTimingFilterTest {
+
+    private static final Pattern DURATION = Pattern.compile("(\\w+);dur=([0-9.]+)");
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    private MockHttpServletResponse run(String uri, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+        return response;
+    }
+
+    private static void busy(ServerTiming.Phase phase) {
+        ServerTiming.measure(phase, () -> {
+            sleep();
+            return null;
+        });
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test header - Statement Coverage")
+    class HeaderTest {
+
+        @Test
+        @DisplayName("Should attribute nested phases exclusively and sum to total")
+        void doFilter_NestedPhases_AttributesExclusiveTime() throws Exception {
+            // Act - query lazy load di tengah mapping
+            MockHttpServletResponse response = run("/api/products", (request, servletResponse) -> {
+                busy(ServerTiming.Phase.AUTH);
+                ServerTiming.measure(ServerTiming.Phase.MAPPING, () -> {
+                    sleep();
+                    ServerTiming.countQuery();
+                    busy(ServerTiming.Phase.DB);
+                    sleep();
+                    return null;
+                });
+                ServerTiming.enter(ServerTiming.Phase.SERIALIZATION);
+                sleep();
+            });
+
+            // Assert
+            String header = response.getHeader(ServerTimingFilter.HEADER);
+            assertNotNull(header);
+            assertTrue(header.matches("auth;dur=[0-9.]+, db;dur=[0-9.]+;desc=\"1 query\", map;dur=[0-9.]+, "
+                    + "ser;dur=[0-9.]+, app;dur=[0-9.]+, total;dur=[0-9.]+"), header);
+            assertTrue(duration(header, "map") >= 4.0);
+            assertTrue(duration(header, "db") >= 2.0);
+            double phases = Arrays.stream(new String[] {"auth", "db", "map", "ser", "app"})
+                    .mapToDouble(name -> duration(header, name)).sum();
+            assertEquals(duration(header, "total"), phases, 0.3);
+        }
+
+        private double duration(String header, String name) {
+            Matcher matcher = DURATION.matcher(header);
+            while (matcher.find()) {
+                if (matcher.group(1).equals(name)) {
+                    return Double.parseDouble(matcher.group(2));
+                }
+            }
+            return fail("fase " + name + " tidak ada di " + header);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test cakupan - Branch Coverage")
+    class BranchTest {
+
+        @Test
+        @DisplayName("Should not add header outside /api")
+        void doFilter_NonApiPath_NoHeader() throws Exception {
+            MockHttpServletResponse response = run("/index.html", (request, servletResponse) ->
+                    assertNull(ServerTiming.enter(ServerTiming.Phase.DB)));
+
+            assertNull(response.getHeader(ServerTimingFilter.HEADER));
+        }
+
+        @Test
+        @DisplayName("Should not measure login so auth duration cannot reveal existing usernames")
+        void doFilter_LoginPath_NoHeader() throws Exception {
+            MockHttpServletResponse response = run("/api/auth/login", (request, servletResponse) ->
+                    assertFalse(ServerTiming.active()));
+
+            assertNull(response.getHeader(ServerTimingFilter.HEADER));
+        }
+
+        @Test
+        @DisplayName("Should write header at commit time when the body is flushed early")
+        void doFilter_ResponseFlushedEarly_WritesHeaderBeforeCommit() throws Exception {
+            MockHttpServletResponse response = run("/api/stocks", (request, servletResponse) -> {
+                assertTrue(ServerTiming.active());
+                servletResponse.flushBuffer();
+                busy(ServerTiming.Phase.DB);
+            });
+
+            String header = response.getHeader(ServerTimingFilter.HEADER);
+            assertNotNull(header);
+            assertFalse(header.contains("db;"));
+        }
+
+        @Test
+        @DisplayName("Should run measured action and clear collector after request")
+        void measure_WithoutCollector_RunsAction() throws Exception {
+            run("/api/stocks", (request, servletResponse) -> busy(ServerTiming.Phase.DB));
+
+            assertFalse(ServerTiming.active());
+            assertNull(ServerTiming.enter(ServerTiming.Phase.DB));
+            assertEquals("ok", ServerTiming.measure(ServerTiming.Phase.MAPPING, () -> "ok"));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.inventoryexample.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * White Box Testing untuk SlowQueryLog dan SlowQueryJdbcProxy (database H2 in-memory)
+ *
+ * Teknik yang digunakan:
+ * 1. Branch Coverage - Statement di atas threshold, tersampel, dan tidak dicatat
+ * 2. Statement Coverage - Isi record: jumlah baris, bentuk parameter, ukuran batch
+ * 3. State Testing - Record ditulis oleh thread terpisah dan dikosongkan saat close
+ */
+@DisplayName("White Box Testing - SlowQueryLog")
+class SlowQueryLogTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("inventory.slow-query");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final JdbcDataSource h2 = new JdbcDataSource();
+    private SlowQueryLog slowQueryLog;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        appender.start();
+        logger.addAppender(appender);
+        h2.setURL("jdbc:h2:mem:slow-query-log;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS item (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("DELETE FROM item");
+            statement.execute("INSERT INTO item VALUES (1, 'Laptop'), (2, 'Mouse'), (3, 'Keyboard')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        slowQueryLog.close();
+        logger.detachAppender(appender);
+    }
+
+    private void wrap(Duration threshold, double sampleRate) {
+        SlowQueryLogProperties properties = new SlowQueryLogProperties();
+        properties.setThreshold(threshold);
+        properties.setSampleRate(sampleRate);
+        slowQueryLog = new SlowQueryLog(properties);
+        dataSource = SlowQueryJdbcProxy.wrap(h2, slowQueryLog);
+    }
+
+    private List<ILoggingEvent> flush() throws Exception {
+        slowQueryLog.close();
+        return appender.list;
+    }
+
+    private int selectByName(String name) throws Exception {
+        int rows = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM item WHERE name <> ? OR id = ?")) {
+            statement.setString(1, name);
+            statement.setNull(2, java.sql.Types.BIGINT);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Nested
+    @DisplayName("Test pemilihan statement - Branch Coverage")
+    class ClassifyTest {
+
+        @Test
+        @DisplayName("Should log statements above threshold as one WARN line")
+        void executeQuery_AboveThreshold_LogsSlowRecord() throws Exception {
+            // Arrange
+            wrap(Duration.ZERO, 0.0);
+
+            // Act
+            int rows = selectByName("Mouse");
+            List<ILoggingEvent> events = flush();
+
+            // Assert
+            assertEquals(2, rows);
+            assertEquals(1, events.size());
+            ILoggingEvent event = events.get(0);
+            assertEquals(Level.WARN, event.getLevel());
+            assertTrue(event.getFormattedMessage().startsWith("kind=slow duration_ms="));
+            assertTrue(event.getFormattedMessage().contains(" rows=2 caller=- batch=0 params=[String(5),NULL] "));
+            assertTrue(event.getFormattedMessage().endsWith("sql=\"SELECT * FROM item WHERE name <> ? OR id = ?\""));
+            assertFalse(event.getFormattedMessage().contains("Mouse"));
+        }
+
+        @Test
+        @DisplayName("Should skip fast statements unless sampled")
+        void executeQuery_BelowThreshold_LogsOnlyWhenSampled() throws Exception {
+            // Arrange & Act - tidak ada sampling
+            wrap(Duration.ofMinutes(1), 0.0);
+            selectByName("Mouse");
+            assertTrue(flush().isEmpty());
+
+            // Arrange & Act - semua statement tersampel
+            wrap(Duration.ofMinutes(1), 1.0);
+            selectByName("Mouse");
+            List<ILoggingEvent> events = flush();
+
+            // Assert
+            assertEquals(1, events.size());
+            assertEquals(Level.INFO, events.get(0).getLevel());
+            assertTrue(events.get(0).getFormattedMessage().startsWith("kind=sampled "));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test isi record - Statement Coverage")
+    class RecordTest {
+
+        @Test
+        @DisplayName("Should report batch size and total updated rows")
+        void executeBatch_ReportsBatchSizeAndRows() throws Exception {
+            // Arrange
+            wrap(Duration.ZERO, 0.0);
+
+            // Act
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("UPDATE item SET name = ? WHERE id = ?")) {
+                for (long id = 1; id <= 3; id++) {
+                    statement.setString(1, "Item " + id);
+                    statement.setLong(2, id);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            List<ILoggingEvent> events = flush();
+
+            // Assert
+            assertEquals(1, events.size());
+            assertTrue(events.get(0).getFormattedMessage().contains(" rows=3 caller=- batch=3 params=[String(6),Long] "));
+        }
+
+        @Test
+        @DisplayName("Should describe only parameters bound since clearParameters")
+        void clearParameters_ResetsShapes() throws Exception {
+            // Arrange
+            wrap(Duration.ZERO, 0.0);
+
+            // Act - parameter 1 di-bind ulang setelah clearParameters, parameter 2 tidak
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT * FROM item WHERE id = ? OR name = ?")) {
+                statement.setString(2, "Mouse");
+                statement.clearParameters();
+                statement.setObject(1, new byte[4]);
+                statement.setLong(1, 1L);
+                statement.setString(2, "Keyboard");
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getLong(1);
+                    }
+                }
+            }
+            List<ILoggingEvent> events = flush();
+
+            // Assert
+            assertEquals(1, events.size());
+            assertTrue(events.get(0).getFormattedMessage().contains(" rows=2 caller=- batch=0 params=[Long,String(8)] "));
+        }
+
+        @Test
+        @DisplayName("Should expose the underlying pool through unwrap")
+        void wrap_KeepsUnwrapToTarget() throws Exception {
+            // Arrange
+            wrap(Duration.ZERO, 0.0);
+
+            // Act & Assert
+            assertTrue(SlowQueryJdbcProxy.isWrapped(dataSource));
+            assertTrue(dataSource.isWrapperFor(JdbcDataSource.class));
+            assertInstanceOf(JdbcDataSource.class, dataSource.unwrap(JdbcDataSource.class));
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.AuthTokenProperties;
+import com.example.inventoryexample.dto.AuthenticatedUser;
+import com.example.inventoryexample.entity.User;
+import com.example.inventoryexample.event.UserChangedEvent;
+import com.example.inventoryexample.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk AuthTokenService
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Token diterbitkan lalu diverifikasi tanpa database
+ * 2. Branch Coverage - Tanda tangan salah, format rusak, kedaluwarsa
+ * 3. State Testing - Revocation lewat versi token saat user dinonaktifkan, diaktifkan kembali,
+ *    diubah role-nya, dihapus, dan setelah restart
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - AuthTokenService")
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "kunci-rahasia-untuk-pengujian-token-32b";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthTokenService authTokenService;
+
+    private static AuthTokenProperties properties(String secret, Duration ttl) {
+        AuthTokenProperties properties = new AuthTokenProperties();
+        properties.setTokenSecret(secret);
+        properties.setTokenTtl(ttl);
+        return properties;
+    }
+
+    private static User user(long id, User.UserRole role, boolean active, int tokenVersion) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        user.setIsActive(active);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+
+    private record State(Integer getTokenVersion, Boolean getIsActive) implements UserRepository.TokenState {
+    }
+
+    private void stored(long id, int tokenVersion, boolean active) {
+        when(userRepository.findTokenStateById(id)).thenReturn(Optional.of(new State(tokenVersion, active)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        authTokenService = new AuthTokenService(userRepository, properties(SECRET, Duration.ofHours(1)));
+    }
+
+    @Nested
+    @DisplayName("Test issue() / verify() - Statement & Branch Coverage")
+    class VerifyTest {
+
+        @Test
+        @DisplayName("Should verify an issued token and read the user state only once")
+        void verify_IssuedToken_ReturnsUser() {
+            // Arrange
+            stored(7L, 0, true);
+
+            // Act
+            String token = authTokenService.issue(7L, User.UserRole.ADMIN, 0).token();
+
+            // Assert
+            assertEquals(new AuthenticatedUser(7L, User.UserRole.ADMIN), authTokenService.verify(token).orElseThrow());
+            assertTrue(authTokenService.verify(token).isPresent());
+            verify(userRepository, times(1)).findTokenStateById(7L);
+        }
+
+        @Test
+        @DisplayName("Should reject token with modified payload or signature")
+        void verify_TamperedToken_ReturnsEmpty() {
+            // Arrange
+            String token = authTokenService.issue(7L, User.UserRole.STAFF, 0).token();
+            String forgedPayload = authTokenService.issue(7L, User.UserRole.ADMIN, 0).token().split("\\.")[0];
+
+            // Act & Assert
+            assertTrue(authTokenService.verify(forgedPayload + "." + token.split("\\.")[1]).isEmpty());
+            assertTrue(authTokenService.verify(token.substring(0, token.length() - 2) + "AA").isEmpty());
+            assertTrue(authTokenService.verify("bukan-token").isEmpty());
+            assertTrue(authTokenService.verify("%%%.%%%").isEmpty());
+            assertTrue(authTokenService.verify(null).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject token signed with another secret")
+        void verify_TokenFromOtherSecret_ReturnsEmpty() {
+            AuthTokenService other = new AuthTokenService(userRepository,
+                    properties("kunci-lain-yang-juga-cukup-panjang-32b", Duration.ofHours(1)));
+
+            assertTrue(authTokenService.verify(other.issue(7L, User.UserRole.ADMIN, 0).token()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject expired token")
+        void verify_ExpiredToken_ReturnsEmpty() {
+            AuthTokenService expired = new AuthTokenService(userRepository, properties(SECRET, Duration.ofMillis(-1)));
+
+            assertTrue(expired.verify(expired.issue(7L, User.UserRole.ADMIN, 0).token()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should refuse a secret shorter than 32 bytes")
+        void constructor_WithShortSecret_Throws() {
+            assertThrows(IllegalStateException.class,
+                    () -> new AuthTokenService(userRepository, properties("pendek", Duration.ofHours(1))));
+        }
+
+        @Test
+        @DisplayName("Should refuse the publicly known example secret")
+        void constructor_WithExampleSecret_Throws() {
+            assertThrows(IllegalStateException.class, () -> new AuthTokenService(userRepository,
+                    properties("ganti-dengan-kunci-acak-minimal-32-karakter", Duration.ofHours(1))));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test revocation - State Testing")
+    class RevocationTest {
+
+        @Test
+        @DisplayName("Should reject tokens of a deactivated user until reactivated, and old tokens after that")
+        void onUserChanged_DeactivatedThenReactivated_RevokesOldTokens() {
+            // Arrange
+            stored(3L, 0, true);
+            String before = authTokenService.issue(3L, User.UserRole.STAFF, 0).token();
+            assertTrue(authTokenService.verify(before).isPresent());
+
+            // Act - dinonaktifkan
+            authTokenService.onUserChanged(UserChangedEvent.updated(User.UserRole.STAFF, true,
+                    user(3L, User.UserRole.STAFF, false, 1)));
+
+            // Assert
+            assertTrue(authTokenService.verify(before).isEmpty());
+            assertTrue(authTokenService.verify(authTokenService.issue(3L, User.UserRole.STAFF, 1).token()).isEmpty());
+
+            // Act - diaktifkan kembali
+            authTokenService.onUserChanged(UserChangedEvent.updated(User.UserRole.STAFF, false,
+                    user(3L, User.UserRole.STAFF, true, 2)));
+
+            // Assert - hanya token dengan versi baru yang berlaku
+            assertTrue(authTokenService.verify(before).isEmpty());
+            assertTrue(authTokenService.verify(authTokenService.issue(3L, User.UserRole.STAFF, 2).token()).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should revoke tokens issued with the version read before a role change")
+        void onUserChanged_RoleChanged_RevokesOldTokens() {
+            // Arrange - token login diterbitkan dengan versi yang dibaca sebelum role diubah
+            stored(4L, 0, true);
+            stored(5L, 0, true);
+            String staffToken = authTokenService.issue(4L, User.UserRole.STAFF, 0).token();
+            String otherToken = authTokenService.issue(5L, User.UserRole.STAFF, 0).token();
+            assertTrue(authTokenService.verify(staffToken).isPresent());
+            assertTrue(authTokenService.verify(otherToken).isPresent());
+
+            // Act
+            authTokenService.onUserChanged(UserChangedEvent.updated(User.UserRole.STAFF, true,
+                    user(4L, User.UserRole.ADMIN, true, 1)));
+            authTokenService.onUserChanged(UserChangedEvent.updated(User.UserRole.STAFF, true,
+                    user(5L, User.UserRole.STAFF, true, 0)));
+
+            // Assert
+            assertTrue(authTokenService.verify(staffToken).isEmpty());
+            assertTrue(authTokenService.verify(otherToken).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should not let an older state overwrite a newer one")
+        void onUserChanged_OlderState_IsIgnored() {
+            // Arrange
+            authTokenService.onUserChanged(UserChangedEvent.updated(User.UserRole.STAFF, true,
+                    user(6L, User.UserRole.ADMIN, true, 2)));
+
+            // Act
+            authTokenService.onUserChanged(UserChangedEvent.updated(User.UserRole.STAFF, true,
+                    user(6L, User.UserRole.STAFF, true, 1)));
+
+            // Assert
+            assertTrue(authTokenService.verify(authTokenService.issue(6L, User.UserRole.STAFF, 1).token()).isEmpty());
+            assertTrue(authTokenService.verify(authTokenService.issue(6L, User.UserRole.ADMIN, 2).token()).isPresent());
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject demoted and deleted users' tokens after a restart")
+        void verify_AfterRestart_UsesStoredTokenVersion() {
+            // Arrange - token diterbitkan sebelum restart
+            String demotedAdmin = authTokenService.issue(8L, User.UserRole.ADMIN, 0).token();
+            String deleted = authTokenService.issue(9L, User.UserRole.STAFF, 0).token();
+            AuthTokenService restarted = new AuthTokenService(userRepository, properties(SECRET, Duration.ofHours(1)));
+            stored(8L, 1, true);
+            when(userRepository.findTokenStateById(9L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertTrue(restarted.verify(demotedAdmin).isEmpty());
+            assertTrue(restarted.verify(deleted).isEmpty());
+            assertTrue(restarted.verify(restarted.issue(8L, User.UserRole.STAFF, 1).token()).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should reject tokens of a deleted user")
+        void onUserChanged_Deleted_RevokesAllTokens() {
+            // Arrange
+            User user = user(10L, User.UserRole.STAFF, true, 0);
+            authTokenService.onUserChanged(UserChangedEvent.created(user));
+            String token = authTokenService.issue(10L, User.UserRole.STAFF, 0).token();
+            assertTrue(authTokenService.verify(token).isPresent());
+
+            // Act
+            authTokenService.onUserChanged(UserChangedEvent.deleted(user));
+
+            // Assert
+            assertTrue(authTokenService.verify(token).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should accept a token issued by another instance after a change this instance did not see")
+        void verify_TokenWithHigherVersionFromOtherInstance_RereadsState() {
+            // Arrange - instance ini masih menyimpan versi 0
+            stored(11L, 0, true);
+            String before = authTokenService.issue(11L, User.UserRole.STAFF, 0).token();
+            assertTrue(authTokenService.verify(before).isPresent());
+            // Instance lain mengubah role dan menerbitkan token versi 1
+            stored(11L, 1, true);
+            String issuedElsewhere = authTokenService.issue(11L, User.UserRole.ADMIN, 1).token();
+
+            // Act & Assert
+            assertTrue(authTokenService.verify(issuedElsewhere).isPresent());
+            assertTrue(authTokenService.verify(before).isEmpty());
+            verify(userRepository, times(2)).findTokenStateById(11L);
+        }
+
+        @Test
+        @DisplayName("Should pick up a deactivation made on another instance once the cached state expires")
+        void verify_AfterStateTtl_RereadsState() {
+            // Arrange
+            AuthTokenProperties properties = properties(SECRET, Duration.ofHours(1));
+            properties.setTokenStateTtl(Duration.ZERO);
+            AuthTokenService service = new AuthTokenService(userRepository, properties);
+            stored(12L, 0, true);
+            String token = service.issue(12L, User.UserRole.STAFF, 0).token();
+            assertTrue(service.verify(token).isPresent());
+
+            // Act - dinonaktifkan oleh instance lain
+            stored(12L, 1, false);
+
+            // Assert
+            assertTrue(service.verify(token).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.DashboardSummaryDto;
+import com.example.inventoryexample.dto.ProductPageDto;
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.dto.StockSummaryDto;
+import com.example.inventoryexample.repository.CategoryRepository;
+import com.example.inventoryexample.repository.ProductRepository;
+import com.example.inventoryexample.repository.StockRepository;
+import com.example.inventoryexample.repository.SupplierRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk DashboardService
+ * 
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Semua field ringkasan terisi
+ * 2. Boundary Value Analysis - Batas limit top-N
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - DashboardService")
+class DashboardServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    private void stubSummary(int limit) {
+        when(stockRepository.summarize())
+            .thenReturn(new StockSummaryDto(4L, 1L, new BigDecimal("1500000.00")));
+        when(stockRepository.findMostUrgentLowStockDtos(Limit.of(limit)))
+            .thenReturn(Collections.singletonList(new StockDto()));
+        when(stockRepository.findOutOfStockDtos(Limit.of(limit))).thenReturn(Collections.emptyList());
+        when(productService.getProductPage(limit, null))
+            .thenReturn(new ProductPageDto(Collections.emptyList(), limit, null, false));
+    }
+
+    @Test
+    @DisplayName("Should build summary from aggregate queries without loading full lists")
+    void getSummary_UsesAggregateQueries() {
+        // Arrange
+        when(productRepository.count()).thenReturn(25L);
+        when(categoryRepository.count()).thenReturn(10L);
+        when(supplierRepository.count()).thenReturn(7L);
+        stubSummary(DashboardService.DEFAULT_LIMIT);
+
+        // Act
+        DashboardSummaryDto summary = dashboardService.getSummary(null);
+
+        // Assert
+        assertEquals(25L, summary.getTotalProducts());
+        assertEquals(10L, summary.getTotalCategories());
+        assertEquals(7L, summary.getTotalSuppliers());
+        assertEquals(4L, summary.getLowStockCount());
+        assertEquals(1L, summary.getOutOfStockCount());
+        assertEquals(new BigDecimal("1500000.00"), summary.getTotalInventoryValue());
+        assertEquals(1, summary.getUrgentLowStocks().size());
+        verify(productRepository, never()).findAll();
+        verify(stockRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should cap the top-N limit at the maximum")
+    void getSummary_WithHugeLimit_CapsAtMaximum() {
+        // Arrange
+        stubSummary(DashboardService.MAX_LIMIT);
+
+        // Act
+        dashboardService.getSummary(10_000);
+
+        // Assert
+        verify(stockRepository).findMostUrgentLowStockDtos(Limit.of(DashboardService.MAX_LIMIT));
+    }
+}
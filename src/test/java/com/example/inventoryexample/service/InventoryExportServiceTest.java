@@ -0,0 +1,168 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.repository.ProductRepository;
+import com.example.inventoryexample.repository.StockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk InventoryExportService
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Output NDJSON dan CSV
+ * 2. Branch Coverage - Escaping field CSV, nilai null, export kosong
+ * 3. Resource Testing - Stream query ditutup di dalam transaksi read-only
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - InventoryExportService")
+class InventoryExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryExportService inventoryExportService;
+    private ProductDto product;
+    private StockDto stock;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        inventoryExportService = new InventoryExportService(productRepository, stockRepository,
+                JsonMapper.builder().build(), transactionManager);
+
+        product = new ProductDto(1L, "Monitor 24\", IPS", "ELK-00000001", "Baris satu\nBaris dua",
+                new BigDecimal("2500000.00"), 1L, "Elektronik", 2L, "CV Elektronik Jaya",
+                5, 10, true, LocalDateTime.of(2026, 1, 2, 3, 4, 5), null);
+        stock = new StockDto(7L, 1L, "Mouse", "ELK-00000002", "Elektronik", "-", 0, 5, null, true);
+    }
+
+    private String export(ExportFormat format, boolean products) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (products) {
+            inventoryExportService.exportProducts(format, output);
+        } else {
+            inventoryExportService.exportStocks(format, output);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Test exportProducts() / exportStocks() - Statement Coverage")
+    class ExportTest {
+
+        @Test
+        @DisplayName("Should write one JSON object per line")
+        void exportProducts_AsNdjson_WritesOneObjectPerLine() {
+            // Arrange
+            ProductDto second = new ProductDto();
+            second.setId(2L);
+            second.setName("Mouse");
+            when(productRepository.streamAllDtos()).thenReturn(Stream.of(product, second));
+
+            // Act
+            String[] lines = export(ExportFormat.NDJSON, true).split("\n", -1);
+
+            // Assert - 2 objek dan diakhiri baris baru
+            assertEquals(3, lines.length);
+            assertTrue(lines[0].startsWith("{\"id\":1,"));
+            assertTrue(lines[0].contains("\"createdAt\":\"2026-01-02T03:04:05\""));
+            assertTrue(lines[1].contains("\"name\":\"Mouse\""));
+            assertEquals("", lines[2]);
+        }
+
+        @Test
+        @DisplayName("Should write header and quote fields containing separators")
+        void exportProducts_AsCsv_EscapesFields() {
+            // Arrange
+            when(productRepository.streamAllDtos()).thenReturn(Stream.of(product));
+
+            // Act
+            String csv = export(ExportFormat.CSV, true);
+
+            // Assert
+            assertTrue(csv.startsWith("id,sku,name,description,price,categoryId,categoryName,"));
+            assertTrue(csv.contains("1,ELK-00000001,\"Monitor 24\"\", IPS\",\"Baris satu\nBaris dua\",2500000.00,1,Elektronik,"));
+            assertTrue(csv.endsWith(",5,10,true,2026-01-02T03:04:05,\r\n"));
+        }
+
+        @Test
+        @DisplayName("Should export stocks with empty field for null values")
+        void exportStocks_AsCsv_WritesNullAsEmpty() {
+            // Arrange
+            when(stockRepository.streamAllDtos()).thenReturn(Stream.of(stock));
+
+            // Act
+            String csv = export(ExportFormat.CSV, false);
+
+            // Assert
+            assertEquals("id,productId,productName,productSku,categoryName,supplierName,quantity,minimumStock,lastRestockDate,isLowStock\r\n"
+                    + "7,1,Mouse,ELK-00000002,Elektronik,-,0,5,,true\r\n", csv);
+        }
+
+        @Test
+        @DisplayName("Should write nothing for an empty NDJSON export")
+        void exportStocks_WhenEmpty_WritesNothing() {
+            when(stockRepository.streamAllDtos()).thenReturn(Stream.empty());
+
+            assertEquals("", export(ExportFormat.NDJSON, false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test transaksi dan format - Branch Coverage")
+    class ResourceTest {
+
+        @Test
+        @DisplayName("Should read inside a read-only transaction and close the cursor")
+        void exportStocks_ClosesStreamInsideReadOnlyTransaction() {
+            // Arrange
+            AtomicBoolean closed = new AtomicBoolean();
+            when(stockRepository.streamAllDtos()).thenReturn(Stream.of(stock).onClose(() -> closed.set(true)));
+
+            // Act
+            export(ExportFormat.NDJSON, false);
+
+            // Assert
+            assertTrue(closed.get());
+            verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+            verify(transactionManager).commit(any());
+        }
+
+        @Test
+        @DisplayName("Should accept format names case-insensitively and reject unknown formats")
+        void exportFormat_From_ParsesOrRejects() {
+            assertEquals(ExportFormat.CSV, ExportFormat.from(" CSV "));
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> ExportFormat.from("xml"));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+        }
+    }
+}
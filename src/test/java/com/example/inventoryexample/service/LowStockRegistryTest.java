@@ -0,0 +1,135 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.event.StockChangedEvent;
+import com.example.inventoryexample.repository.StockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk LowStockRegistry
+ * 
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Bootstrap dan pembaruan per produk
+ * 2. Branch Coverage - Produk masuk / keluar dari daftar stok rendah
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - LowStockRegistry")
+class LowStockRegistryTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @InjectMocks
+    private LowStockRegistry lowStockRegistry;
+
+    private StockDto stock(long productId, int quantity, int minimumStock) {
+        return new StockDto(productId, productId, "Product " + productId, "SKU-" + productId, "-", "-",
+                quantity, minimumStock, null, quantity <= minimumStock);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(stockRepository.findLowOrOutOfStockDtos()).thenReturn(Arrays.asList(
+            stock(1L, 5, 10),
+            stock(2L, 0, 10),
+            stock(3L, 9, 10)
+        ));
+        lowStockRegistry.bootstrap();
+    }
+
+    @Test
+    @DisplayName("Should sort low stocks by shortfall ratio")
+    void getLowStocks_SortedByShortfallRatio() {
+        List<StockDto> result = lowStockRegistry.getLowStocks();
+
+        assertEquals(Arrays.asList(2L, 1L, 3L), result.stream().map(StockDto::getProductId).toList());
+        verify(stockRepository, times(1)).findLowOrOutOfStockDtos();
+    }
+
+    @Test
+    @DisplayName("Should serve out-of-stock list from memory")
+    void getOutOfStocks_ReturnsOnlyZeroQuantity() {
+        List<StockDto> result = lowStockRegistry.getOutOfStocks();
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getProductId());
+    }
+
+    @Test
+    @DisplayName("Should drop a product once it is restocked above minimum")
+    void onStockChanged_WhenRestocked_RemovesEntry() {
+        when(stockRepository.findDtosByProductIdIn(Collections.singletonList(1L)))
+            .thenReturn(Collections.singletonList(stock(1L, 50, 10)));
+
+        lowStockRegistry.onStockChanged(new StockChangedEvent(Collections.singletonList(1L)));
+
+        assertEquals(Arrays.asList(2L, 3L),
+            lowStockRegistry.getLowStocks().stream().map(StockDto::getProductId).toList());
+    }
+
+    @Test
+    @DisplayName("Should add a product that falls below minimum")
+    void onStockChanged_WhenBelowMinimum_AddsEntry() {
+        when(stockRepository.findDtosByProductIdIn(Collections.singletonList(4L)))
+            .thenReturn(Collections.singletonList(stock(4L, 1, 10)));
+
+        lowStockRegistry.onStockChanged(new StockChangedEvent(Collections.singletonList(4L)));
+
+        assertEquals(4, lowStockRegistry.getLowStocks().size());
+    }
+
+    @Test
+    @DisplayName("Should remove deleted products without querying the database")
+    void onProductChanged_WhenDeleted_RemovesEntry() {
+        lowStockRegistry.onProductChanged(ProductChangedEvent.deleted(2L, 1L));
+
+        assertTrue(lowStockRegistry.getOutOfStocks().isEmpty());
+        verify(stockRepository, never()).findDtosByProductIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should skip a stale read that finishes after a newer refresh")
+    void onStockChanged_WhenOlderReadFinishesLast_KeepsNewerStock() {
+        // Pembacaan pertama baru selesai setelah refresh berikutnya (restock) diterapkan
+        when(stockRepository.findDtosByProductIdIn(Collections.singletonList(1L)))
+            .thenAnswer(invocation -> {
+                lowStockRegistry.onStockChanged(new StockChangedEvent(Collections.singletonList(1L)));
+                return Collections.singletonList(stock(1L, 4, 10));
+            })
+            .thenReturn(Collections.singletonList(stock(1L, 50, 10)));
+
+        lowStockRegistry.onStockChanged(new StockChangedEvent(Collections.singletonList(1L)));
+
+        assertEquals(Arrays.asList(2L, 3L),
+            lowStockRegistry.getLowStocks().stream().map(StockDto::getProductId).toList());
+    }
+
+    @Test
+    @DisplayName("Should not resurrect a product deleted while an older read was in flight")
+    void onStockChanged_WhenDeletedDuringRead_KeepsEntryRemoved() {
+        when(stockRepository.findDtosByProductIdIn(Collections.singletonList(1L)))
+            .thenAnswer(invocation -> {
+                lowStockRegistry.onProductChanged(ProductChangedEvent.deleted(1L, 1L));
+                return Collections.singletonList(stock(1L, 4, 10));
+            });
+
+        lowStockRegistry.onStockChanged(new StockChangedEvent(Collections.singletonList(1L)));
+
+        assertEquals(Arrays.asList(2L, 3L),
+            lowStockRegistry.getLowStocks().stream().map(StockDto::getProductId).toList());
+    }
+}
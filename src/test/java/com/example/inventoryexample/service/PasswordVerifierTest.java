@@ -0,0 +1,137 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.PasswordVerificationProperties;
+import com.example.inventoryexample.dto.PasswordVerifierStatsDto;
+import com.example.inventoryexample.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk PasswordVerifier
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Verifikasi didelegasikan ke PasswordEncoder di pool
+ * 2. Branch Coverage - Antrean penuh dan batas waktu menghasilkan ServiceBusyException
+ * 3. State Testing - Statistik antrean dan latensi hashing
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - PasswordVerifier")
+class PasswordVerifierTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordVerifier passwordVerifier;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        PasswordVerificationProperties properties = new PasswordVerificationProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setTimeout(Duration.ofSeconds(5));
+        passwordVerifier = new PasswordVerifier(passwordEncoder, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordVerifier.shutdown();
+    }
+
+    private void blockHashing() {
+        when(passwordEncoder.matches(eq("lambat"), anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+    }
+
+    // Menunggu sampai sejumlah verifikasi sedang berjalan atau mengantre
+    private void awaitPending(int pending) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            PasswordVerifierStatsDto stats = passwordVerifier.getStats();
+            if (stats.getActiveThreads() + stats.getQueueDepth() >= pending) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Should delegate to the password encoder and record hash latency")
+    void matches_DelegatesAndRecordsStats() {
+        // Arrange
+        when(passwordEncoder.matches("rahasia", "$2a$hash")).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(passwordVerifier.matches("rahasia", "$2a$hash"));
+        PasswordVerifierStatsDto stats = passwordVerifier.getStats();
+        assertEquals(1, stats.getCompletedCount());
+        assertEquals(0, stats.getRejectedCount());
+        assertEquals(1, stats.getThreads());
+        assertTrue(stats.getMaxHashMillis() >= stats.getAverageHashMillis());
+        assertEquals(1, meterRegistry.get("inventory.password.verification").timer().count());
+        assertEquals(1, meterRegistry.get("inventory.password.verification.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when pool and queue are full")
+    void matches_WhenSaturated_ThrowsServiceBusy() throws Exception {
+        // Arrange - satu thread sibuk dan satu permintaan menunggu di antrean
+        blockHashing();
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordVerifier.matches("lambat", "x"));
+        awaitPending(1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordVerifier.matches("lambat", "x"));
+        awaitPending(2);
+
+        // Act & Assert
+        ServiceBusyException exception = assertThrows(ServiceBusyException.class,
+                () -> passwordVerifier.matches("lambat", "x"));
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertEquals(1, passwordVerifier.getStats().getQueueDepth());
+        assertEquals(1, passwordVerifier.getStats().getRejectedCount());
+        assertEquals(1, meterRegistry.get("inventory.password.verification.rejected").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.password.verification.queue").gauge().value());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should give up with ServiceBusyException when verification exceeds timeout")
+    void matches_WhenTimedOut_ThrowsServiceBusy() {
+        // Arrange
+        PasswordVerificationProperties properties = new PasswordVerificationProperties();
+        properties.setThreads(1);
+        properties.setTimeout(Duration.ofMillis(50));
+        PasswordVerifier impatient = new PasswordVerifier(passwordEncoder, properties, meterRegistry);
+        blockHashing();
+
+        // Act & Assert
+        try {
+            assertThrows(ServiceBusyException.class, () -> impatient.matches("lambat", "x"));
+            assertEquals(1, impatient.getStats().getRejectedCount());
+        } finally {
+            impatient.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.ProductSuggestionDto;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk ProductAutocompleteIndex
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Saran dari awalan nama dan SKU
+ * 2. Branch Coverage - Batas jumlah saran, duplikat, awalan kosong
+ * 3. State Testing - Index mengikuti produk yang diubah dan dihapus
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - ProductAutocompleteIndex")
+class ProductAutocompleteIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductAutocompleteIndex productAutocompleteIndex;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(productRepository.streamAllSuggestions()).thenAnswer(invocation -> Stream.of(
+                new ProductSuggestionDto(1L, "Mouse Logitech MX Master", "ELK-00000001"),
+                new ProductSuggestionDto(2L, "Monitor Dell UltraSharp", "ELK-00000002"),
+                new ProductSuggestionDto(3L, "Mouse Pad", "AKS-00000003"),
+                new ProductSuggestionDto(4L, "Elk Horn", "ELK-00000004")));
+        productAutocompleteIndex = new ProductAutocompleteIndex(productRepository, transactionManager);
+        productAutocompleteIndex.bootstrap();
+    }
+
+    private List<Long> suggestIds(String prefix, int limit) {
+        return productAutocompleteIndex.suggest(prefix, limit).stream().map(ProductSuggestionDto::getId).toList();
+    }
+
+    @Nested
+    @DisplayName("Test suggest() - Statement & Branch Coverage")
+    class SuggestTest {
+
+        @Test
+        @DisplayName("Should suggest names starting with prefix in alphabetical order")
+        void suggest_WithNamePrefix_ReturnsSortedMatches() {
+            assertEquals(List.of(1L, 3L), suggestIds("MOUSE", 10));
+            assertEquals(List.of(2L, 1L, 3L), suggestIds("mo", 10));
+        }
+
+        @Test
+        @DisplayName("Should suggest by SKU prefix regardless of separator")
+        void suggest_WithSkuPrefix_ReturnsMatches() {
+            assertEquals(List.of(3L), suggestIds("aks-0000", 10));
+        }
+
+        @Test
+        @DisplayName("Should list a product matching by name and SKU only once and respect limit")
+        void suggest_WithDuplicateMatch_DeduplicatesAndLimits() {
+            // "elk" cocok dengan SKU produk 1, 2, 4 dan nama produk 4 ("elk 0..." < "elk horn")
+            assertEquals(List.of(1L, 2L, 4L), suggestIds("elk", 10));
+            assertEquals(List.of(1L), suggestIds("elk", 1));
+        }
+
+        @Test
+        @DisplayName("Should return empty list for blank prefix")
+        void suggest_WithBlankPrefix_ReturnsEmpty() {
+            assertTrue(productAutocompleteIndex.suggest(" - ", 10).isEmpty());
+            assertTrue(productAutocompleteIndex.suggest(null, 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test onProductChanged() - State Testing")
+    class ProductChangedTest {
+
+        @Test
+        @DisplayName("Should replace old keys of an updated product")
+        void onProductChanged_WhenSaved_ReplacesKeys() {
+            // Arrange
+            when(productRepository.findSuggestionsByIdIn(List.of(3L)))
+                    .thenReturn(List.of(new ProductSuggestionDto(3L, "Keyboard Mekanik", "AKS-00000003")));
+
+            // Act
+            productAutocompleteIndex.onProductChanged(ProductChangedEvent.saved(3L));
+
+            // Assert
+            assertEquals(List.of(1L), suggestIds("mouse", 10));
+            assertEquals(List.of(3L), suggestIds("keyb", 10));
+        }
+
+        @Test
+        @DisplayName("Should drop deleted product without querying the database")
+        void onProductChanged_WhenDeleted_RemovesProduct() {
+            // Act
+            productAutocompleteIndex.onProductChanged(ProductChangedEvent.deleted(2L, 1L));
+
+            // Assert
+            assertTrue(productAutocompleteIndex.suggest("monitor", 10).isEmpty());
+            verify(productRepository, never()).findSuggestionsByIdIn(any());
+        }
+    }
+}
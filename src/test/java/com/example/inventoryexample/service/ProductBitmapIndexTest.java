@@ -0,0 +1,197 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.FacetCountDto;
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.event.StockChangedEvent;
+import com.example.inventoryexample.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk ProductBitmapIndex
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Filter kategori, supplier dan status stok
+ * 2. Branch Coverage - Kombinasi AND/OR/ANDNOT, faset yang mengabaikan filternya sendiri, paginasi
+ * 3. State Testing - Bitmap mengikuti perubahan stok dan produk yang dihapus
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - ProductBitmapIndex")
+class ProductBitmapIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBitmapIndex productBitmapIndex;
+
+    private static ProductDto product(long id, long categoryId, long supplierId, Integer quantity, int minimumStock) {
+        ProductDto dto = new ProductDto();
+        dto.setId(id);
+        dto.setCategoryId(categoryId);
+        dto.setCategoryName(categoryId == 1L ? "Elektronik" : "Furniture");
+        dto.setSupplierId(supplierId);
+        dto.setSupplierName(supplierId == 1L ? "CV Elektronik Jaya" : "PT Mebel");
+        dto.setStockQuantity(quantity);
+        dto.setMinimumStock(quantity == null ? null : minimumStock);
+        dto.setIsLowStock(quantity == null ? null : quantity <= minimumStock);
+        return dto;
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(productRepository.streamAllDtos()).thenAnswer(invocation -> Stream.of(
+                product(1L, 1L, 1L, 50, 10),
+                product(2L, 1L, 1L, 5, 10),
+                product(3L, 1L, 2L, 0, 10),
+                product(4L, 2L, 2L, 10, 10),
+                product(5L, 2L, 1L, null, 0)));
+        productBitmapIndex = new ProductBitmapIndex(productRepository, transactionManager);
+        productBitmapIndex.bootstrap();
+    }
+
+    private ProductBitmapIndex.FacetResult query(List<Long> categoryIds, List<Long> supplierIds,
+                                                 Boolean lowStock, Boolean outOfStock) {
+        return productBitmapIndex.query(
+                new ProductBitmapIndex.FacetFilter(categoryIds, supplierIds, lowStock, outOfStock), 0, 10);
+    }
+
+    @Nested
+    @DisplayName("Test query() - Statement & Branch Coverage")
+    class QueryTest {
+
+        @Test
+        @DisplayName("Should return all products newest first without filters")
+        void query_WithoutFilters_ReturnsAllDescending() {
+            ProductBitmapIndex.FacetResult result = query(null, null, null, null);
+
+            assertEquals(List.of(5L, 4L, 3L, 2L, 1L), result.productIds());
+            assertEquals(5L, result.totalItems());
+            assertEquals(List.of(new FacetCountDto(1L, "Elektronik", 3L), new FacetCountDto(2L, "Furniture", 2L)),
+                    result.categoryFacets());
+        }
+
+        @Test
+        @DisplayName("Should OR values within a dimension and AND across dimensions")
+        void query_WithCategoriesAndSupplier_CombinesFilters() {
+            ProductBitmapIndex.FacetResult result = query(List.of(1L, 2L), List.of(2L), null, null);
+
+            assertEquals(List.of(4L, 3L), result.productIds());
+        }
+
+        @Test
+        @DisplayName("Should match Stock.isLowStock() boundary and exclude products without stock when false")
+        void query_WithStockFlags_UsesLowStockBoundary() {
+            // Boundary: quantity == minimumStock termasuk stok rendah (produk 4)
+            assertEquals(List.of(4L, 3L, 2L), query(null, null, true, null).productIds());
+            assertEquals(List.of(1L), query(null, null, false, null).productIds());
+            assertEquals(List.of(4L, 2L), query(null, null, true, false).productIds());
+            assertEquals(List.of(3L), query(null, null, null, true).productIds());
+        }
+
+        @Test
+        @DisplayName("Should count each facet with every filter except its own")
+        void query_WithCategoryFilter_KeepsOtherCategoryCounts() {
+            ProductBitmapIndex.FacetResult result = query(List.of(2L), null, true, null);
+
+            assertEquals(List.of(4L), result.productIds());
+            assertEquals(List.of(new FacetCountDto(1L, "Elektronik", 2L), new FacetCountDto(2L, "Furniture", 1L)),
+                    result.categoryFacets());
+            assertEquals(List.of(new FacetCountDto(2L, "PT Mebel", 1L)), result.supplierFacets());
+        }
+
+        @Test
+        @DisplayName("Should page through matches by offset")
+        void query_WithOffset_ReturnsRequestedPage() {
+            ProductBitmapIndex.FacetResult result = productBitmapIndex.query(
+                    new ProductBitmapIndex.FacetFilter(null, null, null, null), 3, 10);
+
+            assertEquals(List.of(2L, 1L), result.productIds());
+            assertTrue(productBitmapIndex.query(
+                    new ProductBitmapIndex.FacetFilter(null, null, null, null), 5, 10).productIds().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test onStockChanged() / onProductChanged() - State Testing")
+    class ChangeTest {
+
+        @Test
+        @DisplayName("Should move product between stock bitmaps when stock changes")
+        void onStockChanged_UpdatesStockStatus() {
+            // Arrange
+            when(productRepository.findDtosByIdIn(List.of(3L))).thenReturn(List.of(product(3L, 1L, 2L, 40, 10)));
+
+            // Act
+            productBitmapIndex.onStockChanged(StockChangedEvent.of(3L));
+
+            // Assert
+            assertTrue(query(null, null, null, true).productIds().isEmpty());
+            assertEquals(List.of(3L, 1L), query(null, null, false, null).productIds());
+        }
+
+        @Test
+        @DisplayName("Should drop deleted product from every bitmap")
+        void onProductChanged_WhenDeleted_RemovesFromAllBitmaps() {
+            // Act
+            productBitmapIndex.onProductChanged(ProductChangedEvent.deleted(2L, 1L));
+
+            // Assert
+            assertEquals(4L, query(null, null, null, null).totalItems());
+            assertEquals(List.of(4L, 3L), query(null, null, true, null).productIds());
+            verify(productRepository, never()).findDtosByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("Should keep facet counts for sparse and very large product IDs")
+        void onProductChanged_WithSparseIds_KeepsFacetCounts() {
+            // Arrange - celah ID lebar seperti dari sequence pooled, dan ID mendekati batas int
+            List<Long> sparseIds = LongStream.range(1, 3_000)
+                    .map(i -> i * 700_001L)
+                    .boxed()
+                    .toList();
+            List<Long> ids = Stream.concat(sparseIds.stream(), Stream.of((long) ProductBitmapIndex.MAX_PRODUCT_ID))
+                    .toList();
+            when(productRepository.findDtosByIdIn(ids)).thenReturn(ids.stream()
+                    .map(id -> product(id, id % 2 == 0 ? 1L : 2L, 1L, 20, 10))
+                    .toList());
+            productBitmapIndex.onProductChanged(new ProductChangedEvent(ids, false, List.of(1L, 2L)));
+
+            // Act - hapus sebagian agar entri yang bertabrakan ikut bergeser
+            sparseIds.stream()
+                    .filter(id -> id % 3 == 0)
+                    .forEach(id -> productBitmapIndex.onProductChanged(ProductChangedEvent.deleted(id, 1L)));
+
+            // Assert
+            List<Long> remaining = ids.stream().filter(id -> id % 3 != 0).toList();
+            ProductBitmapIndex.FacetResult result = query(List.of(1L), null, null, null);
+            long expectedInCategory = remaining.stream().filter(id -> id % 2 == 0).count() + 3;
+            assertEquals(expectedInCategory, result.totalItems());
+            assertEquals((long) ProductBitmapIndex.MAX_PRODUCT_ID,
+                    query(null, null, null, null).productIds().get(0));
+            List<FacetCountDto> supplierFacets = query(null, null, false, null).supplierFacets();
+            assertEquals(remaining.size() + 1L, supplierFacets.stream()
+                    .filter(facet -> facet.getId() == 1L)
+                    .findFirst().orElseThrow().getCount());
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.ProductImportProperties;
+import com.example.inventoryexample.dto.ProductImportErrorDto;
+import com.example.inventoryexample.dto.ProductImportResultDto;
+import com.example.inventoryexample.entity.Category;
+import com.example.inventoryexample.entity.Product;
+import com.example.inventoryexample.entity.Supplier;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.repository.CategoryRepository;
+import com.example.inventoryexample.repository.SupplierRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk ProductImportService
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Import berhasil dibagi per batch
+ * 2. Branch Coverage - Header tidak lengkap, baris tidak valid, batch gagal disimpan
+ * 3. Boundary Value Analysis - Batas jumlah error di respons
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("White Box Testing - ProductImportService")
+class ProductImportServiceTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    @Mock
+    private SkuAllocator skuAllocator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductImportProperties importProperties;
+    private ProductImportService productImportService;
+    private final List<Product> persisted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Elektronik");
+        Supplier supplier = new Supplier();
+        supplier.setId(2L);
+        supplier.setName("CV Elektronik Jaya");
+        when(categoryRepository.findAll()).thenReturn(List.of(category));
+        when(supplierRepository.findAll()).thenReturn(List.of(supplier));
+
+        AtomicLong sequence = new AtomicLong(100);
+        when(skuAllocator.allocate(any(Category.class))).thenAnswer(invocation -> "ELK-" + sequence.get());
+        doAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            product.setId(sequence.getAndIncrement());
+            persisted.add(product);
+            return null;
+        }).when(entityManager).persist(any(Product.class));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        importProperties = new ProductImportProperties();
+        importProperties.setBatchSize(2);
+        productImportService = new ProductImportService(categoryRepository, supplierRepository, skuAllocator,
+                entityManager, new TransactionTemplate(transactionManager), eventPublisher, importProperties);
+    }
+
+    private ProductImportResultDto importCsv(String csv) {
+        return productImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Nested
+    @DisplayName("Test importCsv() - Statement Coverage")
+    class ImportSuccessTest {
+
+        @Test
+        @DisplayName("Should save rows in batches, one transaction and one event per batch")
+        void importCsv_WithValidRows_SavesInBatches() {
+            // Arrange - 3 baris dengan batch size 2
+            String csv = "name,price,category,supplier,quantity,minimumStock\n"
+                    + "Kabel HDMI,75000,Elektronik,CV Elektronik Jaya,10,2\n"
+                    + "Mouse,120000,elektronik,cv elektronik jaya,,\n"
+                    + "Keyboard,350000,Elektronik,CV Elektronik Jaya,5,1\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertEquals(3, result.getTotalRows());
+            assertEquals(3, result.getImportedRows());
+            assertEquals(0, result.getFailedRows());
+            verify(transactionManager, times(2)).commit(any());
+            verify(entityManager, times(2)).flush();
+            verify(entityManager, times(2)).clear();
+            verify(eventPublisher).publishEvent(new ProductChangedEvent(List.of(100L, 101L), false, List.of(1L)));
+            verify(eventPublisher).publishEvent(new ProductChangedEvent(List.of(102L), false, List.of(1L)));
+            verify(entityManager, times(3)).getReference(Category.class, 1L);
+            verify(entityManager, times(3)).getReference(Supplier.class, 2L);
+            verify(categoryRepository, times(1)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should map columns by header name and apply stock defaults")
+        void importCsv_WithReorderedColumns_MapsByHeader() {
+            // Arrange
+            String csv = "Supplier,Category,Price,Name\n"
+                    + "CV Elektronik Jaya,Elektronik,99.50,Flashdisk\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertEquals(1, result.getImportedRows());
+            Product product = persisted.get(0);
+            assertEquals("Flashdisk", product.getName());
+            assertEquals(new BigDecimal("99.50"), product.getPrice());
+            assertEquals("ELK-100", product.getSku());
+            assertEquals(0, product.getStock().getQuantity());
+            assertEquals(10, product.getStock().getMinimumStock());
+            assertSame(product, product.getStock().getProduct());
+        }
+
+        @Test
+        @DisplayName("Should parse quoted fields containing commas, quotes and line breaks")
+        void importCsv_WithQuotedFields_ParsesRfc4180() {
+            // Arrange
+            String csv = "\uFEFFname,description,price,category,supplier\n"
+                    + "\"Monitor 24\"\", IPS\",\"Baris satu\nBaris dua\",2500000,Elektronik,CV Elektronik Jaya\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertEquals(1, result.getImportedRows());
+            assertEquals("Monitor 24\", IPS", persisted.get(0).getName());
+            assertEquals("Baris satu\nBaris dua", persisted.get(0).getDescription());
+        }
+
+        @Test
+        @DisplayName("Should accept CRLF line endings inside and between records")
+        void importCsv_WithCrLf_ParsesRecords() {
+            // Arrange
+            String csv = "name,description,price,category,supplier\r\n"
+                    + "Mouse,\"Baris satu\r\nBaris dua\",1000,Elektronik,CV Elektronik Jaya\r\n"
+                    + "Keyboard,,2000,Elektronik,CV Elektronik Jaya\r\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertEquals(2, result.getImportedRows());
+            assertEquals("Baris satu\nBaris dua", persisted.get(0).getDescription());
+            assertEquals(new BigDecimal("2000"), persisted.get(1).getPrice());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test importCsv() - Branch Coverage")
+    class ImportErrorTest {
+
+        @Test
+        @DisplayName("Should reject file without required columns")
+        void importCsv_WithMissingColumns_ThrowsException() {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> importCsv("name,price\nMouse,1000\n"));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+            assertTrue(exception.getMessage().contains("category, supplier"));
+        }
+
+        @Test
+        @DisplayName("Should stop at an unterminated quote and keep the rows read before it")
+        void importCsv_WithUnterminatedQuote_ReturnsPartialResult() {
+            // Arrange
+            String csv = "name,description,price,category,supplier\n"
+                    + "Mouse,,1000,Elektronik,CV Elektronik Jaya\n"
+                    + "Keyboard,\"tanpa penutup,2000,Elektronik,CV Elektronik Jaya\n"
+                    + "Monitor,,3000,Elektronik,CV Elektronik Jaya\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertTrue(result.isAborted());
+            assertEquals(2, result.getTotalRows());
+            assertEquals(1, result.getImportedRows());
+            assertEquals(1, result.getFailedRows());
+            assertEquals(3, result.getErrors().get(0).getLineNumber());
+            assertTrue(result.getErrors().get(0).getMessage().contains("tidak ditutup"));
+            assertEquals(List.of("Mouse"), persisted.stream().map(Product::getName).toList());
+        }
+
+        @Test
+        @DisplayName("Should stop once a field exceeds the maximum length instead of buffering the file")
+        void importCsv_WithOverlongField_StopsAtLimit() {
+            // Arrange - Boundary: field 21 karakter dengan batas 20, sisa file tidak dibaca
+            importProperties.setMaxFieldLength(20);
+            String csv = "name,description,price,category,supplier\n"
+                    + "Mouse,\"" + "x".repeat(21) + "\",1000,Elektronik,CV Elektronik Jaya\n"
+                    + "Keyboard,\"" + "x".repeat(20) + "\",2000,Elektronik,CV Elektronik Jaya\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertTrue(result.isAborted());
+            assertEquals(0, result.getImportedRows());
+            assertEquals(2, result.getErrors().get(0).getLineNumber());
+            assertTrue(result.getErrors().get(0).getMessage().contains("lebih dari 20 karakter"));
+        }
+
+        @Test
+        @DisplayName("Should reject a header with an unterminated quote")
+        void importCsv_WithBrokenHeader_ThrowsException() {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> importCsv("name,\"price\n"));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+        }
+
+        @Test
+        @DisplayName("Should reject empty file")
+        void importCsv_WithEmptyFile_ThrowsException() {
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> importCsv(""));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+        }
+
+        @Test
+        @DisplayName("Should skip invalid rows and report their line numbers")
+        void importCsv_WithInvalidRows_ReportsErrors() {
+            // Arrange
+            String csv = "name,price,category,supplier,quantity\n"
+                    + "Mouse,abc,Elektronik,CV Elektronik Jaya,1\n"
+                    + "Mouse,1000,Furniture,CV Elektronik Jaya,1\n"
+                    + "Mouse,1000,Elektronik,PT Lain,1\n"
+                    + "Mouse,1000,Elektronik,CV Elektronik Jaya,-1\n"
+                    + ",1000,Elektronik,CV Elektronik Jaya,1\n"
+                    + "\n"
+                    + "Mouse,1000,Elektronik,CV Elektronik Jaya,1\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertEquals(6, result.getTotalRows());
+            assertEquals(1, result.getImportedRows());
+            assertEquals(5, result.getFailedRows());
+            assertEquals(List.of(2, 3, 4, 5, 6),
+                    result.getErrors().stream().map(ProductImportErrorDto::getLineNumber).toList());
+            assertTrue(result.getErrors().get(1).getMessage().contains("Kategori 'Furniture'"));
+            assertFalse(result.isErrorsTruncated());
+        }
+
+        @Test
+        @DisplayName("Should cap the number of reported errors")
+        void importCsv_WithManyErrors_TruncatesErrorList() {
+            // Arrange - Boundary: 3 error dengan batas 2
+            importProperties.setMaxErrors(2);
+            String csv = "name,price,category,supplier\n"
+                    + "A,0,Elektronik,CV Elektronik Jaya\n"
+                    + "B,0,Elektronik,CV Elektronik Jaya\n"
+                    + "C,0,Elektronik,CV Elektronik Jaya\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertEquals(3, result.getFailedRows());
+            assertEquals(2, result.getErrors().size());
+            assertTrue(result.isErrorsTruncated());
+        }
+
+        @Test
+        @DisplayName("Should roll back a failing batch and continue with the next one")
+        void importCsv_WhenBatchFails_ReportsBatchRowsAndContinues() {
+            // Arrange - Flush batch pertama gagal, batch kedua berhasil
+            doThrow(new PersistenceException("duplicate key")).doNothing().when(entityManager).flush();
+            String csv = "name,price,category,supplier\n"
+                    + "A,1000,Elektronik,CV Elektronik Jaya\n"
+                    + "B,1000,Elektronik,CV Elektronik Jaya\n"
+                    + "C,1000,Elektronik,CV Elektronik Jaya\n";
+
+            // Act
+            ProductImportResultDto result = importCsv(csv);
+
+            // Assert
+            assertEquals(1, result.getImportedRows());
+            assertEquals(2, result.getFailedRows());
+            assertEquals(List.of(2, 3),
+                    result.getErrors().stream().map(ProductImportErrorDto::getLineNumber).toList());
+            verify(transactionManager).rollback(any());
+            ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+            verify(eventPublisher, times(1)).publishEvent(event.capture());
+            assertEquals(List.of(102L), event.getValue().getProductIds());
+        }
+    }
+}
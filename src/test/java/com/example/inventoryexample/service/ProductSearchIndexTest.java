@@ -0,0 +1,189 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk ProductSearchIndex
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Pencarian substring dan awalan kata pada nama, SKU, deskripsi
+ * 2. Branch Coverage - Ranking, batas top-K, kata kunci terlalu pendek
+ * 3. State Testing - Index mengikuti produk yang diubah dan dihapus
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - ProductSearchIndex")
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductSearchIndex productSearchIndex;
+
+    private static ProductDto product(long id, String name, String sku, String description) {
+        ProductDto dto = new ProductDto();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setSku(sku);
+        dto.setDescription(description);
+        return dto;
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(productRepository.streamAllDtos()).thenAnswer(invocation -> Stream.of(
+                product(1L, "Laptop Dell XPS 13", "KMP-00000001", "Laptop premium dengan Intel Core i7"),
+                product(2L, "Mouse Logitech MX Master", "ELK-00000002", "Mouse wireless untuk laptop"),
+                product(3L, "Monitor Dell UltraSharp", "ELK-00000003", null),
+                product(4L, "Kabel HDMI", "ELK-00000004", "Kabel 2 meter")));
+        productSearchIndex = new ProductSearchIndex(productRepository, transactionManager);
+        productSearchIndex.bootstrap();
+    }
+
+    @Nested
+    @DisplayName("Test search() - Statement Coverage")
+    class SearchTest {
+
+        @Test
+        @DisplayName("Should match a substring inside a word")
+        void search_WithInnerSubstring_FindsProduct() {
+            assertEquals(List.of(1L, 2L), productSearchIndex.search("apto", 10));
+        }
+
+        @Test
+        @DisplayName("Should match two-character keywords only as word prefix")
+        void search_WithTwoCharacters_MatchesWordPrefix() {
+            assertEquals(List.of(2L), productSearchIndex.search("mx", 10));
+            assertTrue(productSearchIndex.search("ab", 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should require every keyword and ignore case and punctuation")
+        void search_WithSeveralKeywords_RequiresAll() {
+            assertEquals(List.of(3L), productSearchIndex.search("DELL, ultra", 10));
+        }
+
+        @Test
+        @DisplayName("Should find product by SKU regardless of separator")
+        void search_WithSku_FindsProduct() {
+            assertEquals(List.of(4L), productSearchIndex.search("elk 00000004", 10));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test search() - Branch Coverage")
+    class RankingTest {
+
+        @Test
+        @DisplayName("Should rank name matches above description matches")
+        void search_NameMatch_RanksAboveDescriptionMatch() {
+            // "laptop" ada di nama produk 1 dan hanya di deskripsi produk 2
+            assertEquals(List.of(1L, 2L), productSearchIndex.search("laptop", 10));
+        }
+
+        @Test
+        @DisplayName("Should rank exact SKU first")
+        void search_ExactSku_RanksFirst() {
+            assertEquals(3L, productSearchIndex.search("ELK-00000003", 10).get(0));
+        }
+
+        @Test
+        @DisplayName("Should return at most limit results")
+        void search_WithLimit_ReturnsTopK() {
+            // Produk 1 dan 3 sama-sama "dell"; yang terakhir diindeks menang saat skor sama
+            assertEquals(List.of(3L), productSearchIndex.search("dell", 1));
+        }
+
+        @Test
+        @DisplayName("Should return empty list for too short query without touching the database")
+        void search_WithShortQuery_ReturnsEmpty() {
+            assertTrue(productSearchIndex.search(" a ", 10).isEmpty());
+            assertTrue(productSearchIndex.search(null, 10).isEmpty());
+            verify(productRepository, times(1)).streamAllDtos();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test onProductChanged() - State Testing")
+    class ProductChangedTest {
+
+        @Test
+        @DisplayName("Should reindex updated product")
+        void onProductChanged_WhenSaved_ReindexesProduct() {
+            // Arrange
+            when(productRepository.findDtosByIdIn(List.of(4L)))
+                    .thenReturn(List.of(product(4L, "Kabel DisplayPort", "ELK-00000004", null)));
+
+            // Act
+            productSearchIndex.onProductChanged(ProductChangedEvent.saved(4L));
+
+            // Assert
+            assertTrue(productSearchIndex.search("hdmi", 10).isEmpty());
+            assertEquals(List.of(4L), productSearchIndex.search("displayport", 10));
+        }
+
+        @Test
+        @DisplayName("Should drop deleted product")
+        void onProductChanged_WhenDeleted_RemovesProduct() {
+            // Act
+            productSearchIndex.onProductChanged(ProductChangedEvent.deleted(1L, 1L));
+
+            // Assert
+            assertEquals(List.of(3L), productSearchIndex.search("dell", 10));
+            verify(productRepository, never()).findDtosByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("Should drop product that no longer exists when refreshed")
+        void onProductChanged_WhenProductGone_RemovesProduct() {
+            // Arrange
+            when(productRepository.findDtosByIdIn(List.of(2L))).thenReturn(List.of());
+
+            // Act
+            productSearchIndex.onProductChanged(ProductChangedEvent.saved(2L));
+
+            // Assert
+            assertTrue(productSearchIndex.search("logitech", 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should skip a stale read that finishes after a newer refresh")
+        void onProductChanged_WhenOlderReadFinishesLast_KeepsNewerProduct() {
+            // Arrange: pembacaan pertama baru selesai setelah refresh berikutnya diterapkan
+            when(productRepository.findDtosByIdIn(List.of(4L)))
+                    .thenAnswer(invocation -> {
+                        productSearchIndex.onProductChanged(ProductChangedEvent.saved(4L));
+                        return List.of(product(4L, "Kabel HDMI", "ELK-00000004", null));
+                    })
+                    .thenReturn(List.of(product(4L, "Kabel DisplayPort", "ELK-00000004", null)));
+
+            // Act
+            productSearchIndex.onProductChanged(ProductChangedEvent.saved(4L));
+
+            // Assert
+            assertTrue(productSearchIndex.search("hdmi", 10).isEmpty());
+            assertEquals(List.of(4L), productSearchIndex.search("displayport", 10));
+        }
+    }
+}
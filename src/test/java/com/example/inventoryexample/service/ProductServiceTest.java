@@ -1,10 +1,16 @@
 package com.example.inventoryexample.service;
 
+import com.example.inventoryexample.dto.FacetCountDto;
 import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.dto.ProductPageDto;
+import com.example.inventoryexample.dto.ProductQueryRequest;
+import com.example.inventoryexample.dto.ProductQueryResultDto;
+import com.example.inventoryexample.dto.ProductSuggestionDto;
 import com.example.inventoryexample.entity.Category;
 import com.example.inventoryexample.entity.Product;
 import com.example.inventoryexample.entity.Stock;
 import com.example.inventoryexample.entity.Supplier;
+import com.example.inventoryexample.event.ProductChangedEvent;
 import com.example.inventoryexample.repository.CategoryRepository;
 import com.example.inventoryexample.repository.ProductRepository;
 import com.example.inventoryexample.repository.SupplierRepository;
@@ -16,8 +22,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -50,6 +61,21 @@ class ProductServiceTest {
     @Mock
     private SupplierRepository supplierRepository;
 
+    @Mock
+    private SkuAllocator skuAllocator;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductAutocompleteIndex productAutocompleteIndex;
+
+    @Mock
+    private ProductBitmapIndex productBitmapIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService productService;
 
@@ -109,7 +135,7 @@ class ProductServiceTest {
         @DisplayName("Should return list of products when products exist")
         void getAllProducts_WhenProductsExist_ReturnsProductDtoList() {
             // Arrange
-            when(productRepository.findAll()).thenReturn(Arrays.asList(product));
+            when(productRepository.findAllWithDetails()).thenReturn(Arrays.asList(product));
 
             // Act
             List<ProductDto> result = productService.getAllProducts();
@@ -118,14 +144,14 @@ class ProductServiceTest {
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals("Test Product", result.get(0).getName());
-            verify(productRepository, times(1)).findAll();
+            verify(productRepository, times(1)).findAllWithDetails();
         }
 
         @Test
         @DisplayName("Should return empty list when no products exist")
         void getAllProducts_WhenNoProducts_ReturnsEmptyList() {
             // Arrange
-            when(productRepository.findAll()).thenReturn(Collections.emptyList());
+            when(productRepository.findAllWithDetails()).thenReturn(Collections.emptyList());
 
             // Act
             List<ProductDto> result = productService.getAllProducts();
@@ -136,6 +162,84 @@ class ProductServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Test getProductPage() - Path Coverage")
+    class GetProductPageTest {
+
+        private Product productAt(long id, LocalDateTime createdAt) {
+            Product p = new Product();
+            p.setId(id);
+            p.setName("Product " + id);
+            p.setCategory(category);
+            p.setSupplier(supplier);
+            p.setCreatedAt(createdAt);
+            return p;
+        }
+
+        @Test
+        @DisplayName("Should return cursor when more rows exist than page size")
+        void getProductPage_WhenMoreRows_ReturnsNextCursor() {
+            // Arrange - repository returns size + 1 rows
+            LocalDateTime now = LocalDateTime.of(2026, 1, 1, 10, 0);
+            when(productRepository.findFirstPage(Limit.of(3))).thenReturn(Arrays.asList(
+                productAt(3L, now), productAt(2L, now), productAt(1L, now.minusDays(1))));
+
+            // Act
+            ProductPageDto page = productService.getProductPage(2, null);
+
+            // Assert
+            assertEquals(2, page.getItems().size());
+            assertTrue(page.getHasMore());
+            assertNotNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor position")
+        void getProductPage_WithCursor_QueriesAfterLastRow() {
+            // Arrange
+            LocalDateTime now = LocalDateTime.of(2026, 1, 1, 10, 0);
+            when(productRepository.findFirstPage(Limit.of(2))).thenReturn(Arrays.asList(
+                productAt(3L, now), productAt(2L, now)));
+            String cursor = productService.getProductPage(1, null).getNextCursor();
+            when(productRepository.findPageAfter(now, 3L, Limit.of(2)))
+                .thenReturn(Collections.singletonList(productAt(2L, now)));
+
+            // Act
+            ProductPageDto page = productService.getProductPage(1, cursor);
+
+            // Assert
+            assertEquals(1, page.getItems().size());
+            assertFalse(page.getHasMore());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should continue among undated products when the last row has no createdAt")
+        void getProductPage_WithUndatedCursor_QueriesUndatedRows() {
+            // Arrange - produk tanpa created_at berada di akhir urutan
+            when(productRepository.findFirstPage(Limit.of(2))).thenReturn(Arrays.asList(
+                productAt(5L, null), productAt(4L, null)));
+            String cursor = productService.getProductPage(1, null).getNextCursor();
+            when(productRepository.findUndatedPageAfter(5L, Limit.of(2)))
+                .thenReturn(Collections.singletonList(productAt(4L, null)));
+
+            // Act
+            ProductPageDto page = productService.getProductPage(1, cursor);
+
+            // Assert
+            assertEquals(4L, page.getItems().get(0).getId());
+            verify(productRepository, never()).findPageAfter(any(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void getProductPage_WithInvalidCursor_ThrowsException() {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> productService.getProductPage(10, "bukan-cursor"));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+        }
+    }
+
     @Nested
     @DisplayName("Test getProductById() - Branch Coverage")
     class GetProductByIdTest {
@@ -180,6 +284,7 @@ class ProductServiceTest {
             // Arrange - Happy path
             when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
             when(supplierRepository.findById(1L)).thenReturn(Optional.of(supplier));
+            when(skuAllocator.allocate(category)).thenReturn("PRD-00000001");
             when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
                 Product savedProduct = invocation.getArgument(0);
                 savedProduct.setId(1L);
@@ -192,6 +297,7 @@ class ProductServiceTest {
             // Assert
             assertNotNull(result);
             assertEquals("New Product", result.getName());
+            assertEquals("PRD-00000001", result.getSku());
             verify(productRepository, times(1)).save(any(Product.class));
         }
 
@@ -292,9 +398,30 @@ class ProductServiceTest {
             // Act
             ProductDto result = productService.updateProduct(1L, productDto);
 
-            // Assert
+            // Assert - kategori tidak berubah, jumlah produk kategori tetap
             assertNotNull(result);
             verify(productRepository, times(1)).save(product);
+            verify(eventPublisher).publishEvent(ProductChangedEvent.saved(1L));
+        }
+
+        @Test
+        @DisplayName("Should report both categories when the product moves to another category")
+        void updateProduct_WhenCategoryChanges_ReportsBothCategories() {
+            // Arrange
+            Category other = new Category();
+            other.setId(2L);
+            other.setName("Aksesoris");
+            productDto.setCategoryId(2L);
+            when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+            when(categoryRepository.findById(2L)).thenReturn(Optional.of(other));
+            when(supplierRepository.findById(1L)).thenReturn(Optional.of(supplier));
+            when(productRepository.save(any(Product.class))).thenReturn(product);
+
+            // Act
+            productService.updateProduct(1L, productDto);
+
+            // Assert
+            verify(eventPublisher).publishEvent(ProductChangedEvent.saved(1L, List.of(1L, 2L)));
         }
 
         @Test
@@ -342,21 +469,21 @@ class ProductServiceTest {
         @DisplayName("Should delete product when exists")
         void deleteProduct_WhenProductExists_DeletesSuccessfully() {
             // Arrange - Path: product exists
-            when(productRepository.existsById(1L)).thenReturn(true);
-            doNothing().when(productRepository).deleteById(1L);
+            when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 
             // Act
             productService.deleteProduct(1L);
 
-            // Assert
-            verify(productRepository, times(1)).deleteById(1L);
+            // Assert - jumlah produk kategorinya berkurang
+            verify(productRepository, times(1)).delete(product);
+            verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(1L, 1L));
         }
 
         @Test
         @DisplayName("Should throw exception when product not found")
         void deleteProduct_WhenProductNotFound_ThrowsException() {
             // Arrange - Path: product not found
-            when(productRepository.existsById(anyLong())).thenReturn(false);
+            when(productRepository.findById(anyLong())).thenReturn(Optional.empty());
 
             // Act & Assert
             RuntimeException exception = assertThrows(
@@ -364,41 +491,148 @@ class ProductServiceTest {
                 () -> productService.deleteProduct(999L)
             );
             assertTrue(exception.getMessage().contains("tidak ditemukan"));
-            verify(productRepository, never()).deleteById(anyLong());
+            verify(productRepository, never()).delete(any(Product.class));
         }
     }
 
     @Nested
-    @DisplayName("Test searchProductsByName() - Statement Coverage")
+    @DisplayName("Test searchProducts() - Statement & Branch Coverage")
     class SearchProductsTest {
 
         @Test
-        @DisplayName("Should return matching products")
-        void searchProductsByName_WhenMatches_ReturnsProducts() {
-            // Arrange
-            when(productRepository.findByNameContainingIgnoreCase("Test"))
-                .thenReturn(Arrays.asList(product));
+        @DisplayName("Should return products in the order ranked by the search index")
+        void searchProducts_WhenMatches_KeepsIndexRanking() {
+            // Arrange - Database mengembalikan urutan berbeda dari ranking index
+            ProductDto first = new ProductDto();
+            first.setId(2L);
+            ProductDto second = new ProductDto();
+            second.setId(1L);
+            when(productSearchIndex.search("Test", 20)).thenReturn(Arrays.asList(2L, 1L));
+            when(productRepository.findDtosByIdIn(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(second, first));
 
             // Act
-            List<ProductDto> result = productService.searchProductsByName("Test");
+            List<ProductDto> result = productService.searchProducts("Test", null);
 
             // Assert
-            assertNotNull(result);
-            assertEquals(1, result.size());
+            assertEquals(Arrays.asList(2L, 1L), result.stream().map(ProductDto::getId).toList());
         }
 
         @Test
-        @DisplayName("Should return empty list when no matches")
-        void searchProductsByName_WhenNoMatches_ReturnsEmptyList() {
+        @DisplayName("Should return empty list without querying the database when no matches")
+        void searchProducts_WhenNoMatches_ReturnsEmptyList() {
             // Arrange
-            when(productRepository.findByNameContainingIgnoreCase("NonExistent"))
-                .thenReturn(Collections.emptyList());
+            when(productSearchIndex.search("NonExistent", 5)).thenReturn(Collections.emptyList());
 
             // Act
-            List<ProductDto> result = productService.searchProductsByName("NonExistent");
+            List<ProductDto> result = productService.searchProducts("NonExistent", 5);
 
             // Assert
             assertTrue(result.isEmpty());
+            verify(productRepository, never()).findDtosByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("Should reject limit outside 1-100")
+        void searchProducts_WithInvalidLimit_ThrowsException() {
+            // Boundary: 0 dan 101
+            assertThrows(RuntimeException.class, () -> productService.searchProducts("Test", 0));
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> productService.searchProducts("Test", 101));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+        }
+
+        @Test
+        @DisplayName("Should return autocomplete suggestions from the index without querying the database")
+        void autocompleteProducts_UsesIndexOnly() {
+            // Arrange
+            List<ProductSuggestionDto> suggestions = List.of(new ProductSuggestionDto(1L, "Test Product", "TEST-001"));
+            when(productAutocompleteIndex.suggest("tes", 10)).thenReturn(suggestions);
+
+            // Act
+            List<ProductSuggestionDto> result = productService.autocompleteProducts("tes", null);
+
+            // Assert
+            assertEquals(suggestions, result);
+            verifyNoInteractions(productRepository);
+            assertThrows(RuntimeException.class, () -> productService.autocompleteProducts("tes", 51));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test queryProducts() - Branch Coverage")
+    class QueryProductsTest {
+
+        @Test
+        @DisplayName("Should escape LIKE wildcards and return page with facets")
+        void queryProducts_WithFilters_ReturnsPageAndFacets() {
+            // Arrange
+            ProductQueryRequest request = new ProductQueryRequest();
+            request.setQ(" 50%_Off ");
+            request.setCategoryId(1L);
+            request.setLowStock(true);
+            request.setPage(1);
+            request.setSize(2);
+            List<FacetCountDto> categoryFacets = List.of(new FacetCountDto(1L, "Elektronik", 3L));
+            List<FacetCountDto> supplierFacets = List.of(new FacetCountDto(1L, "Test Supplier", 3L));
+            when(productRepository.findDtosByFilter("%50!%!_off%", 1L, null, null, null, true, null, PageRequest.of(1, 2)))
+                .thenReturn(new PageImpl<>(List.of(productDto), PageRequest.of(1, 2), 3));
+            when(productRepository.countByCategoryForFilter("%50!%!_off%", null, null, null, true, null))
+                .thenReturn(categoryFacets);
+            when(productRepository.countBySupplierForFilter("%50!%!_off%", 1L, null, null, true, null))
+                .thenReturn(supplierFacets);
+
+            // Act
+            ProductQueryResultDto result = productService.queryProducts(request);
+
+            // Assert
+            assertEquals(List.of(productDto), result.getItems());
+            assertEquals(3L, result.getTotalItems());
+            assertEquals(2, result.getTotalPages());
+            assertEquals(categoryFacets, result.getCategoryFacets());
+            assertEquals(supplierFacets, result.getSupplierFacets());
+            verifyNoInteractions(productBitmapIndex);
+        }
+
+        @Test
+        @DisplayName("Should serve category, supplier and stock filters from the bitmap index")
+        void queryProducts_WithFacetFiltersOnly_UsesBitmapIndex() {
+            // Arrange
+            ProductQueryRequest request = new ProductQueryRequest();
+            request.setSupplierId(1L);
+            request.setOutOfStock(false);
+            request.setPage(2);
+            request.setSize(5);
+            List<FacetCountDto> categoryFacets = List.of(new FacetCountDto(1L, "Elektronik", 11L));
+            when(productBitmapIndex.query(
+                    new ProductBitmapIndex.FacetFilter(null, List.of(1L), null, false), 10, 5))
+                .thenReturn(new ProductBitmapIndex.FacetResult(List.of(1L), 11L, categoryFacets, List.of()));
+            productDto.setId(1L);
+            when(productRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(productDto));
+
+            // Act
+            ProductQueryResultDto result = productService.queryProducts(request);
+
+            // Assert
+            assertEquals(List.of(productDto), result.getItems());
+            assertEquals(11L, result.getTotalItems());
+            assertEquals(3, result.getTotalPages());
+            assertEquals(categoryFacets, result.getCategoryFacets());
+            verify(productRepository, never()).findDtosByFilter(any(), any(), any(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject price range where minPrice is greater than maxPrice")
+        void queryProducts_WithInvertedPriceRange_ThrowsException() {
+            // Arrange
+            ProductQueryRequest request = new ProductQueryRequest();
+            request.setMinPrice(new BigDecimal("200"));
+            request.setMaxPrice(new BigDecimal("100"));
+
+            // Act & Assert
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> productService.queryProducts(request));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+            verifyNoInteractions(productRepository);
         }
     }
 
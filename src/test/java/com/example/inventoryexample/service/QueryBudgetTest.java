@@ -0,0 +1,308 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.CategoryDto;
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.dto.ProductPageDto;
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.dto.StockMutationResult;
+import com.example.inventoryexample.entity.Category;
+import com.example.inventoryexample.entity.Product;
+import com.example.inventoryexample.entity.Stock;
+import com.example.inventoryexample.entity.Supplier;
+import com.example.inventoryexample.repository.CategoryRepository;
+import com.example.inventoryexample.repository.ProductRepository;
+import com.example.inventoryexample.repository.StockRepository;
+import com.example.inventoryexample.repository.SupplierRepository;
+import com.example.inventoryexample.support.QueryCounter;
+import com.example.inventoryexample.support.QueryCountingTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Testing jumlah query SQL per pemanggilan service (database H2 in-memory)
+ *
+ * Teknik yang digunakan:
+ * 1. Query Counting - Setiap listing punya batas SELECT yang tidak bergantung pada jumlah baris,
+ *    sehingga lazy load per baris (N+1) langsung menggagalkan build
+ * 2. Boundary Value Analysis - Status stok rendah dihitung oleh query, diuji di batas minimumStock
+ * 3. Path Coverage - Keyset pagination melewati semua produk, termasuk yang created_at-nya NULL
+ */
+@QueryCountingTest
+@DisplayName("Integration Testing - Query budget service")
+class QueryBudgetTest {
+
+    private static final int PRODUCTS = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockMutationEngine stockMutationEngine;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static Long categoryId;
+    private static Long supplierId;
+
+    @BeforeEach
+    void setUp() {
+        // Cache DTO dikosongkan agar yang diukur adalah query ke database
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        if (categoryId != null) {
+            return;
+        }
+        Category category = new Category();
+        category.setName("Kategori Budget " + System.nanoTime());
+        categoryId = categoryRepository.save(category).getId();
+        Supplier supplier = new Supplier();
+        supplier.setName("Supplier Budget");
+        supplier.setAddress("Jl. Budget");
+        supplier.setEmail("budget-" + System.nanoTime() + "@example.com");
+        supplierId = supplierRepository.save(supplier).getId();
+        for (int i = 0; i < PRODUCTS; i++) {
+            ProductDto product = new ProductDto();
+            product.setName("Produk Budget " + i);
+            product.setPrice(new BigDecimal("1000"));
+            product.setCategoryId(categoryId);
+            product.setSupplierId(supplierId);
+            productService.createProduct(product);
+        }
+    }
+
+    @Nested
+    @DisplayName("Listing - Query Counting")
+    class ListingBudgetTest {
+
+        @Test
+        @DisplayName("getAllStocks issues at most 1 select for N rows")
+        void getAllStocks_WithinBudget() {
+            List<StockDto> stocks = QueryCounter.assertSelects(1, stockService::getAllStocks);
+            assertTrue(stocks.size() >= PRODUCTS);
+        }
+
+        @Test
+        @DisplayName("getAllProducts issues at most 1 select for N rows")
+        void getAllProducts_WithinBudget() {
+            List<ProductDto> products = QueryCounter.assertSelects(1, productService::getAllProducts);
+            assertTrue(products.size() >= PRODUCTS);
+        }
+
+        @Test
+        @DisplayName("getProductPage issues at most 1 select per page")
+        void getProductPage_WithinBudget() {
+            assertEquals(PRODUCTS, QueryCounter.assertSelects(1, () -> productService.getProductPage(PRODUCTS, null))
+                    .getItems().size());
+        }
+
+        @Test
+        @DisplayName("getProductsByCategory and getProductsBySupplier issue at most 1 select for N rows")
+        void getProductsByCategoryAndSupplier_WithinBudget() {
+            assertEquals(PRODUCTS, QueryCounter.assertSelects(1,
+                    () -> productService.getProductsByCategory(categoryId)).size());
+            assertEquals(PRODUCTS, QueryCounter.assertSelects(1,
+                    () -> productService.getProductsBySupplier(supplierId)).size());
+        }
+
+        @Test
+        @DisplayName("getAllCategories counts products with one grouped query instead of one per category")
+        void getAllCategories_WithinBudget() {
+            // Daftar kategori + jumlah produk per kategori
+            List<CategoryDto> categories = QueryCounter.assertSelects(2, categoryService::getAllCategories);
+            assertEquals(PRODUCTS, categories.stream()
+                    .filter(category -> category.getId().equals(categoryId))
+                    .findFirst().orElseThrow()
+                    .getProductCount());
+        }
+
+        @Test
+        @DisplayName("getSummary issues a fixed number of selects regardless of catalog size")
+        void dashboardSummary_WithinBudget() {
+            // summarize, 3 count, top-N stok rendah, top-N stok habis, halaman produk terbaru
+            QueryCounter.assertSelects(7, () -> dashboardService.getSummary(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Status stok rendah - Boundary Value Analysis")
+    class LowStockBoundaryTest {
+
+        @Test
+        @DisplayName("Should report low stock at exactly minimumStock and not one above")
+        void isLowStock_AtBoundary_ComputedByQuery() {
+            // Arrange
+            Long productId = productService.getProductsByCategory(categoryId).get(0).getId();
+            StockDto stock = stockService.getStockByProductId(productId);
+            stock.setMinimumStock(5);
+
+            // Act & Assert - quantity == minimumStock
+            stock.setQuantity(5);
+            assertTrue(stockService.updateStock(stock.getId(), stock).getIsLowStock());
+            assertTrue(productService.getProductById(productId).getIsLowStock());
+
+            // quantity == minimumStock + 1
+            stock.setQuantity(6);
+            assertFalse(stockService.updateStock(stock.getId(), stock).getIsLowStock());
+            assertFalse(productService.getProductById(productId).getIsLowStock());
+            assertTrue(stockRepository.findDtoById(stock.getId()).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("Mutasi stok - Query Counting")
+    class StockMutationTest {
+
+        @Test
+        @DisplayName("addStock issues the UPDATE and one stock select, plus one select per event listener")
+        void addStock_WithinBudget() {
+            // Arrange
+            Long productId = productService.getProductsByCategory(categoryId).get(0).getId();
+            int before = stockService.getStockByProductId(productId).getQuantity();
+
+            // Act
+            QueryCounter.Recorded<StockDto> recorded = QueryCounter.record(() -> stockService.addStock(productId, 5));
+
+            // Assert - UPDATE, baris stok hasil mutasi, lalu listener StockChangedEvent (LowStockRegistry, index produk)
+            recorded.assertStatementsAtMost(4);
+            assertEquals(1, recorded.count("update"));
+            assertEquals(before + 5, recorded.result().getQuantity());
+        }
+
+        @Test
+        @DisplayName("Batch apply issues a single statement that returns the new quantity")
+        void apply_WhenApplied_UsesSingleStatement() {
+            // Arrange
+            Long productId = productService.getProductsByCategory(categoryId).get(0).getId();
+            int before = stockService.getStockByProductId(productId).getQuantity();
+
+            // Act
+            QueryCounter.Recorded<StockMutationResult> recorded = QueryCounter.record(
+                    () -> transactionTemplate.execute(status -> stockMutationEngine.apply(productId, -1)));
+
+            // Assert - H2: SELECT quantity FROM FINAL TABLE (UPDATE ...), PostgreSQL: UPDATE ... RETURNING
+            recorded.assertStatementsAtMost(1);
+            assertTrue(recorded.result().isApplied());
+            assertEquals(before - 1, recorded.result().getQuantity());
+            assertEquals(before - 1, stockService.getStockByProductId(productId).getQuantity());
+        }
+
+        @Test
+        @DisplayName("Batch apply reads the quantity only when the guarded UPDATE matches no row")
+        void apply_WhenInsufficient_ReportsCurrentQuantity() {
+            // Arrange
+            Long productId = productService.getProductsByCategory(categoryId).get(0).getId();
+            int before = stockService.getStockByProductId(productId).getQuantity();
+
+            // Act
+            StockMutationResult result = transactionTemplate.execute(
+                    status -> stockMutationEngine.apply(productId, -(before + 1)));
+
+            // Assert
+            assertEquals(StockMutationResult.Status.INSUFFICIENT_STOCK, result.getStatus());
+            assertEquals(before, result.getQuantity());
+        }
+
+        @Test
+        @DisplayName("Should flush pending stock changes and refresh only the mutated stock")
+        void add_InsideTransaction_RefreshesOnlyMutatedStock() {
+            // Arrange
+            List<ProductDto> products = productService.getProductsByCategory(categoryId);
+            Long productId = products.get(0).getId();
+            Long otherProductId = products.get(1).getId();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Stock stock = stockRepository.findByProductId(productId).orElseThrow();
+                Stock otherStock = stockRepository.findByProductId(otherProductId).orElseThrow();
+                Product product = productRepository.findById(productId).orElseThrow();
+                int before = stock.getQuantity();
+                int otherBefore = otherStock.getQuantity();
+                stock.setMinimumStock(7);
+                otherStock.setQuantity(otherBefore + 1);
+
+                // Act
+                stockMutationEngine.add(productId, 3);
+
+                // Assert
+                assertEquals(before + 3, stock.getQuantity());
+                assertEquals(7, stock.getMinimumStock());
+                assertEquals(otherBefore + 1, otherStock.getQuantity());
+                assertTrue(entityManager.contains(stock));
+                assertTrue(entityManager.contains(otherStock));
+                assertTrue(entityManager.contains(product));
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyset pagination - Path Coverage")
+    class KeysetPaginationTest {
+
+        @Test
+        @DisplayName("Should visit every product exactly once, with undated products last")
+        void getProductPage_WithNullCreatedAt_VisitsAllProducts() {
+            // Arrange - created_at masih nullable di database lama
+            List<Long> undated = productService.getProductsByCategory(categoryId).stream()
+                    .limit(3).map(ProductDto::getId).toList();
+            undated.forEach(id -> jdbcTemplate.update("UPDATE products SET created_at = NULL WHERE id = ?", id));
+
+            // Act - halaman kecil agar cursor juga jatuh di baris tanpa created_at
+            List<Long> visited = new ArrayList<>();
+            String cursor = null;
+            do {
+                ProductPageDto page = productService.getProductPage(2, cursor);
+                page.getItems().forEach(product -> visited.add(product.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            // Assert
+            assertEquals(productRepository.count(), visited.size());
+            assertEquals(visited.size(), new HashSet<>(visited).size());
+            assertEquals(new HashSet<>(undated), new HashSet<>(visited.subList(visited.size() - 3, visited.size())));
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.CacheConfig;
+import com.example.inventoryexample.config.InventoryCacheProperties;
+import com.example.inventoryexample.dto.CacheStatsDto;
+import com.example.inventoryexample.dto.CategoryDto;
+import com.example.inventoryexample.dto.SupplierDto;
+import com.example.inventoryexample.entity.Category;
+import com.example.inventoryexample.entity.Supplier;
+import com.example.inventoryexample.event.ProductChangedEvent;
+import com.example.inventoryexample.repository.CategoryRepository;
+import com.example.inventoryexample.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk cache CategoryService dan SupplierService
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Pembacaan kedua kali dilayani dari cache
+ * 2. Branch Coverage - Eviction saat create/update/delete dan saat jumlah produk kategori berubah,
+ *    serta nilai basi yang dimuat sebelum eviction
+ * 3. State Testing - Statistik hit/miss dan cache yang dimatikan
+ */
+@SpringJUnitConfig({CacheConfig.class, InventoryCacheProperties.class, CategoryService.class,
+        SupplierService.class, CacheStatsService.class})
+@DisplayName("White Box Testing - Cache kategori dan supplier")
+class ReferenceDataCacheTest {
+
+    @MockitoBean
+    private CategoryRepository categoryRepository;
+
+    @MockitoBean
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Category category;
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        category = new Category();
+        category.setId(1L);
+        category.setName("Elektronik");
+        supplier = new Supplier();
+        supplier.setId(2L);
+        supplier.setName("CV Elektronik Jaya");
+
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.findAll()).thenReturn(List.of(category));
+        when(supplierRepository.findById(2L)).thenReturn(Optional.of(supplier));
+        when(supplierRepository.findAll()).thenReturn(List.of(supplier));
+    }
+
+    @Nested
+    @DisplayName("Test pembacaan - Statement Coverage")
+    class ReadTest {
+
+        @Test
+        @DisplayName("Should hit the database once for repeated reads")
+        void repeatedReads_AreServedFromCache() {
+            // Act
+            categoryService.getCategoryById(1L);
+            CategoryDto cached = categoryService.getCategoryById(1L);
+            categoryService.getAllCategories();
+            categoryService.getAllCategories();
+            supplierService.getSupplierById(2L);
+            SupplierDto cachedSupplier = supplierService.getSupplierById(2L);
+            supplierService.getAllSuppliers();
+            supplierService.getAllSuppliers();
+
+            // Assert
+            assertEquals("Elektronik", cached.getName());
+            assertEquals("CV Elektronik Jaya", cachedSupplier.getName());
+            verify(categoryRepository, times(1)).findById(1L);
+            verify(categoryRepository, times(1)).findAll();
+            verify(supplierRepository, times(1)).findById(2L);
+            verify(supplierRepository, times(1)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should not cache a missing category")
+        void getCategoryById_WhenNotFound_IsNotCached() {
+            // Arrange
+            when(categoryRepository.findById(9L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> categoryService.getCategoryById(9L));
+            assertThrows(RuntimeException.class, () -> categoryService.getCategoryById(9L));
+            verify(categoryRepository, times(2)).findById(9L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test eviction - Branch Coverage")
+    class EvictionTest {
+
+        @Test
+        @DisplayName("Should evict the entry and the list when a category is updated")
+        void updateCategory_EvictsEntryAndList() {
+            // Arrange
+            categoryService.getCategoryById(1L);
+            categoryService.getAllCategories();
+            when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            CategoryDto update = new CategoryDto();
+            update.setName("Elektronik");
+            update.setDescription("Baru");
+
+            // Act
+            categoryService.updateCategory(1L, update);
+            CategoryDto reloaded = categoryService.getCategoryById(1L);
+            categoryService.getAllCategories();
+
+            // Assert
+            assertEquals("Baru", reloaded.getDescription());
+            verify(categoryRepository, times(3)).findById(1L);
+            verify(categoryRepository, times(2)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should evict only the list when a supplier is created")
+        void createSupplier_EvictsListOnly() {
+            // Arrange
+            supplierService.getSupplierById(2L);
+            supplierService.getAllSuppliers();
+            when(supplierRepository.save(any(Supplier.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            supplierService.createSupplier(new SupplierDto());
+            supplierService.getSupplierById(2L);
+            supplierService.getAllSuppliers();
+
+            // Assert
+            verify(supplierRepository, times(1)).findById(2L);
+            verify(supplierRepository, times(2)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should evict deleted supplier")
+        void deleteSupplier_EvictsEntry() {
+            // Arrange
+            supplierService.getSupplierById(2L);
+            when(supplierRepository.existsById(2L)).thenReturn(true);
+
+            // Act
+            supplierService.deleteSupplier(2L);
+            supplierService.getSupplierById(2L);
+
+            // Assert
+            verify(supplierRepository, times(2)).findById(2L);
+        }
+
+        @Test
+        @DisplayName("Should evict categories when product counts change because productCount is cached")
+        void onProductChanged_WhenCategoryCountsChange_EvictsCategories() {
+            // Arrange
+            categoryService.getCategoryById(1L);
+            supplierService.getSupplierById(2L);
+
+            // Act
+            categoryService.onProductChanged(ProductChangedEvent.saved(5L, List.of(1L)));
+            categoryService.getCategoryById(1L);
+            supplierService.getSupplierById(2L);
+
+            // Assert
+            verify(categoryRepository, times(2)).findById(1L);
+            verify(supplierRepository, times(1)).findById(2L);
+        }
+
+        @Test
+        @DisplayName("Should keep categories cached when a product changes without moving category")
+        void onProductChanged_WhenCategoryUnchanged_KeepsCache() {
+            // Arrange
+            categoryService.getCategoryById(1L);
+            categoryService.getAllCategories();
+
+            // Act
+            categoryService.onProductChanged(ProductChangedEvent.saved(5L));
+            categoryService.getCategoryById(1L);
+            categoryService.getAllCategories();
+
+            // Assert
+            verify(categoryRepository, times(1)).findById(1L);
+            verify(categoryRepository, times(1)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should not cache a value loaded before an eviction that happened during the load")
+        void getCategoryById_WhenEvictedDuringLoad_DoesNotCacheStaleValue() {
+            // Arrange - penulis commit dan mengosongkan cache saat pembaca masih memuat data lama
+            when(categoryRepository.findById(1L))
+                    .thenAnswer(invocation -> {
+                        categoryService.onProductChanged(ProductChangedEvent.saved(5L, List.of(1L)));
+                        return Optional.of(category);
+                    })
+                    .thenReturn(Optional.of(category));
+
+            // Act
+            categoryService.getCategoryById(1L);
+            categoryService.getCategoryById(1L);
+            categoryService.getCategoryById(1L);
+
+            // Assert - pembacaan kedua memuat ulang, yang ketiga dari cache
+            verify(categoryRepository, times(2)).findById(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test statistik - State Testing")
+    class StatsTest {
+
+        @Test
+        @DisplayName("Should report hits and misses per cache")
+        void getCacheStats_ReportsHitsAndMisses() {
+            // Arrange
+            CacheStatsDto before = stats(CacheConfig.CATEGORIES);
+            categoryService.getCategoryById(1L);
+            categoryService.getCategoryById(1L);
+            categoryService.getCategoryById(1L);
+
+            // Act
+            CacheStatsDto after = stats(CacheConfig.CATEGORIES);
+
+            // Assert
+            assertEquals(1, after.getSize());
+            assertEquals(before.getMissCount() + 1, after.getMissCount());
+            assertEquals(before.getHitCount() + 2, after.getHitCount());
+            assertEquals(4, cacheStatsService.getCacheStats().size());
+        }
+
+        @Test
+        @DisplayName("Should not cache anything when disabled")
+        void cacheManager_WhenDisabled_UsesNoOp() {
+            // Arrange
+            InventoryCacheProperties properties = new InventoryCacheProperties();
+            properties.setEnabled(false);
+
+            // Act
+            CacheManager disabled = new CacheConfig().cacheManager(properties);
+
+            // Assert
+            assertInstanceOf(NoOpCacheManager.class, disabled);
+            assertTrue(new CacheStatsService(disabled).getCacheStats().isEmpty());
+        }
+
+        private CacheStatsDto stats(String name) {
+            return cacheStatsService.getCacheStats().stream()
+                    .filter(stats -> stats.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+}
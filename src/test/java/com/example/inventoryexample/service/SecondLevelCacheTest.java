@@ -0,0 +1,148 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.CacheRegionStatsDto;
+import com.example.inventoryexample.dto.ProductDto;
+import com.example.inventoryexample.entity.Category;
+import com.example.inventoryexample.entity.Supplier;
+import com.example.inventoryexample.repository.CategoryRepository;
+import com.example.inventoryexample.repository.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Testing untuk second-level cache Hibernate (database H2 in-memory)
+ *
+ * Teknik yang digunakan:
+ * 1. Query Counting - Jumlah statement SQL per listing produk dihitung lewat statistik Hibernate
+ * 2. State Testing - Query cache dibatalkan saat tabel berubah
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "inventory.cache.hibernate-statistics=true")
+@DisplayName("Integration Testing - Second-level cache Category dan Supplier")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private HibernateCacheStatsService hibernateCacheStatsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (categoryId != null) {
+            return;
+        }
+        Category category = new Category();
+        category.setName("Kategori L2 " + System.nanoTime());
+        categoryId = categoryRepository.save(category).getId();
+        // Tiga produk dengan supplier berbeda dalam satu kategori
+        for (int i = 0; i < 3; i++) {
+            Supplier supplier = new Supplier();
+            supplier.setName("Supplier L2 " + i);
+            supplier.setAddress("Jl. Cache " + i);
+            supplier.setEmail("l2-" + i + "-" + System.nanoTime() + "@example.com");
+            Long supplierId = supplierRepository.save(supplier).getId();
+
+            ProductDto product = new ProductDto();
+            product.setName("Produk L2 " + i);
+            product.setPrice(new BigDecimal("1000"));
+            product.setCategoryId(categoryId);
+            product.setSupplierId(supplierId);
+            productService.createProduct(product);
+        }
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Nested
+    @DisplayName("Test listing produk - Query Counting")
+    class ProductListingTest {
+
+        @Test
+        @DisplayName("Should load category and supplier in the listing query itself, cached or not")
+        void getProductsByCategory_FetchesAssociationsInSingleStatement() {
+            // Arrange - cache kosong: relasi ikut di-JOIN FETCH, tidak ada select per baris
+            entityManagerFactory.getCache().evictAll();
+            long cold = statementsFor(() -> productService.getProductsByCategory(categoryId));
+            long coldFetches = fetchCount(Category.class) + fetchCount(Supplier.class);
+
+            // Act
+            List<ProductDto> products = productService.getProductsByCategory(categoryId);
+            long warm = statementsFor(() -> productService.getProductsByCategory(categoryId));
+
+            // Assert
+            assertEquals(3, products.size());
+            assertTrue(products.stream().allMatch(product -> product.getSupplierName().startsWith("Supplier L2")));
+            assertEquals(0, coldFetches);
+            assertEquals(0, fetchCount(Category.class) + fetchCount(Supplier.class));
+            assertEquals(1, cold);
+            assertEquals(cold, warm);
+        }
+
+        private long fetchCount(Class<?> entity) {
+            return statistics.getEntityStatistics(entity.getName()).getFetchCount();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test query cache - State Testing")
+    class QueryCacheTest {
+
+        @Test
+        @DisplayName("Should serve repeated finder from query cache until the table changes")
+        void findAll_IsCachedUntilTableChanges() {
+            // Arrange
+            categoryRepository.findAll();
+
+            // Act & Assert - kedua kalinya tanpa SQL
+            assertEquals(0, statementsFor(categoryRepository::findAll));
+            assertEquals(1, statistics.getQueryCacheHitCount());
+
+            // Perubahan tabel categories membatalkan hasil query yang tersimpan
+            Category category = new Category();
+            category.setName("Kategori baru " + System.nanoTime());
+            categoryRepository.save(category);
+            assertEquals(1, statementsFor(categoryRepository::findAll));
+        }
+
+        @Test
+        @DisplayName("Should expose statistics for entity and query regions")
+        void getRegionStats_ListsCacheRegions() {
+            // Act
+            List<String> regions = hibernateCacheStatsService.getRegionStats().stream()
+                    .map(CacheRegionStatsDto::getRegion)
+                    .toList();
+
+            // Assert
+            assertTrue(regions.containsAll(List.of("category", "supplier", "default-query-results-region")));
+        }
+    }
+}
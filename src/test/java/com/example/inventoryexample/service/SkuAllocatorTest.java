@@ -0,0 +1,236 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.SkuProperties;
+import com.example.inventoryexample.entity.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk SkuAllocator dan CategorySkuPrefixResolver
+ * 
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Format SKU dan pemakaian blok dari memori
+ * 2. Branch Coverage - Blok habis, prefetch blok berikutnya, prefix berbeda, retry saat baris
+ *    counter bentrok atau pemesanan gagal
+ * 3. Concurrency Testing - Tidak ada SKU ganda dari banyak thread
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - SkuAllocator")
+class SkuAllocatorTest {
+
+    @Mock
+    private SkuBlockReserver skuBlockReserver;
+
+    @Mock
+    private SkuPrefixResolver skuPrefixResolver;
+
+    private SkuProperties skuProperties;
+    private SkuAllocator skuAllocator;
+
+    @BeforeEach
+    void setUp() {
+        skuProperties = new SkuProperties();
+        skuProperties.setBlockSize(3);
+        // Pemesanan blok dijalankan langsung agar urutan panggilan deterministik
+        skuAllocator = new SkuAllocator(skuBlockReserver, skuPrefixResolver, skuProperties, Runnable::run);
+    }
+
+    @Nested
+    @DisplayName("Test allocate() - Statement & Branch Coverage")
+    class AllocateTest {
+
+        @Test
+        @DisplayName("Should hand out a whole block with a single reservation")
+        void allocate_WithinBlock_ReservesOnce() {
+            // Arrange - Blok cukup besar sehingga belum perlu dipesan lebih awal
+            skuProperties.setBlockSize(8);
+            when(skuBlockReserver.reserve("PRD", 8)).thenReturn(1L);
+
+            // Act
+            List<String> skus = List.of(skuAllocator.allocate("PRD"), skuAllocator.allocate("PRD"), skuAllocator.allocate("PRD"));
+
+            // Assert
+            assertEquals(List.of("PRD-00000001", "PRD-00000002", "PRD-00000003"), skus);
+            verify(skuBlockReserver, times(1)).reserve("PRD", 8);
+        }
+
+        @Test
+        @DisplayName("Should reserve the next block before the current one is exhausted")
+        void allocate_NearEndOfBlock_PrefetchesNextBlock() {
+            // Arrange
+            skuProperties.setBlockSize(4);
+            when(skuBlockReserver.reserve("PRD", 4)).thenReturn(1L, 5L);
+
+            // Act - 3 dari 4 nomor terpakai
+            for (int i = 0; i < 3; i++) {
+                skuAllocator.allocate("PRD");
+            }
+
+            // Assert - blok berikutnya sudah dipesan, lalu dipakai tanpa pemesanan tambahan
+            verify(skuBlockReserver, times(2)).reserve("PRD", 4);
+            assertEquals("PRD-00000004", skuAllocator.allocate("PRD"));
+            assertEquals("PRD-00000005", skuAllocator.allocate("PRD"));
+            verify(skuBlockReserver, times(2)).reserve("PRD", 4);
+        }
+
+        @Test
+        @DisplayName("Should retry a failed prefetch when the block runs out")
+        void allocate_WhenPrefetchFails_RetriesOnNextCall() {
+            // Arrange
+            skuProperties.setBlockSize(2);
+            when(skuBlockReserver.reserve("PRD", 2))
+                    .thenReturn(1L)
+                    .thenThrow(new IllegalStateException("koneksi putus"))
+                    .thenReturn(3L);
+
+            // Act & Assert
+            assertEquals("PRD-00000001", skuAllocator.allocate("PRD"));
+            assertEquals("PRD-00000002", skuAllocator.allocate("PRD"));
+            assertThrows(IllegalStateException.class, () -> skuAllocator.allocate("PRD"));
+            assertEquals("PRD-00000003", skuAllocator.allocate("PRD"));
+        }
+
+        @Test
+        @DisplayName("Should reserve the next block when the current one is exhausted")
+        void allocate_WhenBlockExhausted_ReservesNextBlock() {
+            // Arrange - Node lain sudah memakai blok 4-6
+            when(skuBlockReserver.reserve("PRD", 3)).thenReturn(1L, 7L);
+
+            // Act
+            for (int i = 0; i < 3; i++) {
+                skuAllocator.allocate("PRD");
+            }
+            String sku = skuAllocator.allocate("PRD");
+
+            // Assert
+            assertEquals("PRD-00000007", sku);
+            verify(skuBlockReserver, times(2)).reserve("PRD", 3);
+        }
+
+        @Test
+        @DisplayName("Should keep a separate block per prefix")
+        void allocate_WithDifferentPrefixes_UsesSeparateBlocks() {
+            // Arrange
+            Category category = new Category();
+            category.setName("Elektronik");
+            when(skuPrefixResolver.resolvePrefix(category)).thenReturn("ELK");
+            when(skuBlockReserver.reserve("ELK", 3)).thenReturn(1L);
+            when(skuBlockReserver.reserve("PRD", 3)).thenReturn(1L);
+
+            // Act & Assert
+            assertEquals("ELK-00000001", skuAllocator.allocate(category));
+            assertEquals("PRD-00000001", skuAllocator.allocate("PRD"));
+            assertEquals("ELK-00000002", skuAllocator.allocate(category));
+        }
+
+        @Test
+        @DisplayName("Should retry once when another node created the counter row concurrently")
+        void allocate_WhenCounterInsertCollides_Retries() {
+            // Arrange
+            when(skuBlockReserver.reserve("PRD", 3))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                    .thenReturn(4L);
+
+            // Act
+            String sku = skuAllocator.allocate("PRD");
+
+            // Assert
+            assertEquals("PRD-00000004", sku);
+            verify(skuBlockReserver, times(2)).reserve("PRD", 3);
+        }
+
+        @Test
+        @DisplayName("Should never hand out the same SKU to concurrent callers")
+        void allocate_FromManyThreads_ProducesUniqueSkus() throws Exception {
+            // Arrange - Reserver meniru tabel counter: blok berurutan tanpa tumpang tindih
+            skuProperties.setBlockSize(100);
+            skuAllocator = new SkuAllocator(skuBlockReserver, skuPrefixResolver, skuProperties);
+            AtomicLong counter = new AtomicLong(1);
+            when(skuBlockReserver.reserve(anyString(), anyInt()))
+                    .thenAnswer(invocation -> counter.getAndAdd(invocation.<Integer>getArgument(1)));
+            Set<String> skus = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+
+            // Act
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 5_000; i++) {
+                            skus.add(skuAllocator.allocate("PRD"));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            // Assert
+            // 400 blok terpakai habis, ditambah satu blok yang sudah dipesan lebih awal
+            assertEquals(40_000, skus.size());
+            verify(skuBlockReserver, timeout(5_000).times(401)).reserve("PRD", 100);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test CategorySkuPrefixResolver - Branch Coverage")
+    class PrefixResolverTest {
+
+        private CategorySkuPrefixResolver resolverWith(String categoryName, String prefix) {
+            SkuProperties properties = new SkuProperties();
+            properties.getCategoryPrefixes().put(categoryName, prefix);
+            return new CategorySkuPrefixResolver(properties);
+        }
+
+        @Test
+        @DisplayName("Should match category name case-insensitively")
+        void resolvePrefix_WhenCategoryConfigured_ReturnsCategoryPrefix() {
+            Category category = new Category();
+            category.setName("ELEKTRONIK");
+
+            assertEquals("ELK", resolverWith("Elektronik", "elk").resolvePrefix(category));
+        }
+
+        @Test
+        @DisplayName("Should fall back to the default prefix for unknown or missing category")
+        void resolvePrefix_WhenCategoryUnknown_ReturnsDefault() {
+            Category category = new Category();
+            category.setName("Furniture");
+            CategorySkuPrefixResolver resolver = resolverWith("Elektronik", "ELK");
+
+            assertEquals("PRD", resolver.resolvePrefix(category));
+            assertEquals("PRD", resolver.resolvePrefix(null));
+        }
+
+        @Test
+        @DisplayName("Should reject prefixes that would break the SKU format")
+        void constructor_WithInvalidPrefix_ThrowsException() {
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> resolverWith("Elektronik", "EL-K"));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.StockDto;
+import com.example.inventoryexample.dto.StockMutationResult;
+import com.example.inventoryexample.repository.StockRepository;
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk StockMutationEngine
+ * 
+ * Teknik yang digunakan:
+ * 1. Branch Coverage - Hasil APPLIED, INSUFFICIENT_STOCK dan NOT_FOUND
+ * 2. Boundary Value Analysis - Jumlah nol, negatif dan Integer.MIN_VALUE
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - StockMutationEngine")
+class StockMutationEngineTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StockMutationMetrics stockMutationMetrics;
+
+    // Session adalah EntityManager; dipakai langsung sebagai EntityManager yang di-inject
+    @Mock
+    private Session session;
+
+    @Mock
+    private SessionStatistics sessionStatistics;
+
+    @InjectMocks
+    private StockMutationEngine stockMutationEngine;
+
+    @BeforeEach
+    void setUp() {
+        // Persistence context kosong: tidak ada entity Stock yang perlu di-refresh
+        lenient().when(session.unwrap(Session.class)).thenReturn(session);
+        lenient().when(session.getStatistics()).thenReturn(sessionStatistics);
+    }
+
+    private static Optional<StockDto> stockRow(Long productId, int quantity) {
+        StockDto stock = new StockDto();
+        stock.setProductId(productId);
+        stock.setQuantity(quantity);
+        return Optional.of(stock);
+    }
+
+    @Nested
+    @DisplayName("Test add() - Branch Coverage")
+    class AddTest {
+
+        @Test
+        @DisplayName("Should apply increment and return new quantity")
+        void add_WhenRowUpdated_ReturnsApplied() {
+            // Arrange
+            when(stockRepository.incrementQuantity(eq(1L), eq(50), any(LocalDateTime.class))).thenReturn(1);
+            when(stockRepository.findDtoByProductId(1L)).thenReturn(stockRow(1L, 150));
+
+            // Act
+            StockMutationResult result = stockMutationEngine.add(1L, 50);
+
+            // Assert - baris stok dibaca sekali, quantity diambil dari baris yang sama
+            assertTrue(result.isApplied());
+            assertEquals(150, result.getQuantity());
+            assertEquals(150, result.getStock().getQuantity());
+            verify(stockRepository, never()).findQuantityByProductId(anyLong());
+            assertEquals(50, result.getDelta());
+            verify(stockMutationMetrics).record(result);
+        }
+
+        @Test
+        @DisplayName("Should report NOT_FOUND when product has no stock row")
+        void add_WhenNoRow_ReturnsNotFound() {
+            // Arrange
+            when(stockRepository.incrementQuantity(eq(999L), eq(5), any(LocalDateTime.class))).thenReturn(0);
+            when(stockRepository.findDtoByProductId(999L)).thenReturn(Optional.empty());
+
+            // Act
+            StockMutationResult result = stockMutationEngine.add(999L, 5);
+
+            // Assert
+            assertEquals(StockMutationResult.Status.NOT_FOUND, result.getStatus());
+            assertNull(result.getQuantity());
+        }
+
+        @Test
+        @DisplayName("Should reject negative amount without touching the database")
+        void add_WithNegativeAmount_ThrowsException() {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stockMutationEngine.add(1L, -1));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+            verifyNoInteractions(stockRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject zero amount instead of reporting an applied mutation")
+        void add_WithZeroAmount_ThrowsException() {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stockMutationEngine.add(1L, 0));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+            verifyNoInteractions(stockRepository, stockMutationMetrics);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test reduce() - Branch Coverage")
+    class ReduceTest {
+
+        @Test
+        @DisplayName("Should apply guarded decrement when stock is sufficient")
+        void reduce_WhenSufficient_ReturnsApplied() {
+            // Arrange
+            when(stockRepository.decrementQuantity(eq(1L), eq(30), any(LocalDateTime.class))).thenReturn(1);
+            when(stockRepository.findDtoByProductId(1L)).thenReturn(stockRow(1L, 70));
+
+            // Act
+            StockMutationResult result = stockMutationEngine.reduce(1L, 30);
+
+            // Assert
+            assertTrue(result.isApplied());
+            assertEquals(70, result.getQuantity());
+            assertEquals(-30, result.getDelta());
+        }
+
+        @Test
+        @DisplayName("Should report INSUFFICIENT_STOCK when guard rejects the update")
+        void reduce_WhenInsufficient_ReturnsInsufficientStock() {
+            // Arrange
+            when(stockRepository.decrementQuantity(eq(1L), eq(50), any(LocalDateTime.class))).thenReturn(0);
+            when(stockRepository.findDtoByProductId(1L)).thenReturn(stockRow(1L, 10));
+
+            // Act
+            StockMutationResult result = stockMutationEngine.reduce(1L, 50);
+
+            // Assert
+            assertFalse(result.isApplied());
+            assertEquals(StockMutationResult.Status.INSUFFICIENT_STOCK, result.getStatus());
+            assertEquals(10, result.getQuantity());
+            assertNull(result.getStock());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test apply() - Path Coverage")
+    class ApplyTest {
+
+        @Test
+        @DisplayName("Should route positive delta to increment and take quantity from the UPDATE")
+        void apply_WithPositiveDelta_Increments() {
+            // Arrange
+            when(stockRepository.incrementQuantityReturning(eq(1L), eq(5), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(15));
+
+            // Act
+            StockMutationResult result = stockMutationEngine.apply(1L, 5);
+
+            // Assert - tidak ada SELECT lanjutan setelah UPDATE yang berhasil
+            assertTrue(result.isApplied());
+            assertEquals(15, result.getQuantity());
+            verify(stockRepository, never()).findQuantityByProductId(anyLong());
+            verify(stockRepository, never()).decrementQuantityReturning(anyLong(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("Should route negative delta to guarded decrement")
+        void apply_WithNegativeDelta_Decrements() {
+            // Arrange
+            when(stockRepository.decrementQuantityReturning(eq(1L), eq(5), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(5));
+
+            // Act
+            StockMutationResult result = stockMutationEngine.apply(1L, -5);
+
+            // Assert
+            assertEquals(5, result.getQuantity());
+            verify(stockRepository, never()).findQuantityByProductId(anyLong());
+            verify(stockRepository, never()).incrementQuantityReturning(anyLong(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("Should read quantity only to tell NOT_FOUND from INSUFFICIENT_STOCK")
+        void apply_WhenNoRowUpdated_ReadsQuantity() {
+            // Arrange
+            when(stockRepository.decrementQuantityReturning(eq(999L), eq(5), any(LocalDateTime.class)))
+                    .thenReturn(Optional.empty());
+            when(stockRepository.findQuantityByProductId(999L)).thenReturn(Optional.empty());
+
+            // Act
+            StockMutationResult result = stockMutationEngine.apply(999L, -5);
+
+            // Assert
+            assertEquals(StockMutationResult.Status.NOT_FOUND, result.getStatus());
+            verify(stockMutationMetrics).record(result);
+        }
+
+        @Test
+        @DisplayName("Should reject zero delta instead of recording it as a reduce")
+        void apply_WithZeroDelta_ThrowsException() {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stockMutationEngine.apply(1L, 0));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+            verifyNoInteractions(stockRepository, stockMutationMetrics);
+        }
+
+        @Test
+        @DisplayName("Should reject Integer.MIN_VALUE, whose negation overflows")
+        void apply_WithMinValue_ThrowsException() {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stockMutationEngine.apply(1L, Integer.MIN_VALUE));
+            assertTrue(exception.getMessage().contains("tidak valid"));
+            verifyNoInteractions(stockRepository);
+        }
+
+        @Test
+        @DisplayName("Should accept the most negative representable delta")
+        void apply_WithMinValuePlusOne_Decrements() {
+            when(stockRepository.decrementQuantityReturning(eq(1L), eq(Integer.MAX_VALUE), any(LocalDateTime.class)))
+                    .thenReturn(Optional.empty());
+            when(stockRepository.findQuantityByProductId(1L)).thenReturn(Optional.of(5));
+
+            StockMutationResult result = stockMutationEngine.apply(1L, Integer.MIN_VALUE + 1);
+
+            assertEquals(StockMutationResult.Status.INSUFFICIENT_STOCK, result.getStatus());
+            assertEquals(Integer.MIN_VALUE + 1, result.getDelta());
+        }
+    }
+}
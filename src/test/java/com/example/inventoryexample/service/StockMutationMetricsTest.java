@@ -0,0 +1,68 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.config.InventoryMetricsProperties;
+import com.example.inventoryexample.dto.StockMutationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * White Box Testing untuk StockMutationMetrics
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Counter per arah dan status mutasi
+ * 2. Branch Coverage - Tag produk hanya untuk produk yang dipantau, unit hanya untuk mutasi berhasil
+ */
+@DisplayName("White Box Testing - StockMutationMetrics")
+class StockMutationMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockMutationMetrics stockMutationMetrics;
+
+    @BeforeEach
+    void setUp() {
+        InventoryMetricsProperties properties = new InventoryMetricsProperties();
+        properties.setStockWatchProductIds(Set.of(1L));
+        meterRegistry = new SimpleMeterRegistry();
+        stockMutationMetrics = new StockMutationMetrics(meterRegistry, properties);
+    }
+
+    private double mutations(String direction, String status, String product) {
+        return meterRegistry.get(StockMutationMetrics.MUTATIONS)
+                .tags("direction", direction, "status", status, "product", product)
+                .counter().count();
+    }
+
+    @Test
+    @DisplayName("Should tag watched products by ID and group the rest as other")
+    void record_TagsWatchedProductsOnly() {
+        // Act
+        stockMutationMetrics.record(StockMutationResult.applied(1L, 5, 15));
+        stockMutationMetrics.record(StockMutationResult.applied(2L, -3, 7));
+        stockMutationMetrics.record(StockMutationResult.applied(3L, -2, 1));
+
+        // Assert
+        assertEquals(1, mutations("add", "applied", "1"));
+        assertEquals(2, mutations("reduce", "applied", "other"));
+        assertEquals(5, meterRegistry.get(StockMutationMetrics.UNITS).tag("direction", "reduce")
+                .summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should count rejected mutations without recording units")
+    void record_Rejected_CountsWithoutUnits() {
+        // Act
+        stockMutationMetrics.record(StockMutationResult.insufficient(1L, -50, 10));
+        stockMutationMetrics.record(StockMutationResult.notFound(9L, 5));
+
+        // Assert
+        assertEquals(1, mutations("reduce", "insufficient_stock", "1"));
+        assertEquals(1, mutations("add", "not_found", "other"));
+        assertNull(meterRegistry.find(StockMutationMetrics.UNITS).summary());
+    }
+}
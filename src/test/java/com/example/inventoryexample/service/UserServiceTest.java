@@ -3,18 +3,23 @@ package com.example.inventoryexample.service;
 import com.example.inventoryexample.dto.LoginRequest;
 import com.example.inventoryexample.dto.LoginResponse;
 import com.example.inventoryexample.dto.UserDto;
+import com.example.inventoryexample.dto.UserStatsDto;
 import com.example.inventoryexample.entity.User;
+import com.example.inventoryexample.event.UserChangedEvent;
 import com.example.inventoryexample.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -45,6 +50,18 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PasswordVerifier passwordVerifier;
+
+    @Mock
+    private AuthTokenService authTokenService;
+
+    @Mock
+    private UserStatsRegistry userStatsRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -90,13 +107,16 @@ class UserServiceTest {
         void login_WithValidCredentials_ReturnsLoginResponse() {
             // Arrange - Happy path: user found, active, password matches
             when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-            when(passwordEncoder.matches("password123", user.getPassword())).thenReturn(true);
+            when(passwordVerifier.matches("password123", user.getPassword())).thenReturn(true);
+            when(authTokenService.issue(1L, User.UserRole.STAFF, 0))
+                    .thenReturn(new AuthTokenService.IssuedToken("token", Instant.EPOCH));
 
             // Act
             LoginResponse response = userService.login(loginRequest);
 
             // Assert
             assertNotNull(response);
+            assertEquals("token", response.getToken());
             assertEquals(1L, response.getId());
             assertEquals("testuser", response.getUsername());
             assertEquals("Test User", response.getFullName());
@@ -137,7 +157,7 @@ class UserServiceTest {
         void login_WhenPasswordWrong_ThrowsException() {
             // Arrange - Path: user found, active, but password doesn't match
             when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-            when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+            when(passwordVerifier.matches(anyString(), anyString())).thenReturn(false);
 
             // Act & Assert
             RuntimeException exception = assertThrows(
@@ -451,6 +471,7 @@ class UserServiceTest {
             // Assert
             assertNotNull(result);
             verify(userRepository).save(any(User.class));
+            assertEquals(1, user.getTokenVersion());
         }
 
         @Test
@@ -464,4 +485,40 @@ class UserServiceTest {
                 () -> userService.updateUser(999L, user));
         }
     }
+
+    @Nested
+    @DisplayName("Test toggleUserStatus() / getUserStats() - State Testing")
+    class UserStatsTest {
+
+        @Test
+        @DisplayName("Should publish previous and new status when toggled")
+        void toggleUserStatus_PublishesStatusChange() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+            when(userRepository.save(any(User.class))).thenReturn(user);
+
+            // Act
+            userService.toggleUserStatus(1L);
+
+            // Assert
+            ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertEquals(true, event.getValue().getPreviouslyActive());
+            assertEquals(false, event.getValue().getActive());
+            assertEquals(User.UserRole.STAFF, event.getValue().getRole());
+            assertEquals(1, event.getValue().getTokenVersion());
+        }
+
+        @Test
+        @DisplayName("Should read stats from the registry without touching the table")
+        void getUserStats_ReadsRegistry() {
+            // Arrange
+            UserStatsDto stats = new UserStatsDto(3, 1, 2, 2, 1);
+            when(userStatsRegistry.getStats()).thenReturn(stats);
+
+            // Act & Assert
+            assertSame(stats, userService.getUserStats());
+            verifyNoInteractions(userRepository);
+        }
+    }
 }
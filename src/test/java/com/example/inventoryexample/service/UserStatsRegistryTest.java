@@ -0,0 +1,95 @@
+package com.example.inventoryexample.service;
+
+import com.example.inventoryexample.dto.UserGroupCountDto;
+import com.example.inventoryexample.dto.UserStatsDto;
+import com.example.inventoryexample.entity.User;
+import com.example.inventoryexample.event.UserChangedEvent;
+import com.example.inventoryexample.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * White Box Testing untuk UserStatsRegistry
+ *
+ * Teknik yang digunakan:
+ * 1. Statement Coverage - Bootstrap dari query agregat
+ * 2. Branch Coverage - User dibuat, diubah role/status, dan dihapus
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("White Box Testing - UserStatsRegistry")
+class UserStatsRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserStatsRegistry userStatsRegistry;
+
+    private static User user(User.UserRole role, boolean active) {
+        User user = new User();
+        user.setRole(role);
+        user.setIsActive(active);
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.countGroupedByRoleAndActive()).thenReturn(List.of(
+                new UserGroupCountDto(User.UserRole.ADMIN, true, 1),
+                new UserGroupCountDto(User.UserRole.STAFF, true, 3),
+                new UserGroupCountDto(User.UserRole.STAFF, false, 2)));
+        userStatsRegistry.bootstrap();
+    }
+
+    @Test
+    @DisplayName("Should fold grouped counts into all counters with a single query")
+    void getStats_AfterBootstrap_ReturnsAggregatedCounters() {
+        assertEquals(new UserStatsDto(6, 1, 5, 4, 2), userStatsRegistry.getStats());
+        verify(userRepository, times(1)).countGroupedByRoleAndActive();
+    }
+
+    @Test
+    @DisplayName("Should count created and deleted users")
+    void onUserChanged_CreatedAndDeleted_AdjustsCounters() {
+        userStatsRegistry.onUserChanged(UserChangedEvent.created(user(User.UserRole.STAFF, true)));
+        assertEquals(new UserStatsDto(7, 1, 6, 5, 2), userStatsRegistry.getStats());
+
+        userStatsRegistry.onUserChanged(UserChangedEvent.deleted(user(User.UserRole.STAFF, false)));
+        assertEquals(new UserStatsDto(6, 1, 5, 5, 1), userStatsRegistry.getStats());
+        verify(userRepository, times(1)).countGroupedByRoleAndActive();
+    }
+
+    @Test
+    @DisplayName("Should move a user between role and status counters when updated")
+    void onUserChanged_Updated_MovesBetweenCounters() {
+        // STAFF aktif diubah menjadi ADMIN tidak aktif
+        userStatsRegistry.onUserChanged(UserChangedEvent.updated(User.UserRole.STAFF, true,
+                user(User.UserRole.ADMIN, false)));
+
+        assertEquals(new UserStatsDto(6, 2, 4, 3, 3), userStatsRegistry.getStats());
+    }
+
+    @Test
+    @DisplayName("Should replace counters on resync")
+    void resync_ReplacesCounters() {
+        // Arrange
+        userStatsRegistry.onUserChanged(UserChangedEvent.created(user(User.UserRole.ADMIN, true)));
+        when(userRepository.countGroupedByRoleAndActive()).thenReturn(List.of());
+
+        // Act
+        userStatsRegistry.resync();
+
+        // Assert
+        assertEquals(new UserStatsDto(0, 0, 0, 0, 0), userStatsRegistry.getStats());
+    }
+}
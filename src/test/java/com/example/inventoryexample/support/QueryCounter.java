@@ -0,0 +1,81 @@
+package com.example.inventoryexample.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * StatementInspector Hibernate yang mencatat setiap SQL yang dijalankan oleh thread
+ * pemanggil, untuk menetapkan batas jumlah query (query budget) per pemanggilan service.
+ *
+ * Dipasang lewat {@link QueryCountingTest}. Hanya thread yang sedang di dalam
+ * {@link #record(Supplier)} yang dicatat, sehingga rebuild index di thread lain tidak ikut terhitung.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Menjalankan action dan mengembalikan hasilnya beserta SQL yang dijalankan selama itu.
+     */
+    public static <T> Recorded<T> record(Supplier<T> action) {
+        List<String> previous = RECORDED.get();
+        List<String> statements = new ArrayList<>();
+        RECORDED.set(statements);
+        try {
+            return new Recorded<>(action.get(), List.copyOf(statements));
+        } finally {
+            RECORDED.set(previous);
+        }
+    }
+
+    /**
+     * Menjalankan action dan gagal bila jumlah SELECT melebihi maxSelects.
+     */
+    public static <T> T assertSelects(int maxSelects, Supplier<T> action) {
+        Recorded<T> recorded = record(action);
+        recorded.assertSelectsAtMost(maxSelects);
+        return recorded.result();
+    }
+
+    public record Recorded<T>(T result, List<String> statements) {
+
+        public long selects() {
+            return count("select");
+        }
+
+        public long count(String keyword) {
+            return statements.stream()
+                    .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(keyword))
+                    .count();
+        }
+
+        public void assertSelectsAtMost(int maxSelects) {
+            if (selects() > maxSelects) {
+                fail("Query budget terlampaui: " + selects() + " SELECT, batas " + maxSelects
+                        + "\n" + String.join("\n", statements));
+            }
+        }
+
+        public void assertStatementsAtMost(int maxStatements) {
+            if (statements.size() > maxStatements) {
+                fail("Query budget terlampaui: " + statements.size() + " statement, batas " + maxStatements
+                        + "\n" + String.join("\n", statements));
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.inventoryexample.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Integration test di H2 in-memory dengan {@link QueryCounter} terpasang sebagai
+ * StatementInspector Hibernate. Semua kelas dengan anotasi ini berbagi satu context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.inventoryexample.support.QueryCounter")
+public @interface QueryCountingTest {
+}